@@ -0,0 +1,117 @@
+package com.qualitygate.research.benchmark;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.VolumeDiscountTier;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.service.DiscountSimulationReport;
+import com.qualitygate.research.service.DiscountSimulator;
+import com.qualitygate.research.service.OrderService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for what-if discount simulation: one {@link DiscountSimulator} pass over the orders
+ * against repricing every order once per candidate configuration.
+ *
+ * Scores are per order, across all candidates. The simulator runs on a single-worker pool so
+ * both sides use one core; on more cores it also splits the orders across workers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiscountSimulationBenchmark {
+
+    static final int ORDERS = 65_536;
+
+    @State(Scope.Benchmark)
+    public static class Scenarios {
+        @Param({"1", "8", "32"})
+        int candidateCount;
+
+        OrderService orderService;
+        List<Order> orders;
+        List<DiscountConfiguration> candidates;
+        OrderService[] candidateServices;
+        DiscountSimulator simulator;
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            orderService = new OrderService(new DiscountConfiguration());
+            Random random = new Random(42);
+            orders = new ArrayList<>(ORDERS);
+            for (int i = 0; i < ORDERS; i++) {
+                Order order = new Order((long) i, 1L + random.nextInt(1_000));
+                int items = 1 + random.nextInt(8);
+                for (int j = 0; j < items; j++) {
+                    order.addItem(new OrderItem("SKU-" + j, 1 + random.nextInt(20),
+                            BigDecimal.valueOf(100 + random.nextInt(100_000), 2)));
+                }
+                orders.add(order);
+            }
+
+            candidates = new ArrayList<>(candidateCount);
+            candidateServices = new OrderService[candidateCount];
+            for (int c = 0; c < candidateCount; c++) {
+                BigDecimal step = BigDecimal.valueOf(c, 3);
+                DiscountConfiguration candidate = new DiscountConfiguration(
+                        Arrays.asList(new VolumeDiscountTier(10, new BigDecimal("0.05").add(step)),
+                                new VolumeDiscountTier(50, new BigDecimal("0.10").add(step))),
+                        new BigDecimal("0.20").subtract(step), new BigDecimal("500.00"), new BigDecimal("0.10"),
+                        new BigDecimal("0.30"));
+                candidates.add(candidate);
+                candidateServices[c] = new OrderService(candidate);
+            }
+            simulator = new DiscountSimulator(orderService, candidates);
+            pool = new ForkJoinPool(1);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public long repriceOncePerCandidate(Scenarios state) {
+        long discountCents = 0L;
+        for (OrderService service : state.candidateServices) {
+            for (Order order : state.orders) {
+                service.calculateOrderTotal(order);
+                discountCents += order.getDiscountAmount().unscaledValue().longValue();
+            }
+        }
+        return discountCents;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public DiscountSimulationReport simulateInOnePass(Scenarios state) {
+        return state.simulator.simulate(state.orders, state.pool);
+    }
+}
@@ -0,0 +1,89 @@
+package com.qualitygate.research.benchmark;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.controller.OrderController;
+import com.qualitygate.research.controller.UserController;
+import com.qualitygate.research.http.ControllerHttpServer;
+import com.qualitygate.research.metrics.HistogramSnapshot;
+import com.qualitygate.research.metrics.LatencyHistogram;
+import com.qualitygate.research.service.OrderService;
+import com.qualitygate.research.service.UserService;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test for {@link ControllerHttpServer}.
+ *
+ * Starts the server in-process and keeps {@code concurrency} order-pricing requests in
+ * flight until {@code requests} have completed, then prints throughput and latency
+ * percentiles. Run with a Java 21 JVM to exercise virtual threads, and raise the open-file
+ * limit ({@code ulimit -n}) above twice the concurrency:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.qualitygate.research.benchmark.HttpLoadTest [requests] [concurrency]
+ * </pre>
+ */
+public class HttpLoadTest {
+
+    private static final String ORDER_JSON =
+            "{\"orderId\":%d,\"customerId\":%d,\"items\":[{\"productId\":\"SKU-1\",\"quantity\":12,\"unitPrice\":19.99},"
+                    + "{\"productId\":\"SKU-2\",\"quantity\":3,\"unitPrice\":5.25}]}";
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        try (ControllerHttpServer server = ControllerHttpServer.start(new InetSocketAddress("127.0.0.1", 0),
+                new OrderController(new OrderService(new DiscountConfiguration())),
+                new UserController(new UserService()))) {
+            URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/orders/price");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            System.out.printf("requests=%d concurrency=%d virtualThreads=%s%n",
+                    requests, concurrency, server.isUsingVirtualThreads());
+
+            LatencyHistogram latency = new LatencyHistogram();
+            LongAdder failures = new LongAdder();
+            Semaphore inFlight = new Semaphore(concurrency);
+            CountDownLatch done = new CountDownLatch(requests);
+            long start = System.nanoTime();
+
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .timeout(Duration.ofSeconds(60))
+                        .POST(HttpRequest.BodyPublishers.ofString(String.format(ORDER_JSON, i, 1 + i % 500)))
+                        .build();
+                long sent = System.nanoTime();
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                    latency.record(System.nanoTime() - sent);
+                    if (error != null || response.statusCode() != 200) {
+                        failures.increment();
+                    }
+                    inFlight.release();
+                    done.countDown();
+                });
+            }
+            done.await();
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            HistogramSnapshot snapshot = latency.snapshot();
+            System.out.printf("completed=%d failures=%d elapsed=%.2fs throughput=%.0f req/s%n",
+                    requests, failures.sum(), seconds, requests / seconds);
+            System.out.printf("latency ms: p50=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                    snapshot.getValueAtPercentile(50) / 1e6, snapshot.getValueAtPercentile(99) / 1e6,
+                    snapshot.getValueAtPercentile(99.9) / 1e6, snapshot.getMax() / 1e6);
+        }
+    }
+}
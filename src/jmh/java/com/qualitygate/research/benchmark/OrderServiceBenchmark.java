@@ -0,0 +1,176 @@
+package com.qualitygate.research.benchmark;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.controller.OrderController;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.service.FixedPointPricingEngine;
+import com.qualitygate.research.service.OrderService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for order pricing through the service and controller layers.
+ *
+ * Throughput mode reports ops/s; sample mode reports latency percentiles.
+ * Run with {@code -prof gc} to get allocation rates per operation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    /**
+     * Which volume tier the order total quantity falls into under the default configuration.
+     */
+    public enum DiscountTier {
+        NONE(1), TIER1(10), TIER2(50), TIER3(100);
+
+        private final int quantity;
+
+        DiscountTier(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Services {
+        OrderService orderService;
+        OrderController orderController;
+        FixedPointPricingEngine fixedPointEngine;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            DiscountConfiguration discountConfig = new DiscountConfiguration();
+            orderService = new OrderService(discountConfig);
+            orderController = new OrderController(orderService);
+            fixedPointEngine = new FixedPointPricingEngine(discountConfig);
+        }
+    }
+
+    /**
+     * Orders of increasing size; every item has quantity 1 and a cents price.
+     */
+    @State(Scope.Thread)
+    public static class SizedOrder {
+        @Param({"1", "100", "10000", "100000"})
+        int itemCount;
+
+        @Param({"false", "true"})
+        boolean premiumCustomer;
+
+        Order order;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            order = new Order(1L, premiumCustomer ? 100L : 101L);
+            for (int i = 0; i < itemCount; i++) {
+                order.addItem(new OrderItem("SKU-" + i, 1, BigDecimal.valueOf(199 + (i % 500), 2)));
+            }
+        }
+    }
+
+    /**
+     * Single-line orders whose quantity lands in a given volume tier.
+     */
+    @State(Scope.Thread)
+    public static class TieredOrder {
+        @Param({"NONE", "TIER1", "TIER2", "TIER3"})
+        DiscountTier tier;
+
+        @Param({"false", "true"})
+        boolean premiumCustomer;
+
+        Order order;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            order = new Order(1L, premiumCustomer ? 100L : 101L);
+            order.addItem(new OrderItem("SKU-1", tier.quantity, new BigDecimal("1.99")));
+        }
+    }
+
+    /**
+     * Subtotal, quantity and premium columns for discount-only pricing, spread across every rule.
+     */
+    @State(Scope.Thread)
+    public static class DiscountColumns {
+        static final int ROWS = 65_536;
+
+        long[] subtotals = new long[ROWS];
+        int[] quantities = new int[ROWS];
+        boolean[] premium = new boolean[ROWS];
+        long[] discounts = new long[ROWS];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            for (int i = 0; i < ROWS; i++) {
+                subtotals[i] = random.nextInt(100_000);
+                quantities[i] = 1 + random.nextInt(150);
+                premium[i] = random.nextInt(10) == 0;
+            }
+        }
+    }
+
+    @Benchmark
+    public Order calculateOrderTotalBySize(Services services, SizedOrder sized) {
+        return services.orderService.calculateOrderTotal(sized.order);
+    }
+
+    @Benchmark
+    public Order calculateOrderTotalByTier(Services services, TieredOrder tiered) {
+        return services.orderService.calculateOrderTotal(tiered.order);
+    }
+
+    @Benchmark
+    public Order fixedPointCalculateOrderTotalBySize(Services services, SizedOrder sized) {
+        return services.fixedPointEngine.calculateOrderTotal(sized.order);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DiscountColumns.ROWS)
+    public long[] fixedPointDiscountPerRow(Services services, DiscountColumns columns) {
+        for (int i = 0; i < DiscountColumns.ROWS; i++) {
+            columns.discounts[i] = services.fixedPointEngine.discountCents(
+                    columns.subtotals[i], columns.quantities[i], columns.premium[i]);
+        }
+        return columns.discounts;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DiscountColumns.ROWS)
+    public long[] fixedPointDiscountKernel(Services services, DiscountColumns columns) {
+        services.fixedPointEngine.discountCents(columns.subtotals, columns.quantities, columns.premium,
+                columns.discounts, DiscountColumns.ROWS);
+        return columns.discounts;
+    }
+
+    @Benchmark
+    public boolean validateOrderBySize(Services services, SizedOrder sized) {
+        return services.orderService.validateOrder(sized.order);
+    }
+
+    @Benchmark
+    public Order controllerProcessOrderBySize(Services services, SizedOrder sized) {
+        return services.orderController.processOrder(sized.order);
+    }
+}
@@ -0,0 +1,109 @@
+package com.qualitygate.research.benchmark;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.service.OrderService;
+import com.qualitygate.research.service.RingBufferPricingPipeline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the staged ring-buffer pipeline against validating and pricing one order per call.
+ *
+ * Each invocation pushes a batch of {@value #BATCH} orders through and waits for the last one,
+ * so scores are per order. The pipeline needs a free core per stage to beat the single-threaded
+ * loop; with fewer cores its stages time-share and the handoffs only add cost.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingPipelineBenchmark {
+
+    static final int BATCH = 4096;
+
+    @State(Scope.Thread)
+    public static class Orders {
+        OrderService orderService;
+        Order[] orders;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            orderService = new OrderService(new DiscountConfiguration());
+            Random random = new Random(42);
+            orders = new Order[BATCH];
+            for (int i = 0; i < BATCH; i++) {
+                Order order = new Order((long) i, 1L + random.nextInt(1_000));
+                int items = 1 + random.nextInt(8);
+                for (int j = 0; j < items; j++) {
+                    order.addItem(new OrderItem("SKU-" + j, 1 + random.nextInt(20),
+                            BigDecimal.valueOf(100 + random.nextInt(100_000), 2)));
+                }
+                orders[i] = order;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Pipeline {
+        @Param({"1024", "16384"})
+        int ringSize;
+
+        RingBufferPricingPipeline pipeline;
+
+        @Setup(Level.Trial)
+        public void setUp(Orders orders) {
+            pipeline = RingBufferPricingPipeline.start(orders.orderService, ringSize, order -> { });
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pipeline.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void callPerOrder(Orders state, Blackhole blackhole) {
+        OrderService orderService = state.orderService;
+        for (Order order : state.orders) {
+            if (orderService.validateOrder(order)) {
+                blackhole.consume(orderService.calculateOrderTotal(order));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long ringBufferPipeline(Orders state, Pipeline pipeline) {
+        RingBufferPricingPipeline ring = pipeline.pipeline;
+        for (Order order : state.orders) {
+            ring.publish(order);
+        }
+        long target = ring.getPublishedCount();
+        while (ring.getEmittedCount() < target) {
+            Thread.yield();
+        }
+        return target;
+    }
+}
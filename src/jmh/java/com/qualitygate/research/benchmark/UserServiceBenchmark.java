@@ -0,0 +1,88 @@
+package com.qualitygate.research.benchmark;
+
+import com.qualitygate.research.controller.UserController;
+import com.qualitygate.research.domain.User;
+import com.qualitygate.research.service.UserFieldValidator;
+import com.qualitygate.research.service.UserService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for user validation and creation through the service and controller layers.
+ *
+ * Throughput mode reports ops/s; sample mode reports latency percentiles.
+ * Run with {@code -prof gc} to get allocation rates per operation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UserServiceBenchmark {
+
+    @Param({"valid", "invalid"})
+    String emailKind;
+
+    UserService userService;
+    UserController userController;
+    String email;
+    String username;
+    ByteBuffer emailBytes;
+    ByteBuffer usernameBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userService = new UserService();
+        userController = new UserController(userService);
+        email = "valid".equals(emailKind) ? "  jane.doe@example.com " : "  jane.doe-at-example ";
+        username = "  jane.doe  ";
+        emailBytes = ByteBuffer.wrap(email.getBytes(StandardCharsets.UTF_8));
+        usernameBytes = ByteBuffer.wrap(username.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return userService.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean isValidUsername() {
+        return userService.isValidUsername(username);
+    }
+
+    @Benchmark
+    public boolean isValidEmailBytes() {
+        return UserFieldValidator.isValidEmail(emailBytes, 0, emailBytes.limit());
+    }
+
+    @Benchmark
+    public boolean isValidUsernameBytes() {
+        return UserFieldValidator.isValidUsername(usernameBytes, 0, usernameBytes.limit());
+    }
+
+    @Benchmark
+    public User createUser() {
+        return userService.createUser(username, email);
+    }
+
+    @Benchmark
+    public User controllerCreateUser() {
+        return userController.createUser(username, email);
+    }
+}
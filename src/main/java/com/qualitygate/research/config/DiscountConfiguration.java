@@ -1,6 +1,10 @@
 package com.qualitygate.research.config;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
 
 /**
  * Configuration Layer - DiscountConfiguration
@@ -10,13 +14,9 @@ import java.math.BigDecimal;
  */
 public class DiscountConfiguration {
     
-    // Volume discount thresholds and rates
-    private final int volumeDiscountTier1Threshold;
-    private final int volumeDiscountTier2Threshold;
-    private final int volumeDiscountTier3Threshold;
-    private final BigDecimal volumeDiscountTier1Rate;
-    private final BigDecimal volumeDiscountTier2Rate;
-    private final BigDecimal volumeDiscountTier3Rate;
+    // Volume discount tier table, sorted by ascending threshold
+    private final List<VolumeDiscountTier> volumeDiscountTiers;
+    private final VolumeDiscountSchedule volumeDiscountSchedule;
     
     // Premium customer discount
     private final BigDecimal premiumCustomerDiscountRate;
@@ -30,44 +30,165 @@ public class DiscountConfiguration {
     
     public DiscountConfiguration() {
         // Default configuration values
-        this.volumeDiscountTier1Threshold = 10;
-        this.volumeDiscountTier2Threshold = 50;
-        this.volumeDiscountTier3Threshold = 100;
-        this.volumeDiscountTier1Rate = new BigDecimal("0.05");  // 5%
-        this.volumeDiscountTier2Rate = new BigDecimal("0.10"); // 10%
-        this.volumeDiscountTier3Rate = new BigDecimal("0.15"); // 15%
+        this(defaultVolumeDiscountTiers(),
+                new BigDecimal("0.20"),    // 20% premium customer discount
+                new BigDecimal("500.00"),  // promotional discount threshold
+                new BigDecimal("0.10"),    // 10% promotional discount
+                new BigDecimal("0.30"));   // Maximum 30% discount
+    }
+    
+    /**
+     * Creates a configuration with an arbitrary volume discount tier table.
+     * 
+     * @param volumeDiscountTiers Volume tiers sorted by ascending threshold (may be empty)
+     * @param premiumCustomerDiscountRate Discount rate for premium customers
+     * @param promotionalDiscountThreshold Subtotal from which the promotional discount applies
+     * @param promotionalDiscountRate Promotional discount rate
+     * @param maxDiscountRate Maximum discount as a fraction of the subtotal
+     * @throws IllegalArgumentException if a value is null or the tiers are not strictly ascending
+     */
+    public DiscountConfiguration(List<VolumeDiscountTier> volumeDiscountTiers,
+                                 BigDecimal premiumCustomerDiscountRate,
+                                 BigDecimal promotionalDiscountThreshold,
+                                 BigDecimal promotionalDiscountRate,
+                                 BigDecimal maxDiscountRate) {
+        if (volumeDiscountTiers == null) {
+            throw new IllegalArgumentException("Volume discount tiers cannot be null");
+        }
+        if (premiumCustomerDiscountRate == null || promotionalDiscountThreshold == null
+                || promotionalDiscountRate == null || maxDiscountRate == null) {
+            throw new IllegalArgumentException("Discount rates and thresholds cannot be null");
+        }
         
-        this.premiumCustomerDiscountRate = new BigDecimal("0.20"); // 20%
+        List<VolumeDiscountTier> tiers = new ArrayList<>(volumeDiscountTiers);
+        for (int i = 0; i < tiers.size(); i++) {
+            if (tiers.get(i) == null) {
+                throw new IllegalArgumentException("Volume discount tier cannot be null");
+            }
+            if (i > 0 && tiers.get(i).getThreshold() <= tiers.get(i - 1).getThreshold()) {
+                throw new IllegalArgumentException("Volume discount tiers must have strictly ascending thresholds");
+            }
+        }
         
-        this.promotionalDiscountThreshold = new BigDecimal("500.00");
-        this.promotionalDiscountRate = new BigDecimal("0.10"); // 10%
+        this.volumeDiscountTiers = Collections.unmodifiableList(tiers);
+        this.volumeDiscountSchedule = VolumeDiscountSchedule.compile(tiers);
+        this.premiumCustomerDiscountRate = premiumCustomerDiscountRate;
+        this.promotionalDiscountThreshold = promotionalDiscountThreshold;
+        this.promotionalDiscountRate = promotionalDiscountRate;
+        this.maxDiscountRate = maxDiscountRate;
+    }
+    
+    /**
+     * Creates a configuration from properties. Keys that are absent keep their default value.
+     * <pre>
+     * volume.tiers=10:0.05,50:0.10,100:0.15
+     * premium.rate=0.20
+     * promotional.threshold=500.00
+     * promotional.rate=0.10
+     * max.rate=0.30
+     * </pre>
+     * 
+     * @param properties The properties to read
+     * @return The parsed configuration
+     * @throws IllegalArgumentException if a value cannot be parsed
+     */
+    public static DiscountConfiguration fromProperties(Properties properties) {
+        if (properties == null) {
+            throw new IllegalArgumentException("Properties cannot be null");
+        }
         
-        this.maxDiscountRate = new BigDecimal("0.30"); // Maximum 30% discount
+        DiscountConfiguration defaults = new DiscountConfiguration();
+        String tiers = properties.getProperty("volume.tiers");
+        return new DiscountConfiguration(
+                tiers != null ? parseVolumeDiscountTiers(tiers) : defaults.getVolumeDiscountTiers(),
+                decimalProperty(properties, "premium.rate", defaults.getPremiumCustomerDiscountRate()),
+                decimalProperty(properties, "promotional.threshold", defaults.getPromotionalDiscountThreshold()),
+                decimalProperty(properties, "promotional.rate", defaults.getPromotionalDiscountRate()),
+                decimalProperty(properties, "max.rate", defaults.getMaxDiscountRate()));
+    }
+    
+    private static List<VolumeDiscountTier> parseVolumeDiscountTiers(String value) {
+        List<VolumeDiscountTier> tiers = new ArrayList<>();
+        for (String entry : value.split(",")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid volume tier '" + entry.trim() + "', expected threshold:rate");
+            }
+            try {
+                tiers.add(new VolumeDiscountTier(Integer.parseInt(parts[0].trim()), new BigDecimal(parts[1].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid volume tier '" + entry.trim() + "'", e);
+            }
+        }
+        return tiers;
+    }
+    
+    private static BigDecimal decimalProperty(Properties properties, String key, BigDecimal defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": '" + value + "'", e);
+        }
+    }
+    
+    private static List<VolumeDiscountTier> defaultVolumeDiscountTiers() {
+        List<VolumeDiscountTier> tiers = new ArrayList<>(3);
+        tiers.add(new VolumeDiscountTier(10, new BigDecimal("0.05")));  // 5%
+        tiers.add(new VolumeDiscountTier(50, new BigDecimal("0.10")));  // 10%
+        tiers.add(new VolumeDiscountTier(100, new BigDecimal("0.15"))); // 15%
+        return tiers;
     }
     
     // Getters
+    public List<VolumeDiscountTier> getVolumeDiscountTiers() {
+        return volumeDiscountTiers;
+    }
+    
+    /**
+     * Returns the tier table compiled for lookup by total quantity.
+     */
+    public VolumeDiscountSchedule getVolumeDiscountSchedule() {
+        return volumeDiscountSchedule;
+    }
+    
+    // Legacy three-tier getters: tiers missing from the table are unreachable
     public int getVolumeDiscountTier1Threshold() {
-        return volumeDiscountTier1Threshold;
+        return legacyTierThreshold(0);
     }
     
     public int getVolumeDiscountTier2Threshold() {
-        return volumeDiscountTier2Threshold;
+        return legacyTierThreshold(1);
     }
     
     public int getVolumeDiscountTier3Threshold() {
-        return volumeDiscountTier3Threshold;
+        return legacyTierThreshold(2);
     }
     
     public BigDecimal getVolumeDiscountTier1Rate() {
-        return volumeDiscountTier1Rate;
+        return legacyTierRate(0);
     }
     
     public BigDecimal getVolumeDiscountTier2Rate() {
-        return volumeDiscountTier2Rate;
+        return legacyTierRate(1);
     }
     
     public BigDecimal getVolumeDiscountTier3Rate() {
-        return volumeDiscountTier3Rate;
+        return legacyTierRate(2);
+    }
+    
+    private int legacyTierThreshold(int tier) {
+        return tier < volumeDiscountTiers.size() ? volumeDiscountTiers.get(tier).getThreshold() : Integer.MAX_VALUE;
+    }
+    
+    private BigDecimal legacyTierRate(int tier) {
+        return tier < volumeDiscountTiers.size() ? volumeDiscountTiers.get(tier).getRate() : BigDecimal.ZERO;
     }
     
     public BigDecimal getPremiumCustomerDiscountRate() {
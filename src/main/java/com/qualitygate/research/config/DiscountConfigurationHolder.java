@@ -0,0 +1,183 @@
+package com.qualitygate.research.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Configuration Layer - DiscountConfigurationHolder
+ * 
+ * Publishes the current {@link DiscountConfiguration} as an immutable snapshot.
+ * Readers take the snapshot with a single atomic read and keep using it for the whole
+ * calculation, so a reload never changes the rules half way through pricing an order.
+ * Reloads parse the file off to the side and swap the reference; readers never lock.
+ */
+public class DiscountConfigurationHolder {
+    
+    private final AtomicReference<Snapshot> current;
+    private final Path source;
+    
+    private final Object reloadLock = new Object();
+    private volatile long reloadCount;
+    private volatile long lastReloadLatencyNanos;
+    private volatile FileTime lastLoadedModifiedTime;
+    
+    /**
+     * Creates a holder that starts with, and keeps, the given configuration
+     * until {@link #update(DiscountConfiguration)} is called.
+     */
+    public DiscountConfigurationHolder(DiscountConfiguration initial) {
+        if (initial == null) {
+            throw new IllegalArgumentException("DiscountConfiguration cannot be null");
+        }
+        this.current = new AtomicReference<>(new Snapshot(initial, 1L));
+        this.source = null;
+    }
+    
+    private DiscountConfigurationHolder(Path source, DiscountConfiguration initial, FileTime modifiedTime) {
+        this.current = new AtomicReference<>(new Snapshot(initial, 1L));
+        this.source = source;
+        this.lastLoadedModifiedTime = modifiedTime;
+    }
+    
+    /**
+     * Creates a holder backed by a properties file in the format of
+     * {@link DiscountConfiguration#fromProperties(Properties)}.
+     * 
+     * @param file The file to load now and on every reload
+     * @return The holder with the file's configuration published
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file contents are invalid
+     */
+    public static DiscountConfigurationHolder fromFile(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Configuration file cannot be null");
+        }
+        FileTime modifiedTime = Files.getLastModifiedTime(file);
+        return new DiscountConfigurationHolder(file, load(file), modifiedTime);
+    }
+    
+    /**
+     * Returns the current configuration snapshot. Never blocks.
+     */
+    public DiscountConfiguration current() {
+        return current.get().configuration;
+    }
+    
+    /**
+     * Returns a number that changes every time a new configuration is published.
+     */
+    public long getVersion() {
+        return current.get().version;
+    }
+    
+    /**
+     * Publishes a new configuration.
+     * 
+     * @param configuration The configuration readers will see from now on
+     */
+    public void update(DiscountConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("DiscountConfiguration cannot be null");
+        }
+        publish(configuration);
+    }
+    
+    /**
+     * Reloads the backing file and publishes its configuration. If the file cannot be read
+     * or parsed, the current configuration stays in place and the error is rethrown.
+     * 
+     * @return The newly published configuration
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file contents are invalid
+     * @throws IllegalStateException if this holder is not backed by a file
+     */
+    public DiscountConfiguration reload() throws IOException {
+        if (source == null) {
+            throw new IllegalStateException("DiscountConfigurationHolder is not backed by a file");
+        }
+        
+        synchronized (reloadLock) {
+            long start = System.nanoTime();
+            FileTime modifiedTime = Files.getLastModifiedTime(source);
+            DiscountConfiguration configuration = load(source);
+            publish(configuration);
+            lastLoadedModifiedTime = modifiedTime;
+            lastReloadLatencyNanos = System.nanoTime() - start;
+            reloadCount++;
+            return configuration;
+        }
+    }
+    
+    /**
+     * Reloads the backing file only if its modification time changed since the last load.
+     * Suitable for calling from a periodic scheduler.
+     * 
+     * @return true if a new configuration was published
+     * @throws IOException if the file cannot be read
+     */
+    public boolean reloadIfModified() throws IOException {
+        if (source == null) {
+            throw new IllegalStateException("DiscountConfigurationHolder is not backed by a file");
+        }
+        
+        synchronized (reloadLock) {
+            if (Files.getLastModifiedTime(source).equals(lastLoadedModifiedTime)) {
+                return false;
+            }
+            reload();
+            return true;
+        }
+    }
+    
+    /**
+     * Number of successful reloads from the backing file.
+     */
+    public long getReloadCount() {
+        return reloadCount;
+    }
+    
+    /**
+     * Time taken by the last successful reload (read, parse, compile and publish), in nanoseconds.
+     */
+    public long getLastReloadLatencyNanos() {
+        return lastReloadLatencyNanos;
+    }
+    
+    public Path getSource() {
+        return source;
+    }
+    
+    private void publish(DiscountConfiguration configuration) {
+        Snapshot previous;
+        do {
+            previous = current.get();
+        } while (!current.compareAndSet(previous, new Snapshot(configuration, previous.version + 1)));
+    }
+    
+    private static DiscountConfiguration load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return DiscountConfiguration.fromProperties(properties);
+    }
+    
+    /**
+     * Configuration and its version, published together.
+     */
+    private static final class Snapshot {
+        
+        private final DiscountConfiguration configuration;
+        private final long version;
+        
+        private Snapshot(DiscountConfiguration configuration, long version) {
+            this.configuration = configuration;
+            this.version = version;
+        }
+    }
+}
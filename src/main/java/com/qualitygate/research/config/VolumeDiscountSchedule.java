@@ -0,0 +1,186 @@
+package com.qualitygate.research.config;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Configuration Layer - VolumeDiscountSchedule
+ * 
+ * Immutable lookup structure compiled from a volume discount tier table.
+ * Finding the tier for a quantity is a binary search over the sorted thresholds, or a
+ * single array read when every threshold is small enough for a direct-index table.
+ * Lookups never allocate.
+ * 
+ * Tiers are given in priority order: when several tiers qualify, the one listed last wins.
+ * For a table sorted by ascending threshold this is simply the highest threshold reached,
+ * and for the three legacy tiers it reproduces the original tier 3, tier 2, tier 1 checks.
+ */
+public final class VolumeDiscountSchedule {
+    
+    /**
+     * Largest threshold for which a direct-index table is built instead of binary searching.
+     */
+    static final int DIRECT_INDEX_LIMIT = 1024;
+    
+    private static final VolumeDiscountSchedule EMPTY =
+            new VolumeDiscountSchedule(new int[0], new BigDecimal[0]);
+    
+    private final int[] thresholds;
+    private final BigDecimal[] rates;
+    private final int[] directIndex;
+    
+    private VolumeDiscountSchedule(int[] thresholds, BigDecimal[] rates) {
+        this.thresholds = thresholds;
+        this.rates = rates;
+        this.directIndex = buildDirectIndex(thresholds);
+    }
+    
+    /**
+     * Compiles a tier table.
+     * 
+     * @param tiers The tiers in priority order (typically sorted by ascending threshold)
+     * @return The compiled schedule
+     * @throws IllegalArgumentException if the list or one of its tiers is null
+     */
+    public static VolumeDiscountSchedule compile(List<VolumeDiscountTier> tiers) {
+        if (tiers == null) {
+            throw new IllegalArgumentException("Volume discount tiers cannot be null");
+        }
+        if (tiers.isEmpty()) {
+            return EMPTY;
+        }
+        
+        List<Integer> order = new ArrayList<>(tiers.size());
+        for (int i = 0; i < tiers.size(); i++) {
+            if (tiers.get(i) == null) {
+                throw new IllegalArgumentException("Volume discount tier cannot be null");
+            }
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt(i -> tiers.get(i).getThreshold()));
+        
+        // Walk thresholds upwards, tracking the highest-priority tier reached so far
+        int[] thresholds = new int[tiers.size()];
+        BigDecimal[] rates = new BigDecimal[tiers.size()];
+        int size = 0;
+        int winner = -1;
+        for (int position : order) {
+            VolumeDiscountTier tier = tiers.get(position);
+            winner = Math.max(winner, position);
+            if (size > 0 && thresholds[size - 1] == tier.getThreshold()) {
+                size--;
+            }
+            thresholds[size] = tier.getThreshold();
+            rates[size] = tiers.get(winner).getRate();
+            size++;
+        }
+        
+        return new VolumeDiscountSchedule(Arrays.copyOf(thresholds, size), Arrays.copyOf(rates, size));
+    }
+    
+    /**
+     * Returns the compiled schedule of a configuration.
+     * Configurations that do not provide one are compiled from their three legacy tier getters.
+     * 
+     * @param config The discount configuration
+     * @return The compiled schedule
+     */
+    public static VolumeDiscountSchedule of(DiscountConfiguration config) {
+        VolumeDiscountSchedule schedule = config.getVolumeDiscountSchedule();
+        if (schedule != null) {
+            return schedule;
+        }
+        
+        List<VolumeDiscountTier> legacyTiers = new ArrayList<>(3);
+        legacyTiers.add(new VolumeDiscountTier(config.getVolumeDiscountTier1Threshold(), config.getVolumeDiscountTier1Rate()));
+        legacyTiers.add(new VolumeDiscountTier(config.getVolumeDiscountTier2Threshold(), config.getVolumeDiscountTier2Rate()));
+        legacyTiers.add(new VolumeDiscountTier(config.getVolumeDiscountTier3Threshold(), config.getVolumeDiscountTier3Rate()));
+        return compile(legacyTiers);
+    }
+    
+    private static int[] buildDirectIndex(int[] thresholds) {
+        if (thresholds.length == 0 || thresholds[0] < 0 || thresholds[thresholds.length - 1] > DIRECT_INDEX_LIMIT) {
+            return null;
+        }
+        
+        int[] index = new int[thresholds[thresholds.length - 1] + 1];
+        int tier = -1;
+        for (int quantity = 0; quantity < index.length; quantity++) {
+            while (tier + 1 < thresholds.length && thresholds[tier + 1] <= quantity) {
+                tier++;
+            }
+            index[quantity] = tier;
+        }
+        return index;
+    }
+    
+    /**
+     * Number of distinct thresholds in the compiled schedule.
+     */
+    public int size() {
+        return thresholds.length;
+    }
+    
+    /**
+     * Finds the tier a total quantity falls into.
+     * 
+     * @param totalQuantity The total quantity of an order
+     * @return The tier index, or -1 if the quantity is below every threshold
+     */
+    public int tierIndexFor(int totalQuantity) {
+        if (directIndex != null && totalQuantity >= 0) {
+            return totalQuantity < directIndex.length ? directIndex[totalQuantity] : thresholds.length - 1;
+        }
+        
+        int low = 0;
+        int high = thresholds.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (thresholds[mid] <= totalQuantity) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+    
+    /**
+     * Returns the discount rate for a total quantity, or zero if no tier is reached.
+     */
+    public BigDecimal rateFor(int totalQuantity) {
+        int tier = tierIndexFor(totalQuantity);
+        return tier >= 0 ? rates[tier] : BigDecimal.ZERO;
+    }
+    
+    public int thresholdAt(int tier) {
+        return thresholds[tier];
+    }
+    
+    public BigDecimal rateAt(int tier) {
+        return rates[tier];
+    }
+    
+    /**
+     * Returns the compiled tiers, one per distinct threshold, sorted by threshold.
+     */
+    public List<VolumeDiscountTier> getTiers() {
+        List<VolumeDiscountTier> tiers = new ArrayList<>(thresholds.length);
+        for (int i = 0; i < thresholds.length; i++) {
+            tiers.add(new VolumeDiscountTier(thresholds[i], rates[i]));
+        }
+        return Collections.unmodifiableList(tiers);
+    }
+    
+    @Override
+    public String toString() {
+        return "VolumeDiscountSchedule{" +
+                "tiers=" + thresholds.length +
+                ", directIndex=" + (directIndex != null) +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package com.qualitygate.research.config;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Configuration Layer - VolumeDiscountTier
+ * 
+ * One row of the volume discount table: orders whose total quantity reaches
+ * the threshold qualify for the rate.
+ */
+public final class VolumeDiscountTier {
+    
+    private final int threshold;
+    private final BigDecimal rate;
+    
+    public VolumeDiscountTier(int threshold, BigDecimal rate) {
+        if (rate == null) {
+            throw new IllegalArgumentException("Volume discount rate cannot be null");
+        }
+        this.threshold = threshold;
+        this.rate = rate;
+    }
+    
+    public int getThreshold() {
+        return threshold;
+    }
+    
+    public BigDecimal getRate() {
+        return rate;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        VolumeDiscountTier that = (VolumeDiscountTier) o;
+        return threshold == that.threshold && rate.compareTo(that.rate) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(threshold, rate.stripTrailingZeros());
+    }
+    
+    @Override
+    public String toString() {
+        return "VolumeDiscountTier{" +
+                "threshold=" + threshold +
+                ", rate=" + rate +
+                '}';
+    }
+}
@@ -0,0 +1,209 @@
+package com.qualitygate.research.controller;
+
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.metrics.HistogramSnapshot;
+import com.qualitygate.research.metrics.LatencyHistogram;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous front for {@link OrderController#processOrder(Order)}.
+ *
+ * Orders are queued on an executor and completed through a {@link CompletableFuture}, so
+ * callers do not hold a thread while an order waits. At most {@code highWaterMark} orders may
+ * wait to start; past that, new orders are turned away at once with a future failed by a
+ * {@link RejectedExecutionException}, the signal to retry later or shed load. Rejecting at the
+ * door keeps the queueing delay, and so the tail latency, bounded under overload.
+ *
+ * Queue depth, time spent waiting, processing time and rejections are tracked for monitoring.
+ */
+public class AsyncOrderController implements Closeable {
+
+    private final OrderController orderController;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int highWaterMark;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram processingTime = new LatencyHistogram();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a controller with its own pool of daemon threads, shut down by {@link #close()}.
+     *
+     * @param orderController The controller that processes each order
+     * @param threads Number of worker threads
+     * @param highWaterMark Most orders allowed to wait for a worker
+     * @throws IllegalArgumentException if the controller is null or a count is not positive
+     */
+    public AsyncOrderController(OrderController orderController, int threads, int highWaterMark) {
+        this(orderController, newWorkerPool(threads), highWaterMark, true);
+    }
+
+    /**
+     * Creates a controller that runs orders on the given executor. The executor's own queue
+     * should be unbounded or larger than the high-water mark; orders it rejects are reported
+     * like orders past the mark.
+     *
+     * @param orderController The controller that processes each order
+     * @param executor Where to run the orders
+     * @param highWaterMark Most orders allowed to wait for the executor
+     * @throws IllegalArgumentException if an argument is null or the mark is not positive
+     */
+    public AsyncOrderController(OrderController orderController, Executor executor, int highWaterMark) {
+        this(orderController, executor, highWaterMark, false);
+    }
+
+    private AsyncOrderController(OrderController orderController, Executor executor, int highWaterMark, boolean owned) {
+        if (orderController == null) {
+            throw new IllegalArgumentException("OrderController cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (highWaterMark <= 0) {
+            throw new IllegalArgumentException("High-water mark must be positive");
+        }
+        this.orderController = orderController;
+        this.executor = executor;
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+        this.highWaterMark = highWaterMark;
+    }
+
+    /**
+     * Queues an order for validation and pricing.
+     *
+     * @param order The order to process
+     * @return A future completed with the processed order, or with null if the order is invalid
+     *         (as {@link OrderController#processOrder(Order)} returns). It fails with a
+     *         {@link RejectedExecutionException} straight away when the queue is past its
+     *         high-water mark, and with whatever processing throws, errors included.
+     *         Cancelling it before the order starts skips the order.
+     */
+    public CompletableFuture<Order> processOrderAsync(Order order) {
+        CompletableFuture<Order> future = new CompletableFuture<>();
+        submitted.increment();
+
+        if (queueDepth.incrementAndGet() > highWaterMark) {
+            queueDepth.decrementAndGet();
+            return reject(future, "Order queue is full (" + highWaterMark + " waiting); try again later");
+        }
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(order, future, enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            return reject(future, "Order executor rejected the order; try again later");
+        }
+        return future;
+    }
+
+    /**
+     * Number of orders waiting to start.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Time from submission until a worker picked the order up, in nanoseconds.
+     */
+    public HistogramSnapshot getWaitTime() {
+        return waitTime.snapshot();
+    }
+
+    /**
+     * Time a worker spent processing each order, in nanoseconds.
+     */
+    public HistogramSnapshot getProcessingTime() {
+        return processingTime.snapshot();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Number of orders turned away because the queue was past its high-water mark
+     * or the executor refused them.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Shuts down the worker pool if this controller created it. Queued orders still run.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncOrderController{" +
+                "queueDepth=" + queueDepth.get() +
+                ", highWaterMark=" + highWaterMark +
+                ", submitted=" + submitted.sum() +
+                ", completed=" + completed.sum() +
+                ", rejected=" + rejected.sum() +
+                '}';
+    }
+
+    private void run(Order order, CompletableFuture<Order> future, long enqueuedAt) {
+        queueDepth.decrementAndGet();
+        long startedAt = System.nanoTime();
+        waitTime.record(startedAt - enqueuedAt);
+        if (future.isDone()) {
+            return;
+        }
+
+        try {
+            future.complete(orderController.processOrder(order));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            processingTime.record(System.nanoTime() - startedAt);
+            completed.increment();
+        }
+    }
+
+    private CompletableFuture<Order> reject(CompletableFuture<Order> future, String message) {
+        rejected.increment();
+        future.completeExceptionally(new RejectedExecutionException(message));
+        return future;
+    }
+
+    private static ExecutorService newWorkerPool(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "async-order-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -1,8 +1,10 @@
 package com.qualitygate.research.controller;
 
 import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderView;
+import com.qualitygate.research.service.OrderPricingResult;
 import com.qualitygate.research.service.OrderService;
-import java.util.List;
+import com.qualitygate.research.service.PricedAmounts;
 
 /**
  * REST Controller for Order operations
@@ -29,15 +31,8 @@ public class OrderController {
             return null;
         }
         
-        if (!orderService.validateOrder(order)) {
-            return null;
-        }
-        
-        try {
-            return orderService.calculateOrderTotal(order);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+        OrderPricingResult result = orderService.processOrder(order);
+        return result.isSuccess() ? result.getOrder() : null;
     }
     
     /**
@@ -58,15 +53,30 @@ public class OrderController {
      * @return Processed order with totals, or null if invalid
      */
     public Order processOrder(Order order) {
+        return calculateOrderTotal(order);
+    }
+    
+    /**
+     * Prices an order view, such as one read from an off-heap order store, without materialising it
+     * @param order The order to price
+     * @return The amounts in cents, or null if the order is invalid
+     */
+    public PricedAmounts priceOrderView(OrderView order) {
         if (order == null) {
             return null;
         }
         
-        if (!validateOrder(order)) {
-            return null;
-        }
-        
-        return calculateOrderTotal(order);
+        PricedAmounts amounts = new PricedAmounts();
+        return orderService.priceView(order, amounts) == null ? amounts : null;
+    }
+    
+    /**
+     * Processes an order in a single validate-and-price pass
+     * @param order The order to process
+     * @return The priced order, or the reason it was rejected
+     */
+    public OrderPricingResult processOrderWithResult(Order order) {
+        return orderService.processOrder(order);
     }
 }
 
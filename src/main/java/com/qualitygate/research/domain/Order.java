@@ -2,8 +2,10 @@ package com.qualitygate.research.domain;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Domain entity representing an Order
@@ -15,12 +17,14 @@ public class Order {
     private Long orderId;
     private Long customerId;
     private List<OrderItem> items;
+    private List<OrderItem> itemsView;
     private BigDecimal subtotal;
     private BigDecimal discountAmount;
     private BigDecimal totalAmount;
     
     public Order() {
         this.items = new ArrayList<>();
+        this.itemsView = Collections.unmodifiableList(items);
     }
     
     public Order(Long orderId, Long customerId) {
@@ -52,6 +56,29 @@ public class Order {
     
     public void setItems(List<OrderItem> items) {
         this.items = items != null ? new ArrayList<>(items) : new ArrayList<>();
+        this.itemsView = Collections.unmodifiableList(this.items);
+    }
+    
+    /**
+     * Read-only live view of the items, without copying.
+     * Use {@link #getItems()} when a modifiable snapshot is needed.
+     */
+    public List<OrderItem> getItemsView() {
+        return itemsView;
+    }
+    
+    public int itemCount() {
+        return items.size();
+    }
+    
+    public OrderItem itemAt(int index) {
+        return items.get(index);
+    }
+    
+    public void forEachItem(Consumer<? super OrderItem> action) {
+        for (int i = 0; i < items.size(); i++) {
+            action.accept(items.get(i));
+        }
     }
     
     public void addItem(OrderItem item) {
@@ -60,6 +87,15 @@ public class Order {
         }
     }
     
+    /**
+     * Removes and returns the item at the given position.
+     * 
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public OrderItem removeItemAt(int index) {
+        return items.remove(index);
+    }
+    
     public BigDecimal getSubtotal() {
         return subtotal;
     }
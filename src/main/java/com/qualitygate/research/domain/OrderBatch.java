@@ -0,0 +1,294 @@
+package com.qualitygate.research.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar (struct-of-arrays) representation of many orders for bulk pricing.
+ * Part of the Domain Layer
+ *
+ * Order fields live in primitive arrays indexed by order position; item fields live in
+ * primitive arrays indexed by item position, with {@code itemOffsets[i] .. itemOffsets[i + 1]}
+ * delimiting the items of order {@code i}. Prices are whole cents and product IDs are
+ * dictionary-encoded. Pricing writes the subtotal, discount and total columns in place.
+ */
+public final class OrderBatch {
+
+    /**
+     * Customer ID column value for orders without a customer.
+     */
+    public static final long NO_CUSTOMER = Long.MIN_VALUE;
+
+    private final long[] orderIds;
+    private final long[] customerIds;
+    private final int[] itemOffsets;
+    private final int[] productCodes;
+    private final int[] quantities;
+    private final long[] unitPriceCents;
+    private final String[] productDictionary;
+
+    private final long[] subtotalCents;
+    private final long[] discountCents;
+    private final long[] totalCents;
+
+    private OrderBatch(Builder builder) {
+        int orderCount = builder.orderCount;
+        int itemCount = builder.itemCount;
+        this.orderIds = Arrays.copyOf(builder.orderIds, orderCount);
+        this.customerIds = Arrays.copyOf(builder.customerIds, orderCount);
+        this.itemOffsets = Arrays.copyOf(builder.itemOffsets, orderCount + 1);
+        this.itemOffsets[orderCount] = itemCount;
+        this.productCodes = Arrays.copyOf(builder.productCodes, itemCount);
+        this.quantities = Arrays.copyOf(builder.quantities, itemCount);
+        this.unitPriceCents = Arrays.copyOf(builder.unitPriceCents, itemCount);
+        this.productDictionary = builder.dictionary.toArray(new String[0]);
+        this.subtotalCents = new long[orderCount];
+        this.discountCents = new long[orderCount];
+        this.totalCents = new long[orderCount];
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Converts orders into a batch.
+     *
+     * @param orders The orders to convert
+     * @return A batch holding the same orders and items
+     * @throws IllegalArgumentException if an order is null, has no items, has an invalid item,
+     *         or has a unit price that is not a whole number of cents
+     */
+    public static OrderBatch fromOrders(List<Order> orders) {
+        if (orders == null) {
+            throw new IllegalArgumentException("Order list cannot be null");
+        }
+
+        Builder builder = new Builder();
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            if (order == null) {
+                throw new IllegalArgumentException("Order cannot be null");
+            }
+
+            Long orderId = order.getOrderId();
+            Long customerId = order.getCustomerId();
+            builder.addOrder(orderId != null ? orderId : 0L, customerId != null ? customerId : NO_CUSTOMER);
+
+            for (int j = 0; j < order.itemCount(); j++) {
+                OrderItem item = order.itemAt(j);
+                if (item == null) {
+                    throw new IllegalArgumentException("Order item cannot be null");
+                }
+                if (item.getQuantity() == null) {
+                    throw new IllegalArgumentException("Item quantity must be greater than zero");
+                }
+                builder.addItem(item.getProductId(), item.getQuantity(), toCents(item.getUnitPrice()));
+            }
+        }
+        return builder.build();
+    }
+
+    private static long toCents(BigDecimal unitPrice) {
+        if (unitPrice == null) {
+            throw new IllegalArgumentException("Item unit price must be non-negative");
+        }
+        try {
+            return unitPrice.setScale(2).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Item unit price must be a whole number of cents: " + unitPrice);
+        }
+    }
+
+    public int orderCount() {
+        return orderIds.length;
+    }
+
+    public int itemCount() {
+        return quantities.length;
+    }
+
+    public long orderId(int order) {
+        return orderIds[order];
+    }
+
+    public long customerId(int order) {
+        return customerIds[order];
+    }
+
+    public boolean hasCustomer(int order) {
+        return customerIds[order] != NO_CUSTOMER;
+    }
+
+    /**
+     * @return the index of the first item of the order
+     */
+    public int itemStart(int order) {
+        return itemOffsets[order];
+    }
+
+    /**
+     * @return one past the index of the last item of the order
+     */
+    public int itemEnd(int order) {
+        return itemOffsets[order + 1];
+    }
+
+    public int quantity(int item) {
+        return quantities[item];
+    }
+
+    public long unitPriceCents(int item) {
+        return unitPriceCents[item];
+    }
+
+    public int productCode(int item) {
+        return productCodes[item];
+    }
+
+    public String productId(int item) {
+        return productDictionary[productCodes[item]];
+    }
+
+    public int distinctProductCount() {
+        return productDictionary.length;
+    }
+
+    public long subtotalCents(int order) {
+        return subtotalCents[order];
+    }
+
+    public long discountCents(int order) {
+        return discountCents[order];
+    }
+
+    public long totalCents(int order) {
+        return totalCents[order];
+    }
+
+    /**
+     * Records the pricing outcome of one order.
+     */
+    public void setPricing(int order, long subtotal, long discount, long total) {
+        subtotalCents[order] = subtotal;
+        discountCents[order] = discount;
+        totalCents[order] = total;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderBatch{" +
+                "orders=" + orderCount() +
+                ", items=" + itemCount() +
+                ", products=" + distinctProductCount() +
+                '}';
+    }
+
+    /**
+     * Appends orders and their items column by column.
+     * Items are attached to the most recently added order.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] orderIds = new long[INITIAL_CAPACITY];
+        private long[] customerIds = new long[INITIAL_CAPACITY];
+        private int[] itemOffsets = new int[INITIAL_CAPACITY + 1];
+        private int[] productCodes = new int[INITIAL_CAPACITY];
+        private int[] quantities = new int[INITIAL_CAPACITY];
+        private long[] unitPriceCents = new long[INITIAL_CAPACITY];
+        private final Map<String, Integer> productIndex = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int orderCount;
+        private int itemCount;
+
+        private Builder() {
+        }
+
+        /**
+         * Starts a new order.
+         *
+         * @param orderId The order ID
+         * @param customerId The customer ID, or {@link OrderBatch#NO_CUSTOMER}
+         * @return this builder
+         * @throws IllegalArgumentException if the previous order has no items
+         */
+        public Builder addOrder(long orderId, long customerId) {
+            requireItemsOnLastOrder();
+            if (orderCount == orderIds.length) {
+                int capacity = orderCount * 2;
+                orderIds = Arrays.copyOf(orderIds, capacity);
+                customerIds = Arrays.copyOf(customerIds, capacity);
+                itemOffsets = Arrays.copyOf(itemOffsets, capacity + 1);
+            }
+            orderIds[orderCount] = orderId;
+            customerIds[orderCount] = customerId;
+            itemOffsets[orderCount] = itemCount;
+            orderCount++;
+            return this;
+        }
+
+        /**
+         * Adds an item to the current order.
+         *
+         * @param productId The product ID
+         * @param quantity The quantity (positive)
+         * @param unitPriceCents The unit price in cents (non-negative)
+         * @return this builder
+         * @throws IllegalArgumentException if no order was started or the item is invalid
+         */
+        public Builder addItem(String productId, int quantity, long unitPriceCents) {
+            if (orderCount == 0) {
+                throw new IllegalArgumentException("Add an order before adding items");
+            }
+            if (productId == null || productId.trim().isEmpty()) {
+                throw new IllegalArgumentException("Item product ID cannot be blank");
+            }
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("Item quantity must be greater than zero");
+            }
+            if (unitPriceCents < 0) {
+                throw new IllegalArgumentException("Item unit price must be non-negative");
+            }
+
+            if (itemCount == quantities.length) {
+                int capacity = itemCount * 2;
+                productCodes = Arrays.copyOf(productCodes, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                this.unitPriceCents = Arrays.copyOf(this.unitPriceCents, capacity);
+            }
+
+            Integer code = productIndex.get(productId);
+            if (code == null) {
+                code = dictionary.size();
+                productIndex.put(productId, code);
+                dictionary.add(productId);
+            }
+
+            productCodes[itemCount] = code;
+            quantities[itemCount] = quantity;
+            this.unitPriceCents[itemCount] = unitPriceCents;
+            itemCount++;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the last order has no items
+         */
+        public OrderBatch build() {
+            requireItemsOnLastOrder();
+            return new OrderBatch(this);
+        }
+
+        private void requireItemsOnLastOrder() {
+            if (orderCount > 0 && itemOffsets[orderCount - 1] == itemCount) {
+                throw new IllegalArgumentException("Order must contain at least one item");
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.qualitygate.research.domain;
+
+/**
+ * Read-only view of an order's pricing inputs
+ * Part of the Domain Layer
+ *
+ * Implemented by flyweights over serialized orders so they can be priced without
+ * materialising {@link Order} and {@link OrderItem} objects. Unit prices are exposed as an
+ * unscaled value and a scale, exactly like {@link java.math.BigDecimal}.
+ */
+public interface OrderView {
+
+    long getOrderId();
+
+    boolean hasCustomerId();
+
+    /**
+     * Only meaningful when {@link #hasCustomerId()} is true.
+     */
+    long getCustomerId();
+
+    int itemCount();
+
+    /**
+     * Product ID of an item. Decoding allocates, so pricing code should not call this.
+     */
+    String productIdAt(int item);
+
+    /**
+     * Quantity of an item; zero stands for a missing quantity.
+     */
+    int quantityAt(int item);
+
+    /**
+     * Whether an item has a unit price at all.
+     */
+    boolean hasUnitPriceAt(int item);
+
+    long unitPriceUnscaledAt(int item);
+
+    int unitPriceScaleAt(int item);
+}
@@ -0,0 +1,309 @@
+package com.qualitygate.research.http;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.controller.OrderController;
+import com.qualitygate.research.controller.UserController;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.User;
+import com.qualitygate.research.io.Json;
+import com.qualitygate.research.io.OrderJsonCodec;
+import com.qualitygate.research.io.UserJsonCodec;
+import com.qualitygate.research.service.OrderPricingResult;
+import com.qualitygate.research.service.OrderService;
+import com.qualitygate.research.service.UserService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight HTTP/JSON front end for {@link OrderController} and {@link UserController},
+ * built on the JDK's {@code com.sun.net.httpserver}.
+ *
+ * Endpoints (all POST, JSON in and out):
+ * <pre>
+ * /orders/price      order                      -> 200 priced result, 422 rejected result
+ * /orders/validate   order                      -> 200 {"valid":true|false}
+ * /users             {"username","email"}       -> 201 user, 422 if invalid
+ * /users/email       {"user":{...},"email":...} -> 200 updated user, 422 if invalid
+ * /users/activate    user                       -> 200 activated user, 422 if not stored
+ * /users/deactivate  user                       -> 200 deactivated user, 422 if not stored
+ * </pre>
+ * Malformed JSON, including nesting or numbers beyond the {@link Json} limits, and fields the
+ * codecs reject, such as unit prices too large for cents, are answered with 400 and a fixed
+ * message before anything is priced. Other methods get 405, and any other failure, errors and
+ * service-layer exceptions included, gets 500.
+ *
+ * Each request runs on its own virtual thread when the JVM supports them (Java 21+),
+ * so blocking handlers scale to tens of thousands of concurrent requests. On older JVMs
+ * requests run on a fixed pool of platform threads.
+ */
+public final class ControllerHttpServer implements Closeable {
+
+    private static final int DEFAULT_BACKLOG = 16_384;
+    private static final int FALLBACK_POOL_SIZE = 256;
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final OrderController orderController;
+    private final UserController userController;
+
+    private ControllerHttpServer(HttpServer server, ExecutorService executor, boolean virtualThreads,
+                                 OrderController orderController, UserController userController) {
+        this.server = server;
+        this.executor = executor;
+        this.virtualThreads = virtualThreads;
+        this.orderController = orderController;
+        this.userController = userController;
+    }
+
+    /**
+     * Binds and starts a server.
+     *
+     * @param address The address to bind; port 0 picks a free port
+     * @param orderController The controller behind the order endpoints
+     * @param userController The controller behind the user endpoints
+     * @return The running server
+     * @throws IllegalArgumentException if an argument is null
+     * @throws IOException if the address cannot be bound
+     */
+    public static ControllerHttpServer start(InetSocketAddress address, OrderController orderController,
+                                             UserController userController) throws IOException {
+        if (address == null) {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+        if (orderController == null || userController == null) {
+            throw new IllegalArgumentException("Controllers cannot be null");
+        }
+
+        ExecutorService virtualExecutor = newVirtualThreadExecutor();
+        ExecutorService executor = virtualExecutor != null ? virtualExecutor : newPlatformThreadExecutor();
+        HttpServer server = HttpServer.create(address, DEFAULT_BACKLOG);
+        ControllerHttpServer httpServer = new ControllerHttpServer(server, executor, virtualExecutor != null,
+                orderController, userController);
+        httpServer.registerEndpoints();
+        server.setExecutor(executor);
+        server.start();
+        return httpServer;
+    }
+
+    /**
+     * Starts a server on the given port (default 8080) with the default discount configuration.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        ControllerHttpServer server = start(new InetSocketAddress(port),
+                new OrderController(new OrderService(new DiscountConfiguration())),
+                new UserController(new UserService()));
+        System.out.println("Listening on " + server.getAddress()
+                + (server.isUsingVirtualThreads() ? " (virtual threads)" : " (platform threads)"));
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Whether requests run on virtual threads rather than the platform thread pool.
+     */
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting connections and waits briefly for in-flight requests.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void registerEndpoints() {
+        route("/orders/price", body -> {
+            Order order = decode(() -> OrderJsonCodec.toOrder(body));
+            OrderPricingResult result = orderController.processOrderWithResult(order);
+            String json = OrderJsonCodec.appendPricingResult(new StringBuilder(), result).toString();
+            return new Response(result.isSuccess() ? 200 : 422, json);
+        });
+        route("/orders/validate", body -> {
+            Order order = decode(() -> OrderJsonCodec.toOrder(body));
+            return new Response(200, "{\"valid\":" + orderController.validateOrder(order) + "}");
+        });
+        route("/users", body -> {
+            String username = decode(() -> UserJsonCodec.stringField(body, "username"));
+            String email = decode(() -> UserJsonCodec.stringField(body, "email"));
+            User user = userController.createUser(username, email);
+            return user != null ? userResponse(201, user) : error(422, "Invalid username or email");
+        });
+        route("/users/email", body -> {
+            User user = decode(() -> UserJsonCodec.toUser(objectField(body, "user")));
+            String email = decode(() -> UserJsonCodec.stringField(body, "email"));
+            boolean updated = userController.updateUserEmail(user, email);
+            return updated ? userResponse(200, user) : error(422, "Invalid email");
+        });
+        route("/users/activate", body -> {
+            User user = decode(() -> UserJsonCodec.toUser(body));
+            boolean updated = userController.activateUser(user);
+            return updated ? userResponse(200, user) : error(422, "Unknown user");
+        });
+        route("/users/deactivate", body -> {
+            User user = decode(() -> UserJsonCodec.toUser(body));
+            boolean updated = userController.deactivateUser(user);
+            return updated ? userResponse(200, user) : error(422, "Unknown user");
+        });
+    }
+
+    private void route(String path, Endpoint endpoint) {
+        server.createContext(path, exchange -> {
+            try {
+                Response response;
+                if (!path.equals(exchange.getRequestURI().getPath())) {
+                    response = error(404, "Not found");
+                } else if (!"POST".equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "POST");
+                    response = error(405, "Method not allowed");
+                } else {
+                    response = handle(exchange, endpoint);
+                }
+                send(exchange, response);
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private static Response handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        byte[] body = readBody(exchange.getRequestBody());
+        if (body == null) {
+            return error(413, "Request body too large");
+        }
+        Map<String, Object> request;
+        try {
+            request = Json.parseObject(new String(body, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return error(400, "Malformed JSON");
+        }
+        try {
+            return endpoint.handle(request);
+        } catch (MalformedRequestException e) {
+            return error(400, "Invalid request body");
+        } catch (Throwable e) {
+            // Errors as well as runtime exceptions, so that no exchange is left without a response
+            return error(500, "Internal error");
+        }
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] bytes = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Runs a codec mapping, so that only its rejections of the request body become 400s; an
+     * IllegalArgumentException thrown further in is a server bug and answered with 500.
+     */
+    private static <T> T decode(Supplier<T> mapping) {
+        try {
+            return mapping.get();
+        } catch (IllegalArgumentException e) {
+            throw new MalformedRequestException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> objectField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Field '" + name + "' must be an object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private static Response userResponse(int status, User user) {
+        return new Response(status, UserJsonCodec.appendUser(new StringBuilder(), user).toString());
+    }
+
+    private static Response error(int status, String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        return new Response(status, Json.appendString(json, message).append('}').toString());
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} reflectively, so the
+     * project keeps compiling for Java 11 while using virtual threads on Java 21+.
+     *
+     * @return The executor, or null if this JVM has no virtual threads
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(FALLBACK_POOL_SIZE, task -> {
+            Thread thread = new Thread(task, "http-request-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Handles the parsed JSON body of one request.
+     */
+    private interface Endpoint {
+        Response handle(Map<String, Object> body);
+    }
+
+    private static final class MalformedRequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        MalformedRequestException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class Response {
+
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
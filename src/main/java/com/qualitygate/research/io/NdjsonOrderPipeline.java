@@ -0,0 +1,276 @@
+package com.qualitygate.research.io;
+
+import com.qualitygate.research.service.OrderPricingResult;
+import com.qualitygate.research.service.OrderService;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams newline-delimited JSON orders through {@link OrderService#processOrder} and writes
+ * one NDJSON result line per input line.
+ *
+ * Only one order is held in memory at a time, so heap use does not depend on the input size.
+ * Priced orders are written with {@code "status":"PRICED"}, rule violations with
+ * {@code "status":"REJECTED"}, and lines that are not valid order JSON with
+ * {@code "status":"MALFORMED"} and their line number. Blank lines are skipped. A line longer
+ * than {@link #MAX_LINE_CHARS} is malformed too; the rest of it is read past without being
+ * buffered.
+ */
+public class NdjsonOrderPipeline {
+
+    /**
+     * Receives throughput snapshots while a run is in progress, and once at the end.
+     */
+    public interface ProgressListener {
+        void onProgress(PipelineStats stats);
+    }
+
+    /**
+     * Longest line parsed, in chars.
+     */
+    public static final int MAX_LINE_CHARS = 1024 * 1024;
+
+    private static final long DEFAULT_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int READ_BUFFER_CHARS = 8192;
+
+    private final OrderService orderService;
+    private final ProgressListener listener;
+    private final long reportIntervalNanos;
+    private final int maxLineChars;
+
+    public NdjsonOrderPipeline(OrderService orderService) {
+        this(orderService, null, DEFAULT_REPORT_INTERVAL_NANOS);
+    }
+
+    /**
+     * @param orderService The service that validates and prices each order
+     * @param listener Progress callback, or null for none
+     * @param reportIntervalNanos Minimum time between progress callbacks
+     */
+    public NdjsonOrderPipeline(OrderService orderService, ProgressListener listener, long reportIntervalNanos) {
+        this(orderService, listener, reportIntervalNanos, MAX_LINE_CHARS);
+    }
+
+    NdjsonOrderPipeline(OrderService orderService, ProgressListener listener, long reportIntervalNanos,
+                        int maxLineChars) {
+        if (orderService == null) {
+            throw new IllegalArgumentException("OrderService cannot be null");
+        }
+        if (reportIntervalNanos <= 0) {
+            throw new IllegalArgumentException("Report interval must be positive");
+        }
+        this.orderService = orderService;
+        this.listener = listener;
+        this.reportIntervalNanos = reportIntervalNanos;
+        this.maxLineChars = maxLineChars;
+    }
+
+    /**
+     * Prices every order in the input file and writes the results to the output file.
+     */
+    public PipelineStats run(Path input, Path output) throws IOException {
+        try (InputStream in = Files.newInputStream(input);
+             OutputStream out = Files.newOutputStream(output)) {
+            return run(in, out);
+        }
+    }
+
+    /**
+     * Prices every order read from the input stream and writes the results to the output stream.
+     * Neither stream is closed; the output is flushed.
+     *
+     * @return Final counts and throughput
+     * @throws IOException if reading or writing fails
+     */
+    public PipelineStats run(InputStream input, OutputStream output) throws IOException {
+        if (input == null || output == null) {
+            throw new IllegalArgumentException("Input and output streams cannot be null");
+        }
+
+        CountingInputStream counted = new CountingInputStream(input);
+        LineReader reader = new LineReader(new InputStreamReader(counted, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        StringBuilder text = new StringBuilder(256);
+        StringBuilder line = new StringBuilder(256);
+
+        long start = System.nanoTime();
+        long nextReport = start + reportIntervalNanos;
+        long lineNumber = 0;
+        long read = 0;
+        long priced = 0;
+        long rejected = 0;
+        long malformed = 0;
+
+        int status;
+        while ((status = reader.readLine(text, maxLineChars)) != LineReader.END_OF_INPUT) {
+            lineNumber++;
+            if (status == LineReader.LINE && isBlank(text)) {
+                continue;
+            }
+            read++;
+            line.setLength(0);
+
+            try {
+                if (status == LineReader.TOO_LONG) {
+                    throw new IllegalArgumentException("Line is longer than " + maxLineChars + " characters");
+                }
+                OrderPricingResult result = orderService.processOrder(OrderJsonCodec.readOrder(text.toString()));
+                if (result.isSuccess()) {
+                    priced++;
+                } else {
+                    rejected++;
+                }
+                OrderJsonCodec.appendPricingResult(line, result);
+            } catch (IllegalArgumentException e) {
+                malformed++;
+                line.append("{\"status\":\"MALFORMED\",\"line\":").append(lineNumber).append(",\"message\":");
+                Json.appendString(line, e.getMessage()).append('}');
+            }
+
+            writer.append(line).append('\n');
+
+            if (listener != null) {
+                long now = System.nanoTime();
+                if (now - nextReport >= 0) {
+                    listener.onProgress(new PipelineStats(read, priced, rejected, malformed, counted.count, now - start));
+                    nextReport = now + reportIntervalNanos;
+                }
+            }
+        }
+
+        writer.flush();
+        PipelineStats stats = new PipelineStats(read, priced, rejected, malformed, counted.count, System.nanoTime() - start);
+        if (listener != null) {
+            listener.onProgress(stats);
+        }
+        return stats;
+    }
+
+    private static boolean isBlank(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads lines ending in \n, \r or \r\n, like {@link java.io.BufferedReader#readLine()}, but keeps
+     * at most a given number of chars of each.
+     */
+    private static final class LineReader {
+
+        static final int END_OF_INPUT = -1;
+        static final int LINE = 0;
+        static final int TOO_LONG = 1;
+
+        private final Reader in;
+        private final char[] buffer = new char[READ_BUFFER_CHARS];
+        private int position;
+        private int limit;
+        private boolean skipLineFeed;
+
+        LineReader(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads the next line into {@code line}, without its terminator. A line longer than
+         * {@code maxChars} is read to its end but leaves {@code line} empty.
+         *
+         * @return LINE, TOO_LONG or END_OF_INPUT
+         */
+        int readLine(StringBuilder line, int maxChars) throws IOException {
+            line.setLength(0);
+            boolean started = false;
+            boolean tooLong = false;
+            while (true) {
+                if (position == limit) {
+                    int n = in.read(buffer, 0, buffer.length);
+                    if (n < 0) {
+                        return !started ? END_OF_INPUT : tooLong ? TOO_LONG : LINE;
+                    }
+                    position = 0;
+                    limit = n;
+                    continue;
+                }
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (buffer[position] == '\n') {
+                        position++;
+                        continue;
+                    }
+                }
+                started = true;
+
+                int start = position;
+                while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+                    position++;
+                }
+                if (!tooLong) {
+                    if (line.length() + (position - start) > maxChars) {
+                        tooLong = true;
+                        line.setLength(0);
+                    } else {
+                        line.append(buffer, start, position - start);
+                    }
+                }
+                if (position < limit) {
+                    skipLineFeed = buffer[position] == '\r';
+                    position++;
+                    return tooLong ? TOO_LONG : LINE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes pulled from the underlying stream.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.qualitygate.research.io;
+
+import com.qualitygate.research.domain.Order;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.qualitygate.research.io.OrderLogFormat.BYTE_ORDER;
+
+/**
+ * Append-only store of orders kept outside the Java heap.
+ *
+ * Orders are serialized in the {@link OrderLogFormat} record layout, preceded by their
+ * pricing amounts in cents, into direct buffers allocated in chunks. An open-addressing
+ * index from order ID to record location, itself in direct memory, gives O(1) lookups.
+ * The index is split into {@value #INDEX_SHARDS} shards by the high bits of the hashed order
+ * ID, each a table in its own buffer, so it is not bounded by the 2 GB limit of one buffer
+ * and holds over a billion order IDs. The heap only holds the chunk and index references,
+ * so the GC never scans stored orders.
+ * Readers get {@link OffHeapOrderView} flyweights, which {@code OrderService.priceView} and
+ * {@code OrderController} price directly.
+ *
+ * Appends are serialized; lookups take no locks and may run concurrently with appends.
+ * A record is written before its index entry is published with release semantics, and
+ * readers load entries with acquire semantics, so a reader sees either nothing or a complete
+ * order. Appending an order ID again points lookups at the newer record.
+ *
+ * Direct memory is released when the store becomes unreachable.
+ */
+public class OffHeapOrderStore {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    static final int SUBTOTAL_OFFSET = 0;
+    static final int DISCOUNT_OFFSET = 8;
+    static final int TOTAL_OFFSET = 16;
+    static final int AMOUNTS_SIZE = 24;
+    static final long UNPRICED = Long.MIN_VALUE;
+
+    // Index entry: long key (order ID), long value (location + 1; 0 marks an empty slot)
+    private static final int ENTRY_SIZE = 16;
+    private static final int VALUE_OFFSET = 8;
+    static final int INDEX_SHARDS = 32;
+    private static final int SHARD_SHIFT = 64 - Integer.numberOfTrailingZeros(INDEX_SHARDS);
+    private static final int INITIAL_SHARD_SLOTS = 64;
+    private static final int MAX_SHARD_SLOTS = 1 << 26;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, BYTE_ORDER);
+
+    private final int chunkSize;
+    private final OrderLogEncoder encoder = new OrderLogEncoder();
+
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private final IndexShard[] shards = new IndexShard[INDEX_SHARDS];
+    private volatile int size;
+
+    // Writer-only state, guarded by this
+    private int chunkPosition;
+
+    public OffHeapOrderStore() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize Bytes of direct memory allocated at a time; larger orders get a chunk of their own
+     * @throws IllegalArgumentException if the chunk size is below 4096 bytes
+     */
+    public OffHeapOrderStore(int chunkSize) {
+        this(chunkSize, MAX_SHARD_SLOTS);
+    }
+
+    /**
+     * @param maxShardSlots Slots an index shard may grow to, a power of two; lowered in tests
+     */
+    OffHeapOrderStore(int chunkSize, int maxShardSlots) {
+        if (chunkSize < 4096) {
+            throw new IllegalArgumentException("Chunk size must be at least 4096 bytes");
+        }
+        if (maxShardSlots < INITIAL_SHARD_SLOTS || maxShardSlots > MAX_SHARD_SLOTS || Integer.bitCount(maxShardSlots) != 1) {
+            throw new IllegalArgumentException("Maximum shard slots must be a power of two between "
+                    + INITIAL_SHARD_SLOTS + " and " + MAX_SHARD_SLOTS);
+        }
+        this.chunkSize = chunkSize;
+        for (int i = 0; i < INDEX_SHARDS; i++) {
+            shards[i] = new IndexShard(maxShardSlots);
+        }
+    }
+
+    /**
+     * Stores an order and its pricing amounts, if it has them.
+     *
+     * @param order The order to store; needs an order ID
+     * @throws IllegalArgumentException if the order is null, has no order ID, has a unit price the
+     *         record layout cannot hold, or has an amount that is not a whole number of cents
+     * @throws IllegalStateException if the order ID is new and its index shard has reached its
+     *         maximum size; nothing is stored then
+     */
+    public synchronized void append(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+        if (order.getOrderId() == null) {
+            throw new IllegalArgumentException("Order ID is required to store an order");
+        }
+
+        boolean priced = order.getSubtotal() != null && order.getDiscountAmount() != null && order.getTotalAmount() != null;
+        long subtotal = priced ? toCents(order.getSubtotal()) : UNPRICED;
+        long discount = priced ? toCents(order.getDiscountAmount()) : 0L;
+        long total = priced ? toCents(order.getTotalAmount()) : 0L;
+        ByteBuffer record = encoder.encode(order);
+        long orderId = order.getOrderId();
+        IndexShard shard = shards[shard(orderId)];
+        shard.ensureRoom(orderId);
+
+        // Keep records 8-byte aligned
+        int length = (AMOUNTS_SIZE + record.remaining() + 7) & ~7;
+        ByteBuffer chunk = chunkFor(length);
+        int offset = chunkPosition;
+        chunk.putLong(offset + SUBTOTAL_OFFSET, subtotal);
+        chunk.putLong(offset + DISCOUNT_OFFSET, discount);
+        chunk.putLong(offset + TOTAL_OFFSET, total);
+        ByteBuffer target = chunk.duplicate();
+        target.position(offset + AMOUNTS_SIZE);
+        target.put(record);
+        chunkPosition += length;
+
+        if (shard.publish(orderId, ((long) (chunks.length - 1) << 32 | offset) + 1)) {
+            size++;
+        }
+    }
+
+    /**
+     * Positions a view over the order with the given ID, without allocating.
+     *
+     * @param orderId The order ID
+     * @param view The view to reposition
+     * @return true if the order is stored; the view is unchanged otherwise
+     */
+    public boolean find(long orderId, OffHeapOrderView view) {
+        long location = shards[shard(orderId)].locate(orderId);
+        if (location == 0L) {
+            return false;
+        }
+        location--;
+        view.wrap(chunks[(int) (location >>> 32)], (int) location);
+        return true;
+    }
+
+    /**
+     * Looks up an order in a new view.
+     *
+     * @return The view, or null if the order is not stored
+     */
+    public OffHeapOrderView find(long orderId) {
+        OffHeapOrderView view = new OffHeapOrderView();
+        return find(orderId, view) ? view : null;
+    }
+
+    /**
+     * Number of distinct order IDs stored.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Direct memory held by the records and the index, in bytes.
+     */
+    public long getOffHeapBytes() {
+        long bytes = 0L;
+        for (IndexShard shard : shards) {
+            bytes += shard.table.capacity();
+        }
+        for (ByteBuffer chunk : chunks) {
+            bytes += chunk.capacity();
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapOrderStore{" +
+                "size=" + size +
+                ", chunks=" + chunks.length +
+                ", offHeapBytes=" + getOffHeapBytes() +
+                '}';
+    }
+
+    private ByteBuffer chunkFor(int length) {
+        ByteBuffer[] current = chunks;
+        if (current.length > 0 && chunkPosition + length <= current[current.length - 1].capacity()) {
+            return current[current.length - 1];
+        }
+
+        ByteBuffer chunk = allocateAligned(Math.max(chunkSize, length));
+        ByteBuffer[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = chunk;
+        chunks = grown;
+        chunkPosition = 0;
+        return chunk;
+    }
+
+    private static ByteBuffer allocateIndex(int slots) {
+        return allocateAligned(slots * ENTRY_SIZE);
+    }
+
+    /**
+     * Atomic long access needs 8-byte aligned addresses.
+     */
+    private static ByteBuffer allocateAligned(int capacity) {
+        return ByteBuffer.allocateDirect(capacity + 7).alignedSlice(8).order(BYTE_ORDER);
+    }
+
+    private static long hash(long orderId) {
+        return orderId * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int shard(long orderId) {
+        return (int) (hash(orderId) >>> SHARD_SHIFT);
+    }
+
+    private static int home(long orderId) {
+        long h = hash(orderId);
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        try {
+            return amount.setScale(2).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must be a whole number of cents: " + amount);
+        }
+    }
+
+    /**
+     * One shard of the index: an open-addressing table of (order ID, location + 1) entries,
+     * kept at most half full. Only the appending thread, holding the store's lock, writes.
+     */
+    private static final class IndexShard {
+
+        private final int maxSlots;
+        volatile ByteBuffer table = allocateIndex(INITIAL_SHARD_SLOTS);
+        int used;
+
+        IndexShard(int maxSlots) {
+            this.maxSlots = maxSlots;
+        }
+
+        long locate(long orderId) {
+            ByteBuffer current = table;
+            int mask = current.capacity() / ENTRY_SIZE - 1;
+            int slot = home(orderId) & mask;
+            while (true) {
+                int entry = slot * ENTRY_SIZE;
+                long location = (long) LONGS.getAcquire(current, entry + VALUE_OFFSET);
+                if (location == 0L || (long) LONGS.get(current, entry) == orderId) {
+                    return location;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * Makes sure publishing the key cannot fail, growing the table if needed.
+         *
+         * @throws IllegalStateException if the key is new and the table is at its maximum size
+         */
+        void ensureRoom(long orderId) {
+            int slots = table.capacity() / ENTRY_SIZE;
+            if ((used + 1) * 2L <= slots) {
+                return;
+            }
+            if (slots < maxSlots) {
+                grow();
+            } else if (locate(orderId) == 0L) {
+                throw new IllegalStateException("Order store index is full");
+            }
+        }
+
+        /**
+         * Points the key at a location. The location is written last, with release semantics,
+         * so a reader that sees it also sees the key and the record.
+         *
+         * @return true if the key was new
+         */
+        boolean publish(long orderId, long location) {
+            ByteBuffer current = table;
+            int mask = current.capacity() / ENTRY_SIZE - 1;
+            int slot = home(orderId) & mask;
+            while (true) {
+                int entry = slot * ENTRY_SIZE;
+                long existing = (long) LONGS.get(current, entry + VALUE_OFFSET);
+                if (existing == 0L) {
+                    LONGS.set(current, entry, orderId);
+                    LONGS.setRelease(current, entry + VALUE_OFFSET, location);
+                    used++;
+                    return true;
+                }
+                if ((long) LONGS.get(current, entry) == orderId) {
+                    LONGS.setRelease(current, entry + VALUE_OFFSET, location);
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * Rehashes into a table twice the size, published only once complete. Readers still
+         * probing the old table find every entry that was published to them.
+         */
+        private void grow() {
+            ByteBuffer current = table;
+            int slots = current.capacity() / ENTRY_SIZE;
+            ByteBuffer grown = allocateIndex(slots * 2);
+            int mask = slots * 2 - 1;
+            for (int entry = 0; entry < current.capacity(); entry += ENTRY_SIZE) {
+                long location = (long) LONGS.get(current, entry + VALUE_OFFSET);
+                if (location == 0L) {
+                    continue;
+                }
+                long orderId = (long) LONGS.get(current, entry);
+                int slot = home(orderId) & mask;
+                while ((long) LONGS.get(grown, slot * ENTRY_SIZE + VALUE_OFFSET) != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                LONGS.set(grown, slot * ENTRY_SIZE, orderId);
+                LONGS.set(grown, slot * ENTRY_SIZE + VALUE_OFFSET, location);
+            }
+            table = grown;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.qualitygate.research.io;
+
+import com.qualitygate.research.domain.OrderView;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+import static com.qualitygate.research.io.OffHeapOrderStore.*;
+
+/**
+ * Read-only flyweight over one order held by an {@link OffHeapOrderStore}.
+ *
+ * {@link OffHeapOrderStore#find(long, OffHeapOrderView)} repositions an instance over a stored
+ * order; accessors read straight from off-heap memory, so nothing is materialised. An instance
+ * is not thread-safe, but each reader thread can keep and reuse its own.
+ */
+public final class OffHeapOrderView implements OrderView {
+
+    private final OrderLogRecord record = new OrderLogRecord();
+    private ByteBuffer chunk;
+    private int base;
+
+    void wrap(ByteBuffer chunk, int base) {
+        this.chunk = chunk;
+        this.base = base;
+        record.wrap(chunk, base + AMOUNTS_SIZE, base);
+    }
+
+    @Override
+    public long getOrderId() {
+        return record.getOrderId();
+    }
+
+    @Override
+    public boolean hasCustomerId() {
+        return record.hasCustomerId();
+    }
+
+    @Override
+    public long getCustomerId() {
+        return record.getCustomerId();
+    }
+
+    @Override
+    public int itemCount() {
+        return record.itemCount();
+    }
+
+    @Override
+    public String productIdAt(int item) {
+        return record.productIdAt(item);
+    }
+
+    @Override
+    public int quantityAt(int item) {
+        return record.quantityAt(item);
+    }
+
+    @Override
+    public boolean hasUnitPriceAt(int item) {
+        return record.hasUnitPriceAt(item);
+    }
+
+    @Override
+    public long unitPriceUnscaledAt(int item) {
+        return record.unitPriceUnscaledAt(item);
+    }
+
+    @Override
+    public int unitPriceScaleAt(int item) {
+        return record.unitPriceScaleAt(item);
+    }
+
+    /**
+     * Whether the order was stored with its pricing amounts.
+     */
+    public boolean isPriced() {
+        return chunk.getLong(base + SUBTOTAL_OFFSET) != UNPRICED;
+    }
+
+    /**
+     * Only meaningful when {@link #isPriced()} is true.
+     */
+    public long getSubtotalCents() {
+        return chunk.getLong(base + SUBTOTAL_OFFSET);
+    }
+
+    /**
+     * Only meaningful when {@link #isPriced()} is true.
+     */
+    public long getDiscountCents() {
+        return chunk.getLong(base + DISCOUNT_OFFSET);
+    }
+
+    /**
+     * Only meaningful when {@link #isPriced()} is true.
+     */
+    public long getTotalCents() {
+        return chunk.getLong(base + TOTAL_OFFSET);
+    }
+
+    /**
+     * The total amount as stored on the order, or null if it was stored unpriced.
+     * Allocates; prefer {@link #getTotalCents()} on hot paths.
+     */
+    public BigDecimal getTotalAmount() {
+        return isPriced() ? BigDecimal.valueOf(getTotalCents(), 2) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapOrderView{" +
+                "orderId=" + getOrderId() +
+                ", items=" + itemCount() +
+                ", totalCents=" + (isPriced() ? String.valueOf(getTotalCents()) : "unpriced") +
+                '}';
+    }
+}
@@ -0,0 +1,173 @@
+package com.qualitygate.research.io;
+
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.service.OrderPricingResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON mapping for orders and pricing results.
+ *
+ * <pre>
+ * {"orderId":1,"customerId":100,"items":[{"productId":"SKU-1","quantity":2,"unitPrice":19.99}]}
+ * </pre>
+ *
+ * Missing fields map to null so that the service validation rules, not the codec,
+ * decide whether an order is acceptable. Fields of the wrong JSON type are malformed input,
+ * and so are unit prices too large to be expressed in long cents.
+ */
+public final class OrderJsonCodec {
+
+    private static final BigDecimal MAX_UNIT_PRICE = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+
+    private OrderJsonCodec() {
+    }
+
+    /**
+     * Parses one order.
+     *
+     * @param json A JSON object
+     * @return The order
+     * @throws IllegalArgumentException if the text is not JSON or a field has the wrong type
+     */
+    public static Order readOrder(String json) {
+        return toOrder(Json.parseObject(json));
+    }
+
+    /**
+     * Maps an already parsed JSON object to an order.
+     *
+     * @throws IllegalArgumentException if a field has the wrong type
+     */
+    public static Order toOrder(Map<String, Object> object) {
+        Order order = new Order(longField(object, "orderId"), longField(object, "customerId"));
+
+        Object items = object.get("items");
+        if (items != null) {
+            if (!(items instanceof List)) {
+                throw new IllegalArgumentException("Field 'items' must be an array");
+            }
+            List<?> array = (List<?>) items;
+            List<OrderItem> orderItems = new ArrayList<>(array.size());
+            for (Object item : array) {
+                if (item != null && !(item instanceof Map)) {
+                    throw new IllegalArgumentException("Order items must be objects");
+                }
+                // Null items are kept so the validation rules can reject them
+                orderItems.add(item != null ? toItem(asObject(item)) : null);
+            }
+            order.setItems(orderItems);
+        }
+        return order;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    private static OrderItem toItem(Map<String, Object> object) {
+        Object productId = object.get("productId");
+        if (productId != null && !(productId instanceof String)) {
+            throw new IllegalArgumentException("Field 'productId' must be a string");
+        }
+
+        BigDecimal quantity = decimalField(object, "quantity");
+        Integer intQuantity = null;
+        if (quantity != null) {
+            try {
+                intQuantity = quantity.intValueExact();
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Field 'quantity' must be an integer");
+            }
+        }
+
+        BigDecimal unitPrice = decimalField(object, "unitPrice");
+        if (unitPrice != null && unitPrice.abs().compareTo(MAX_UNIT_PRICE) > 0) {
+            throw new IllegalArgumentException("Field 'unitPrice' is out of range");
+        }
+        return new OrderItem((String) productId, intQuantity, unitPrice);
+    }
+
+    private static Long longField(Map<String, Object> object, String name) {
+        BigDecimal value = decimalField(object, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Field '" + name + "' must be an integer");
+        }
+    }
+
+    /**
+     * Reads a number field; numeric strings are accepted too, since prices are often quoted.
+     */
+    private static BigDecimal decimalField(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof String) {
+            try {
+                return Json.parseNumber(((String) value).trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Field '" + name + "': " + e.getMessage());
+            }
+        }
+        throw new IllegalArgumentException("Field '" + name + "' must be a number");
+    }
+
+    /**
+     * Writes an order with its amounts and line totals.
+     */
+    public static StringBuilder appendOrder(StringBuilder out, Order order) {
+        out.append("{\"orderId\":").append(order.getOrderId())
+                .append(",\"customerId\":").append(order.getCustomerId())
+                .append(",\"subtotal\":");
+        Json.appendNumber(out, order.getSubtotal()).append(",\"discountAmount\":");
+        Json.appendNumber(out, order.getDiscountAmount()).append(",\"totalAmount\":");
+        Json.appendNumber(out, order.getTotalAmount()).append(",\"items\":[");
+
+        for (int i = 0; i < order.itemCount(); i++) {
+            OrderItem item = order.itemAt(i);
+            if (i > 0) {
+                out.append(',');
+            }
+            if (item == null) {
+                out.append("null");
+                continue;
+            }
+            out.append("{\"productId\":");
+            Json.appendString(out, item.getProductId()).append(",\"quantity\":").append(item.getQuantity())
+                    .append(",\"unitPrice\":");
+            Json.appendNumber(out, item.getUnitPrice()).append(",\"lineTotal\":");
+            Json.appendNumber(out, item.getLineTotal()).append('}');
+        }
+        return out.append("]}");
+    }
+
+    /**
+     * Writes a pricing result: the priced order with {@code "status":"PRICED"}, or the
+     * order ID with {@code "status":"REJECTED"} and the rejection reason.
+     */
+    public static StringBuilder appendPricingResult(StringBuilder out, OrderPricingResult result) {
+        if (result.isSuccess()) {
+            out.append("{\"status\":\"PRICED\",\"order\":");
+            return appendOrder(out, result.getOrder()).append('}');
+        }
+
+        Order order = result.getOrder();
+        out.append("{\"status\":\"REJECTED\",\"orderId\":").append(order != null ? order.getOrderId() : null);
+        if (result.getRejectionReason() != null) {
+            out.append(",\"reason\":\"").append(result.getRejectionReason().name()).append('"');
+        }
+        out.append(",\"message\":");
+        return Json.appendString(out, result.getFailureMessage()).append('}');
+    }
+}
@@ -0,0 +1,103 @@
+package com.qualitygate.research.io;
+
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.qualitygate.research.io.OrderLogFormat.*;
+
+/**
+ * Serializes orders into {@link OrderLogFormat} records, reusing one buffer.
+ * Not thread-safe.
+ */
+final class OrderLogEncoder {
+
+    private ByteBuffer buffer = ByteBuffer.allocate(4096).order(BYTE_ORDER);
+
+    /**
+     * Encodes one order.
+     *
+     * @param order The order to encode
+     * @return The record, ready to be read; only valid until the next call
+     * @throws IllegalArgumentException if the order is null or a unit price has no long/byte-scale form
+     */
+    ByteBuffer encode(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+
+        int itemCount = order.itemCount();
+        byte[][] productIds = new byte[itemCount][];
+        long recordLength = ITEMS_OFFSET + (long) itemCount * ITEM_SIZE;
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = order.itemAt(i);
+            if (item == null) {
+                throw new IllegalArgumentException("Order item cannot be null");
+            }
+            if (item.getProductId() != null) {
+                productIds[i] = item.getProductId().getBytes(StandardCharsets.UTF_8);
+                if (productIds[i].length > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Product ID too long");
+                }
+                recordLength += productIds[i].length;
+            }
+        }
+        if (recordLength > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Order too large for the log: " + recordLength + " bytes");
+        }
+
+        ByteBuffer record = recordBuffer((int) recordLength);
+        record.putInt((int) recordLength);
+        record.putLong(order.getOrderId() != null ? order.getOrderId() : NULL_ID);
+        record.putLong(order.getCustomerId() != null ? order.getCustomerId() : NULL_ID);
+        record.putInt(itemCount);
+
+        int productIdOffset = ITEMS_OFFSET + itemCount * ITEM_SIZE;
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = order.itemAt(i);
+            record.putInt(item.getQuantity() != null ? item.getQuantity() : 0);
+            putUnitPrice(record, item.getUnitPrice());
+            record.put((byte) 0);
+            record.putShort(productIds[i] != null ? (short) productIds[i].length : (short) -1);
+            record.putInt(productIdOffset);
+            if (productIds[i] != null) {
+                productIdOffset += productIds[i].length;
+            }
+        }
+        for (byte[] productId : productIds) {
+            if (productId != null) {
+                record.put(productId);
+            }
+        }
+        record.flip();
+        return record;
+    }
+
+    private static void putUnitPrice(ByteBuffer record, BigDecimal unitPrice) {
+        if (unitPrice == null) {
+            record.putLong(0L);
+            record.put(NULL_SCALE);
+            return;
+        }
+
+        BigInteger unscaled = unitPrice.unscaledValue();
+        int scale = unitPrice.scale();
+        if (unscaled.bitLength() > 63 || scale <= NULL_SCALE || scale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Unit price cannot be stored in the log: " + unitPrice);
+        }
+        record.putLong(unscaled.longValue());
+        record.put((byte) scale);
+    }
+
+    private ByteBuffer recordBuffer(int size) {
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Math.max(size, buffer.capacity() * 2)).order(BYTE_ORDER);
+        }
+        buffer.clear();
+        return buffer;
+    }
+}
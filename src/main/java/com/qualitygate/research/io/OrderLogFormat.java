@@ -0,0 +1,58 @@
+package com.qualitygate.research.io;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary order log.
+ *
+ * <pre>
+ * file header (8 bytes): int magic "QGOL", short version, short reserved
+ * record:
+ *   int   recordLength        whole record, including this field
+ *   long  orderId             NULL_ID when absent
+ *   long  customerId          NULL_ID when absent
+ *   int   itemCount
+ *   itemCount x item slot (ITEM_SIZE bytes each):
+ *     int   quantity           0 when absent
+ *     long  unitPriceUnscaled
+ *     byte  unitPriceScale     NULL_SCALE when the price is absent
+ *     byte  reserved
+ *     short productIdLength    bytes of UTF-8, -1 when absent
+ *     int   productIdOffset    from the start of the record
+ *   product ID bytes (UTF-8), in item order
+ * </pre>
+ *
+ * All values are little-endian. Fixed-size item slots give O(1) access to any item.
+ */
+final class OrderLogFormat {
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int MAGIC = 0x4C4F4751; // "QGOL" read little-endian
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    static final long NULL_ID = Long.MIN_VALUE;
+    static final byte NULL_SCALE = Byte.MIN_VALUE;
+
+    static final int RECORD_LENGTH_OFFSET = 0;
+    static final int ORDER_ID_OFFSET = 4;
+    static final int CUSTOMER_ID_OFFSET = 12;
+    static final int ITEM_COUNT_OFFSET = 20;
+    static final int ITEMS_OFFSET = 24;
+
+    static final int ITEM_QUANTITY_OFFSET = 0;
+    static final int ITEM_PRICE_UNSCALED_OFFSET = 4;
+    static final int ITEM_PRICE_SCALE_OFFSET = 12;
+    static final int ITEM_PRODUCT_ID_LENGTH_OFFSET = 14;
+    static final int ITEM_PRODUCT_ID_OFFSET = 16;
+    static final int ITEM_SIZE = 20;
+
+    /**
+     * Upper bound on a single record, so a record always fits one mapped window.
+     */
+    static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    private OrderLogFormat() {
+    }
+}
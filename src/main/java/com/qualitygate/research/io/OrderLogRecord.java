@@ -0,0 +1,114 @@
+package com.qualitygate.research.io;
+
+import com.qualitygate.research.domain.OrderView;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.qualitygate.research.io.OrderLogFormat.*;
+
+/**
+ * Flyweight over one record of a mapped order log.
+ *
+ * A single instance is repositioned over each record during replay; accessors read
+ * straight from the mapped buffer. Do not keep a reference to it after the callback returns.
+ */
+public final class OrderLogRecord implements OrderView {
+
+    private ByteBuffer buffer;
+    private int base;
+    private long fileOffset;
+
+    OrderLogRecord() {
+    }
+
+    void wrap(ByteBuffer buffer, int base, long fileOffset) {
+        this.buffer = buffer;
+        this.base = base;
+        this.fileOffset = fileOffset;
+    }
+
+    /**
+     * Byte offset of this record in the log file.
+     */
+    public long getOffset() {
+        return fileOffset;
+    }
+
+    /**
+     * Byte offset of the record after this one; pass it to replay to resume after this record.
+     */
+    public long getNextOffset() {
+        return fileOffset + getRecordLength();
+    }
+
+    public int getRecordLength() {
+        return buffer.getInt(base + RECORD_LENGTH_OFFSET);
+    }
+
+    @Override
+    public long getOrderId() {
+        return buffer.getLong(base + ORDER_ID_OFFSET);
+    }
+
+    public boolean hasOrderId() {
+        return getOrderId() != NULL_ID;
+    }
+
+    @Override
+    public boolean hasCustomerId() {
+        return getCustomerId() != NULL_ID;
+    }
+
+    @Override
+    public long getCustomerId() {
+        return buffer.getLong(base + CUSTOMER_ID_OFFSET);
+    }
+
+    @Override
+    public int itemCount() {
+        return buffer.getInt(base + ITEM_COUNT_OFFSET);
+    }
+
+    @Override
+    public String productIdAt(int item) {
+        int slot = itemSlot(item);
+        int length = buffer.getShort(slot + ITEM_PRODUCT_ID_LENGTH_OFFSET);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        int start = base + buffer.getInt(slot + ITEM_PRODUCT_ID_OFFSET);
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int quantityAt(int item) {
+        return buffer.getInt(itemSlot(item) + ITEM_QUANTITY_OFFSET);
+    }
+
+    @Override
+    public boolean hasUnitPriceAt(int item) {
+        return buffer.get(itemSlot(item) + ITEM_PRICE_SCALE_OFFSET) != NULL_SCALE;
+    }
+
+    @Override
+    public long unitPriceUnscaledAt(int item) {
+        return buffer.getLong(itemSlot(item) + ITEM_PRICE_UNSCALED_OFFSET);
+    }
+
+    @Override
+    public int unitPriceScaleAt(int item) {
+        return buffer.get(itemSlot(item) + ITEM_PRICE_SCALE_OFFSET);
+    }
+
+    private int itemSlot(int item) {
+        if (item < 0 || item >= itemCount()) {
+            throw new IndexOutOfBoundsException("Item " + item + " of " + itemCount());
+        }
+        return base + ITEMS_OFFSET + item * ITEM_SIZE;
+    }
+}
@@ -0,0 +1,308 @@
+package com.qualitygate.research.io;
+
+import com.qualitygate.research.service.OrderRejectionReason;
+import com.qualitygate.research.service.OrderService;
+import com.qualitygate.research.service.PricedAmounts;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.qualitygate.research.io.OrderLogFormat.*;
+
+/**
+ * Replays a binary order log through {@link OrderService#priceView}, which prices in fixed-point
+ * cents and falls back to BigDecimal when a configuration or an amount does not fit.
+ *
+ * The log is memory-mapped read-only and walked with a single {@link OrderLogRecord}
+ * flyweight, so replay does not create Order or OrderItem objects. Files larger than one
+ * mapping are walked in windows. A partially written record at the end of the log ends the
+ * replay; {@link ReplayResult#getNextOffset()} is where a later replay should resume.
+ */
+public class OrderLogReplayer {
+
+    private static final long MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private final Path log;
+    private final OrderService orderService;
+    private final long windowSize;
+
+    /**
+     * @param log The order log to replay
+     * @param orderService The service used to reprice every record
+     * @throws IllegalArgumentException if either argument is null
+     */
+    public OrderLogReplayer(Path log, OrderService orderService) {
+        this(log, orderService, MAX_WINDOW_SIZE);
+    }
+
+    OrderLogReplayer(Path log, OrderService orderService, long windowSize) {
+        if (log == null) {
+            throw new IllegalArgumentException("Log path cannot be null");
+        }
+        if (orderService == null) {
+            throw new IllegalArgumentException("OrderService cannot be null");
+        }
+        this.log = log;
+        this.orderService = orderService;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Receives each replayed record. The record and amounts are reused between calls.
+     */
+    public interface ReplayHandler {
+
+        void onPriced(OrderLogRecord record, PricedAmounts amounts);
+
+        default void onRejected(OrderLogRecord record, OrderRejectionReason reason) {
+        }
+
+        /**
+         * Called when a record's exact amounts do not fit in long cents.
+         */
+        default void onFailed(OrderLogRecord record, RuntimeException failure) {
+        }
+    }
+
+    /**
+     * Replays the whole log.
+     */
+    public ReplayResult replay(ReplayHandler handler) throws IOException {
+        return replay(HEADER_SIZE, handler);
+    }
+
+    /**
+     * Replays the log starting at a record offset.
+     *
+     * @param fromOffset Offset of the first record, e.g. a previous {@link ReplayResult#getNextOffset()}
+     * @param handler Receives every priced, rejected or failed record
+     * @return Counts and the offset to resume from
+     * @throws IllegalArgumentException if the handler is null or the offset is before the first record
+     * @throws IOException if the file cannot be read, is not an order log or holds a corrupt record
+     */
+    public ReplayResult replay(long fromOffset, ReplayHandler handler) throws IOException {
+        if (handler == null) {
+            throw new IllegalArgumentException("Replay handler cannot be null");
+        }
+        if (fromOffset < HEADER_SIZE) {
+            throw new IllegalArgumentException("Replay offset must be at least " + HEADER_SIZE);
+        }
+
+        long startNanos = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            checkHeader(channel);
+            long fileSize = channel.size();
+            if (fromOffset > fileSize) {
+                throw new IllegalArgumentException("Replay offset is past the end of the log");
+            }
+
+            OrderLogRecord record = new OrderLogRecord();
+            PricedAmounts amounts = new PricedAmounts();
+            long records = 0;
+            long priced = 0;
+            long rejected = 0;
+            long failed = 0;
+
+            long offset = fromOffset;
+            long windowStart = fromOffset;
+            MappedByteBuffer window = map(channel, windowStart, ITEMS_OFFSET, fileSize);
+
+            while (fileSize - offset >= Integer.BYTES) {
+                if (offset + ITEMS_OFFSET > windowStart + window.capacity()) {
+                    windowStart = offset;
+                    window = map(channel, windowStart, ITEMS_OFFSET, fileSize);
+                }
+
+                int base = (int) (offset - windowStart);
+                int recordLength = window.getInt(base + RECORD_LENGTH_OFFSET);
+                checkRecordLength(recordLength, offset);
+                if (offset + recordLength > fileSize) {
+                    break; // partially written tail
+                }
+                checkItemCount(window, base, recordLength, offset);
+
+                if (offset + recordLength > windowStart + window.capacity()) {
+                    windowStart = offset;
+                    window = map(channel, windowStart, recordLength, fileSize);
+                    base = 0;
+                }
+
+                record.wrap(window, base, offset);
+                records++;
+                try {
+                    OrderRejectionReason reason = orderService.priceView(record, amounts);
+                    if (reason == null) {
+                        priced++;
+                        handler.onPriced(record, amounts);
+                    } else {
+                        rejected++;
+                        handler.onRejected(record, reason);
+                    }
+                } catch (ArithmeticException e) {
+                    failed++;
+                    handler.onFailed(record, e);
+                }
+                offset += recordLength;
+            }
+
+            return new ReplayResult(records, priced, rejected, failed, offset, fileSize - offset,
+                    System.nanoTime() - startNanos);
+        }
+    }
+
+    private MappedByteBuffer map(FileChannel channel, long position, int minSize, long fileSize)
+            throws IOException {
+        long size = Math.min(Math.max(windowSize, minSize), fileSize - position);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(BYTE_ORDER);
+        return buffer;
+    }
+
+    /**
+     * Walks the record lengths from the first record, without mapping the file, and returns the
+     * offset just past the last complete record, where replay would stop.
+     *
+     * @throws IOException if the file cannot be read or holds a corrupt record
+     */
+    static long endOfCompleteRecords(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE).order(BYTE_ORDER);
+        long bufferStart = HEADER_SIZE;
+        int buffered = 0;
+
+        long offset = HEADER_SIZE;
+        while (fileSize - offset >= Integer.BYTES) {
+            if (offset + ITEMS_OFFSET > bufferStart + buffered) {
+                bufferStart = offset;
+                buffered = (int) Math.min(SCAN_BUFFER_SIZE, fileSize - offset);
+                buffer.clear().limit(buffered);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, bufferStart + buffer.position()) < 0) {
+                        throw new IOException("Order log shrank while being read");
+                    }
+                }
+            }
+
+            int base = (int) (offset - bufferStart);
+            int recordLength = buffer.getInt(base + RECORD_LENGTH_OFFSET);
+            checkRecordLength(recordLength, offset);
+            if (offset + recordLength > fileSize) {
+                break; // partially written tail
+            }
+            checkItemCount(buffer, base, recordLength, offset);
+            offset += recordLength;
+        }
+        return offset;
+    }
+
+    /**
+     * Checked before the end-of-file test, so a damaged length fails instead of passing for a torn
+     * tail: only a record with a plausible length that runs past the end of the file is torn.
+     */
+    private static void checkRecordLength(int recordLength, long offset) throws IOException {
+        if (recordLength < ITEMS_OFFSET || recordLength > MAX_RECORD_SIZE) {
+            throw new IOException("Corrupt order log record at offset " + offset);
+        }
+    }
+
+    private static void checkItemCount(ByteBuffer window, int base, int recordLength, long offset) throws IOException {
+        int itemCount = window.getInt(base + ITEM_COUNT_OFFSET);
+        if (itemCount < 0 || ITEMS_OFFSET + (long) itemCount * ITEM_SIZE > recordLength) {
+            throw new IOException("Corrupt order log record at offset " + offset);
+        }
+    }
+
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Not an order log: file is shorter than the header");
+            }
+        }
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not an order log: bad magic number");
+        }
+        if (header.getShort(4) != VERSION) {
+            throw new IOException("Unsupported order log version: " + header.getShort(4));
+        }
+    }
+
+    /**
+     * Outcome of one replay.
+     */
+    public static final class ReplayResult {
+
+        private final long recordCount;
+        private final long pricedCount;
+        private final long rejectedCount;
+        private final long failedCount;
+        private final long nextOffset;
+        private final long trailingBytes;
+        private final long elapsedNanos;
+
+        ReplayResult(long recordCount, long pricedCount, long rejectedCount, long failedCount,
+                     long nextOffset, long trailingBytes, long elapsedNanos) {
+            this.recordCount = recordCount;
+            this.pricedCount = pricedCount;
+            this.rejectedCount = rejectedCount;
+            this.failedCount = failedCount;
+            this.nextOffset = nextOffset;
+            this.trailingBytes = trailingBytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        public long getPricedCount() {
+            return pricedCount;
+        }
+
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+
+        public long getFailedCount() {
+            return failedCount;
+        }
+
+        /**
+         * Offset just past the last complete record; replay from here to pick up new records.
+         */
+        public long getNextOffset() {
+            return nextOffset;
+        }
+
+        /**
+         * Bytes of a partially written record left at the end of the log.
+         */
+        public long getTrailingBytes() {
+            return trailingBytes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRecordsPerSecond() {
+            return elapsedNanos > 0 ? recordCount * 1_000_000_000.0 / elapsedNanos : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return "ReplayResult{" +
+                    "records=" + recordCount +
+                    ", priced=" + pricedCount +
+                    ", rejected=" + rejectedCount +
+                    ", failed=" + failedCount +
+                    ", nextOffset=" + nextOffset +
+                    '}';
+        }
+    }
+}
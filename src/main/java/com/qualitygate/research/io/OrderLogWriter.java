@@ -0,0 +1,94 @@
+package com.qualitygate.research.io;
+
+import com.qualitygate.research.domain.Order;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.qualitygate.research.io.OrderLogFormat.*;
+
+/**
+ * Appends orders to a binary order log (see {@link OrderLogFormat}).
+ *
+ * Creates the file with a header if it does not exist, otherwise appends after the last
+ * complete record. A partially written record left at the end by a crash is truncated away
+ * first, so records appended afterwards can be replayed; a record with a damaged length fails the
+ * open instead, leaving the file as it is. Not thread-safe; use one writer per log.
+ */
+public class OrderLogWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final OrderLogEncoder encoder = new OrderLogEncoder();
+
+    private OrderLogWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a log for appending, creating it if needed.
+     *
+     * @throws IOException if the file cannot be opened, is not an order log or holds a corrupt record
+     */
+    public static OrderLogWriter open(Path log) throws IOException {
+        FileChannel channel = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+                header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).flip();
+                writeFully(channel, header, 0L);
+            } else {
+                OrderLogReplayer.checkHeader(channel);
+                long end = OrderLogReplayer.endOfCompleteRecords(channel);
+                if (end < channel.size()) {
+                    channel.truncate(end);
+                }
+            }
+            channel.position(channel.size());
+            return new OrderLogWriter(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends one order.
+     *
+     * @param order The order to append
+     * @return The byte offset of the record, usable as a replay start point
+     * @throws IllegalArgumentException if the order is null or a unit price has no long/byte-scale form
+     * @throws IOException if writing fails
+     */
+    public long append(Order order) throws IOException {
+        ByteBuffer record = encoder.encode(order);
+
+        long offset = channel.position();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        return offset;
+    }
+
+    /**
+     * Forces appended records to the storage device.
+     */
+    public void sync() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        while (data.hasRemaining()) {
+            position += channel.write(data, position);
+        }
+    }
+}
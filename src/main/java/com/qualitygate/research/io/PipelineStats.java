@@ -0,0 +1,65 @@
+package com.qualitygate.research.io;
+
+/**
+ * Progress of a streaming pricing run: counts so far and the derived throughput.
+ */
+public final class PipelineStats {
+
+    private final long ordersRead;
+    private final long ordersPriced;
+    private final long ordersRejected;
+    private final long malformedLines;
+    private final long bytesRead;
+    private final long elapsedNanos;
+
+    public PipelineStats(long ordersRead, long ordersPriced, long ordersRejected, long malformedLines,
+                         long bytesRead, long elapsedNanos) {
+        this.ordersRead = ordersRead;
+        this.ordersPriced = ordersPriced;
+        this.ordersRejected = ordersRejected;
+        this.malformedLines = malformedLines;
+        this.bytesRead = bytesRead;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Non-blank lines read, including malformed ones.
+     */
+    public long getOrdersRead() {
+        return ordersRead;
+    }
+
+    public long getOrdersPriced() {
+        return ordersPriced;
+    }
+
+    public long getOrdersRejected() {
+        return ordersRejected;
+    }
+
+    public long getMalformedLines() {
+        return malformedLines;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getOrdersPerSecond() {
+        return elapsedNanos > 0 ? ordersRead * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+
+    public double getMegabytesPerSecond() {
+        return elapsedNanos > 0 ? bytesRead * 1_000_000_000.0 / elapsedNanos / (1024.0 * 1024.0) : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PipelineStats{read=%d, priced=%d, rejected=%d, malformed=%d, %.0f orders/s, %.2f MB/s}",
+                ordersRead, ordersPriced, ordersRejected, malformedLines, getOrdersPerSecond(), getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,76 @@
+package com.qualitygate.research.io;
+
+import com.qualitygate.research.domain.User;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * JSON mapping for users.
+ *
+ * <pre>
+ * {"userId":7,"username":"alice","email":"alice@example.com","active":true}
+ * </pre>
+ *
+ * Missing fields map to null (or false for {@code active}); the service decides whether
+ * the values are acceptable. Fields of the wrong JSON type are malformed input.
+ */
+public final class UserJsonCodec {
+
+    private UserJsonCodec() {
+    }
+
+    /**
+     * Maps an already parsed JSON object to a user.
+     *
+     * @throws IllegalArgumentException if a field has the wrong type
+     */
+    public static User toUser(Map<String, Object> object) {
+        User user = new User(longField(object, "userId"), stringField(object, "username"),
+                stringField(object, "email"));
+        Object active = object.get("active");
+        if (active != null && !(active instanceof Boolean)) {
+            throw new IllegalArgumentException("Field 'active' must be a boolean");
+        }
+        user.setActive(Boolean.TRUE.equals(active));
+        return user;
+    }
+
+    /**
+     * Reads a string field.
+     *
+     * @throws IllegalArgumentException if the field is present but not a string
+     */
+    public static String stringField(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException("Field '" + name + "' must be a string");
+        }
+        return (String) value;
+    }
+
+    private static Long longField(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof BigDecimal)) {
+            throw new IllegalArgumentException("Field '" + name + "' must be an integer");
+        }
+        try {
+            return ((BigDecimal) value).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Field '" + name + "' must be an integer");
+        }
+    }
+
+    /**
+     * Writes a user.
+     */
+    public static StringBuilder appendUser(StringBuilder out, User user) {
+        out.append("{\"userId\":").append(user.getUserId()).append(",\"username\":");
+        Json.appendString(out, user.getUsername()).append(",\"email\":");
+        Json.appendString(out, user.getEmail()).append(",\"active\":").append(user.isActive());
+        return out.append('}');
+    }
+}
@@ -0,0 +1,233 @@
+package com.qualitygate.research.load;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Shape of the synthetic traffic an {@link OpenLoopLoadGenerator} sends.
+ *
+ * Orders get a uniform number of items and a total quantity drawn from weighted bands between
+ * quantity thresholds. The default thresholds are the 10/50/100 volume discount tiers. Unit prices
+ * are uniform in whole cents. A share of orders comes from premium customers. The rest of the
+ * traffic is user creation and user email updates, in the proportions of the operation mix.
+ *
+ * Premium customers are drawn as IDs divisible by 100, matching the default
+ * {@code CustomerTierResolver}. The defaults model a mostly small-order workload.
+ */
+public class LoadProfile {
+
+    private int minItemsPerOrder = 1;
+    private int maxItemsPerOrder = 5;
+    private int[] quantityThresholds = {10, 50, 100};
+    private double[] quantityBandWeights = {0.55, 0.25, 0.12, 0.08};
+    private double premiumCustomerShare = 0.10;
+    private long minUnitPriceCents = 100L;
+    private long maxUnitPriceCents = 20_000L;
+    private int customerCount = 10_000;
+    private int productCount = 1_000;
+    private double orderWeight = 0.90;
+    private double userCreateWeight = 0.07;
+    private double userUpdateWeight = 0.03;
+    private long seed = 42L;
+
+    /**
+     * @throws IllegalArgumentException if the minimum is below 1 or above the maximum
+     */
+    public LoadProfile setItemsPerOrder(int min, int max) {
+        if (min < 1 || min > max) {
+            throw new IllegalArgumentException("Items per order must satisfy 1 <= min <= max");
+        }
+        this.minItemsPerOrder = min;
+        this.maxItemsPerOrder = max;
+        return this;
+    }
+
+    /**
+     * Sets how an order's total quantity is chosen. Band 0 covers quantities below the first
+     * threshold. Band i covers quantities from threshold i-1 up to, but not including, threshold
+     * i. The last band runs from the last threshold to twice that value.
+     *
+     * @param thresholds Strictly ascending quantity thresholds, the first above 1
+     * @param weights One non-negative weight per band ({@code thresholds.length + 1}), not all zero
+     * @throws IllegalArgumentException if the arrays do not fit that description
+     */
+    public LoadProfile setQuantityBands(int[] thresholds, double[] weights) {
+        if (thresholds == null || weights == null || thresholds.length == 0) {
+            throw new IllegalArgumentException("Quantity thresholds and weights are required");
+        }
+        if (weights.length != thresholds.length + 1) {
+            throw new IllegalArgumentException("Expected one weight per quantity band (" + (thresholds.length + 1) + ")");
+        }
+        for (int i = 0; i < thresholds.length; i++) {
+            if (thresholds[i] <= (i == 0 ? 1 : thresholds[i - 1]) || thresholds[i] > Integer.MAX_VALUE / 2) {
+                throw new IllegalArgumentException("Quantity thresholds must be strictly ascending and above 1");
+            }
+        }
+        checkWeights(weights);
+        this.quantityThresholds = thresholds.clone();
+        this.quantityBandWeights = weights.clone();
+        return this;
+    }
+
+    /**
+     * @param share Fraction of orders placed by premium customers, between 0 and 1
+     */
+    public LoadProfile setPremiumCustomerShare(double share) {
+        if (!(share >= 0.0 && share <= 1.0)) {
+            throw new IllegalArgumentException("Premium customer share must be between 0 and 1");
+        }
+        this.premiumCustomerShare = share;
+        return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a price is null, negative, finer than a cent or the range is inverted
+     */
+    public LoadProfile setUnitPriceRange(BigDecimal min, BigDecimal max) {
+        if (min == null || max == null) {
+            throw new IllegalArgumentException("Unit prices cannot be null");
+        }
+        long minCents = toCents(min);
+        long maxCents = toCents(max);
+        if (minCents < 0 || minCents > maxCents) {
+            throw new IllegalArgumentException("Unit price range must satisfy 0 <= min <= max");
+        }
+        this.minUnitPriceCents = minCents;
+        this.maxUnitPriceCents = maxCents;
+        return this;
+    }
+
+    /**
+     * @param customerCount Number of distinct customers of each tier
+     */
+    public LoadProfile setCustomerCount(int customerCount) {
+        if (customerCount < 1 || customerCount > Integer.MAX_VALUE / 100) {
+            throw new IllegalArgumentException("Customer count must be between 1 and " + Integer.MAX_VALUE / 100);
+        }
+        this.customerCount = customerCount;
+        return this;
+    }
+
+    public LoadProfile setProductCount(int productCount) {
+        if (productCount < 1) {
+            throw new IllegalArgumentException("Product count must be positive");
+        }
+        this.productCount = productCount;
+        return this;
+    }
+
+    /**
+     * Relative weights of the operations; they need not add up to 1.
+     *
+     * @throws IllegalArgumentException if a weight is negative or all are zero
+     */
+    public LoadProfile setOperationMix(double orders, double userCreates, double userUpdates) {
+        checkWeights(new double[]{orders, userCreates, userUpdates});
+        this.orderWeight = orders;
+        this.userCreateWeight = userCreates;
+        this.userUpdateWeight = userUpdates;
+        return this;
+    }
+
+    /**
+     * Seed for the random streams, so runs with the same settings send the same kinds of traffic.
+     */
+    public LoadProfile setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getMinItemsPerOrder() {
+        return minItemsPerOrder;
+    }
+
+    public int getMaxItemsPerOrder() {
+        return maxItemsPerOrder;
+    }
+
+    public int[] getQuantityThresholds() {
+        return quantityThresholds.clone();
+    }
+
+    public double[] getQuantityBandWeights() {
+        return quantityBandWeights.clone();
+    }
+
+    public double getPremiumCustomerShare() {
+        return premiumCustomerShare;
+    }
+
+    public BigDecimal getMinUnitPrice() {
+        return BigDecimal.valueOf(minUnitPriceCents, 2);
+    }
+
+    public BigDecimal getMaxUnitPrice() {
+        return BigDecimal.valueOf(maxUnitPriceCents, 2);
+    }
+
+    public int getCustomerCount() {
+        return customerCount;
+    }
+
+    public int getProductCount() {
+        return productCount;
+    }
+
+    public double getOrderWeight() {
+        return orderWeight;
+    }
+
+    public double getUserCreateWeight() {
+        return userCreateWeight;
+    }
+
+    public double getUserUpdateWeight() {
+        return userUpdateWeight;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadProfile{" +
+                "itemsPerOrder=" + minItemsPerOrder + ".." + maxItemsPerOrder +
+                ", quantityThresholds=" + Arrays.toString(quantityThresholds) +
+                ", quantityBandWeights=" + Arrays.toString(quantityBandWeights) +
+                ", premiumCustomerShare=" + premiumCustomerShare +
+                ", unitPrice=" + getMinUnitPrice() + ".." + getMaxUnitPrice() +
+                ", operationMix=" + orderWeight + "/" + userCreateWeight + "/" + userUpdateWeight +
+                '}';
+    }
+
+    long getMinUnitPriceCents() {
+        return minUnitPriceCents;
+    }
+
+    long getMaxUnitPriceCents() {
+        return maxUnitPriceCents;
+    }
+
+    private static void checkWeights(double[] weights) {
+        double total = 0.0;
+        for (double weight : weights) {
+            if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative");
+            }
+            total += weight;
+        }
+        if (total <= 0.0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        try {
+            return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Unit price must be a whole number of cents: " + amount);
+        }
+    }
+}
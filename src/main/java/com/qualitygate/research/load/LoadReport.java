@@ -0,0 +1,103 @@
+package com.qualitygate.research.load;
+
+import com.qualitygate.research.metrics.HistogramSnapshot;
+
+/**
+ * Outcome of an {@link OpenLoopLoadGenerator} run.
+ *
+ * {@link #getLatency()} measures each request from the time the schedule intended to send it,
+ * so time spent waiting behind slow requests counts. That corrects for coordinated omission,
+ * which a from-send-time measurement would hide. {@link #getServiceTime()} measures from the
+ * actual send. A wide gap between the two means the controllers could not keep up with the
+ * target rate.
+ */
+public final class LoadReport {
+
+    private final double targetRate;
+    private final long elapsedNanos;
+    private final long[] operationCounts;
+    private final long rejectedCount;
+    private final long failedCount;
+    private final HistogramSnapshot latency;
+    private final HistogramSnapshot serviceTime;
+
+    LoadReport(double targetRate, long elapsedNanos, long[] operationCounts, long rejectedCount, long failedCount,
+               HistogramSnapshot latency, HistogramSnapshot serviceTime) {
+        this.targetRate = targetRate;
+        this.elapsedNanos = elapsedNanos;
+        this.operationCounts = operationCounts;
+        this.rejectedCount = rejectedCount;
+        this.failedCount = failedCount;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+    }
+
+    /**
+     * Requested rate, in operations per second.
+     */
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Completed operations per second over the run.
+     */
+    public double getThroughput() {
+        return elapsedNanos > 0 ? getCompletedCount() * 1e9 / elapsedNanos : 0.0;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getCompletedCount() {
+        long total = 0L;
+        for (long count : operationCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getCount(SyntheticTraffic.Operation operation) {
+        return operationCounts[operation.ordinal()];
+    }
+
+    /**
+     * Operations the controllers turned down, such as invalid orders or duplicate users.
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Operations that threw.
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * Response time from the intended send time, in nanoseconds.
+     */
+    public HistogramSnapshot getLatency() {
+        return latency;
+    }
+
+    /**
+     * Response time from the actual send time, in nanoseconds.
+     */
+    public HistogramSnapshot getServiceTime() {
+        return serviceTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LoadReport{target=%.0f/s, throughput=%.0f/s, completed=%d, rejected=%d, failed=%d, "
+                        + "latency us: p50=%.1f p99=%.1f p99.9=%.1f max=%.1f, service us: p50=%.1f p99=%.1f p99.9=%.1f}",
+                targetRate, getThroughput(), getCompletedCount(), rejectedCount, failedCount,
+                latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                latency.getValueAtPercentile(99.9) / 1e3, latency.getMax() / 1e3,
+                serviceTime.getValueAtPercentile(50) / 1e3, serviceTime.getValueAtPercentile(99) / 1e3,
+                serviceTime.getValueAtPercentile(99.9) / 1e3);
+    }
+}
@@ -0,0 +1,209 @@
+package com.qualitygate.research.load;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.controller.OrderController;
+import com.qualitygate.research.controller.UserController;
+import com.qualitygate.research.domain.User;
+import com.qualitygate.research.metrics.LatencyHistogram;
+import com.qualitygate.research.service.OrderService;
+import com.qualitygate.research.service.UserService;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for {@link OrderController} and {@link UserController}.
+ *
+ * Requests follow a fixed schedule at the target rate, whatever the response times. Request i
+ * is due at {@code start + i / rate}. Worker threads take the next due request, wait for its
+ * time if it is early, and send it. When the controllers fall behind, requests start late. Each
+ * request's latency is measured from its due time, so the queueing delay is reported as a
+ * client at that rate would see it (see {@link LoadReport}).
+ *
+ * Traffic is synthesised from a {@link LoadProfile}. Each worker remembers the users it created
+ * and sends email updates for them, or creates a user when it has none yet.
+ */
+public class OpenLoopLoadGenerator {
+
+    private static final int RECENT_USERS = 256;
+    private static final long SPIN_THRESHOLD_NANOS = 50_000L;
+
+    private final OrderController orderController;
+    private final UserController userController;
+    private final LoadProfile profile;
+    private final SyntheticTraffic traffic;
+
+    /**
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public OpenLoopLoadGenerator(OrderController orderController, UserController userController, LoadProfile profile) {
+        if (orderController == null || userController == null) {
+            throw new IllegalArgumentException("Controllers cannot be null");
+        }
+        if (profile == null) {
+            throw new IllegalArgumentException("LoadProfile cannot be null");
+        }
+        this.orderController = orderController;
+        this.userController = userController;
+        this.profile = profile;
+        this.traffic = new SyntheticTraffic(profile);
+    }
+
+    /**
+     * Runs the load and waits for every scheduled request to complete.
+     *
+     * @param ratePerSecond Target rate, in requests per second
+     * @param duration How long to keep scheduling requests
+     * @param threads Worker threads; enough are needed to cover the rate times the response time
+     * @return Throughput, outcome counts and latency distributions
+     * @throws IllegalArgumentException if the rate, duration or thread count is not positive
+     */
+    public LoadReport run(double ratePerSecond, Duration duration, int threads) {
+        if (!(ratePerSecond > 0.0) || Double.isInfinite(ratePerSecond)) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+
+        long total = Math.max(1L, (long) (ratePerSecond * duration.toNanos() / 1e9));
+        double intervalNanos = 1e9 / ratePerSecond;
+        Run run = new Run(total, intervalNanos);
+
+        SplittableRandom seeds = new SplittableRandom(profile.getSeed());
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom random = seeds.split();
+            workers[i] = new Thread(() -> work(run, random), "load-generator-" + (i + 1));
+            workers[i].setDaemon(true);
+        }
+
+        run.start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        long[] counts = new long[run.operationCounts.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = run.operationCounts.get(i);
+        }
+        return new LoadReport(ratePerSecond, System.nanoTime() - run.start, counts, run.rejected.sum(),
+                run.failed.sum(), run.latency.snapshot(), run.serviceTime.snapshot());
+    }
+
+    /**
+     * Runs a load against in-process controllers with the default configuration and prints the report.
+     * Arguments: rate per second (default 10000), seconds (default 10), threads (default 4).
+     */
+    public static void main(String[] args) {
+        double rate = args.length > 0 ? Double.parseDouble(args[0]) : 10_000;
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 10;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(
+                new OrderController(new OrderService(new DiscountConfiguration())),
+                new UserController(new UserService()), new LoadProfile());
+        System.out.println(generator.run(rate, Duration.ofSeconds(seconds), threads));
+    }
+
+    private void work(Run run, SplittableRandom random) {
+        User[] recentUsers = new User[RECENT_USERS];
+        int userCount = 0;
+
+        long index;
+        while ((index = run.next.getAndIncrement()) < run.total) {
+            long due = run.start + (long) (index * run.intervalNanos);
+            awaitNanoTime(due);
+
+            SyntheticTraffic.Operation operation = traffic.nextOperation(random);
+            if (operation == SyntheticTraffic.Operation.UPDATE_USER_EMAIL && userCount == 0) {
+                operation = SyntheticTraffic.Operation.CREATE_USER;
+            }
+
+            long sent = System.nanoTime();
+            try {
+                boolean accepted;
+                switch (operation) {
+                    case ORDER:
+                        accepted = orderController.processOrder(traffic.nextOrder(index, random)) != null;
+                        break;
+                    case CREATE_USER:
+                        User user = userController.createUser("load-user-" + index, "load-user-" + index + "@load.example");
+                        accepted = user != null;
+                        if (accepted) {
+                            recentUsers[userCount++ % RECENT_USERS] = user;
+                        }
+                        break;
+                    default:
+                        User target = recentUsers[random.nextInt(Math.min(userCount, RECENT_USERS))];
+                        accepted = userController.updateUserEmail(target, "load-update-" + index + "@load.example");
+                        break;
+                }
+                if (!accepted) {
+                    run.rejected.increment();
+                }
+            } catch (RuntimeException e) {
+                run.failed.increment();
+            }
+
+            long done = System.nanoTime();
+            run.latency.record(done - due);
+            run.serviceTime.record(done - sent);
+            run.operationCounts.incrementAndGet(operation.ordinal());
+        }
+    }
+
+    /**
+     * Parks until close to the deadline, then spins, since parking overshoots by tens of microseconds.
+     */
+    private static void awaitNanoTime(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * State shared by the workers of one run.
+     */
+    private static final class Run {
+        final long total;
+        final double intervalNanos;
+        final AtomicLong next = new AtomicLong();
+        final AtomicLongArray operationCounts = new AtomicLongArray(SyntheticTraffic.Operation.values().length);
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LatencyHistogram serviceTime = new LatencyHistogram();
+        volatile long start;
+
+        Run(long total, double intervalNanos) {
+            this.total = total;
+            this.intervalNanos = intervalNanos;
+        }
+    }
+}
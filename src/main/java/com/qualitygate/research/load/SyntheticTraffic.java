@@ -0,0 +1,128 @@
+package com.qualitygate.research.load;
+
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+/**
+ * Samples orders and operations following a {@link LoadProfile}.
+ *
+ * The profile's settings are copied at construction. Sampling keeps no mutable state, so
+ * threads may share an instance as long as each passes its own random source.
+ */
+public final class SyntheticTraffic {
+
+    /**
+     * Kinds of request sent to the controllers.
+     */
+    public enum Operation {
+        ORDER, CREATE_USER, UPDATE_USER_EMAIL
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final int minItems;
+    private final int maxItems;
+    private final int[] bandLower;
+    private final int[] bandUpper;
+    private final double[] bandCumulative;
+    private final double premiumShare;
+    private final long minPriceCents;
+    private final long maxPriceCents;
+    private final int customerCount;
+    private final String[] productIds;
+    private final double[] operationCumulative;
+
+    public SyntheticTraffic(LoadProfile profile) {
+        if (profile == null) {
+            throw new IllegalArgumentException("LoadProfile cannot be null");
+        }
+        this.minItems = profile.getMinItemsPerOrder();
+        this.maxItems = profile.getMaxItemsPerOrder();
+        this.premiumShare = profile.getPremiumCustomerShare();
+        this.minPriceCents = profile.getMinUnitPriceCents();
+        this.maxPriceCents = profile.getMaxUnitPriceCents();
+        this.customerCount = profile.getCustomerCount();
+
+        int[] thresholds = profile.getQuantityThresholds();
+        int bands = thresholds.length + 1;
+        this.bandLower = new int[bands];
+        this.bandUpper = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            bandLower[band] = band == 0 ? 1 : thresholds[band - 1];
+            bandUpper[band] = band < thresholds.length ? thresholds[band] - 1 : thresholds[band - 1] * 2;
+        }
+        this.bandCumulative = cumulative(profile.getQuantityBandWeights());
+
+        this.productIds = new String[profile.getProductCount()];
+        for (int i = 0; i < productIds.length; i++) {
+            productIds[i] = "SKU-" + i;
+        }
+        this.operationCumulative = cumulative(new double[]{
+                profile.getOrderWeight(), profile.getUserCreateWeight(), profile.getUserUpdateWeight()});
+    }
+
+    /**
+     * Picks the next operation according to the operation mix.
+     */
+    public Operation nextOperation(SplittableRandom random) {
+        return OPERATIONS[pick(operationCumulative, random)];
+    }
+
+    /**
+     * Builds an order whose total quantity falls in a randomly chosen band. An order never has
+     * more items than units, so small quantities may shrink the item count below the minimum.
+     */
+    public Order nextOrder(long orderId, SplittableRandom random) {
+        Order order = new Order(orderId, nextCustomerId(random));
+
+        int band = pick(bandCumulative, random);
+        int quantity = random.nextInt(bandLower[band], bandUpper[band] + 1);
+        int items = Math.min(random.nextInt(minItems, maxItems + 1), quantity);
+
+        // Every item gets one unit; the rest are spread at random, the last item taking what is left
+        int remaining = quantity - items;
+        for (int i = 0; i < items; i++) {
+            int extra = i == items - 1 ? remaining : random.nextInt(remaining / (items - i) * 2 + 1);
+            extra = Math.min(extra, remaining);
+            remaining -= extra;
+            long cents = random.nextLong(minPriceCents, maxPriceCents + 1);
+            order.addItem(new OrderItem(productIds[random.nextInt(productIds.length)], 1 + extra,
+                    BigDecimal.valueOf(cents, 2)));
+        }
+        return order;
+    }
+
+    /**
+     * Draws a customer ID; premium customers have IDs divisible by 100, others never do.
+     */
+    public long nextCustomerId(SplittableRandom random) {
+        long base = 100L * (1 + random.nextInt(customerCount));
+        return random.nextDouble() < premiumShare ? base : base + 1 + random.nextInt(99);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double total = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (r < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+}
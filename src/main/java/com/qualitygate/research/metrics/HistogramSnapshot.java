@@ -0,0 +1,78 @@
+package com.qualitygate.research.metrics;
+
+/**
+ * Immutable copy of a {@link LatencyHistogram}.
+ *
+ * Percentiles report the upper bound of the bucket holding the requested rank, capped at the
+ * largest recorded value, so they never understate.
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long totalCount;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long sum, long max) {
+        this.counts = counts;
+        long total = 0L;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return totalCount > 0 ? (double) sum / totalCount : 0.0;
+    }
+
+    /**
+     * @param percentile A percentile between 0 and 100
+     * @return The value at or below which the given percentage of values fall, or 0 if empty
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0 || Double.isNaN(percentile)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (totalCount == 0) {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + totalCount +
+                ", mean=" + String.format("%.1f", getMean()) +
+                ", p50=" + getValueAtPercentile(50) +
+                ", p99=" + getValueAtPercentile(99) +
+                ", p999=" + getValueAtPercentile(99.9) +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,80 @@
+package com.qualitygate.research.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of non-negative long values (typically nanoseconds).
+ *
+ * Values below {@value #LINEAR_LIMIT} get their own bucket; above that, every power of two
+ * is split into {@value #SUB_BUCKETS} buckets, so a recorded value is off by at most ~3%.
+ * Recording is a single atomic increment plus striped sum and max updates, and never blocks.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - (SUB_BUCKET_BITS + 1)) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records one value. Negative values are recorded as zero.
+     */
+    public void record(long value) {
+        long v = Math.max(value, 0L);
+        counts.incrementAndGet(bucketIndex(v));
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * Copies the current counts. Concurrent recording may or may not be included.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new HistogramSnapshot(copy, sum.sum(), max.get());
+    }
+
+    /**
+     * Clears all counts. Values recorded concurrently with the reset may be partially kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0L);
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Largest value that maps to the bucket.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKETS + 1;
+        long mantissa = SUB_BUCKETS + offset % SUB_BUCKETS;
+        long upper = ((mantissa + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
@@ -0,0 +1,77 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.domain.User;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Service Layer - BulkUserCreationResult
+ *
+ * Outcome of {@link UserService#createUsers}: the users that were created, in input order,
+ * and one rejection per refused request, identified by its position in the input.
+ */
+public final class BulkUserCreationResult {
+
+    private final List<User> createdUsers;
+    private final List<Rejection> rejections;
+
+    BulkUserCreationResult(List<User> createdUsers, List<Rejection> rejections) {
+        this.createdUsers = Collections.unmodifiableList(createdUsers);
+        this.rejections = Collections.unmodifiableList(rejections);
+    }
+
+    public List<User> getCreatedUsers() {
+        return createdUsers;
+    }
+
+    public List<Rejection> getRejections() {
+        return rejections;
+    }
+
+    public int getCreatedCount() {
+        return createdUsers.size();
+    }
+
+    public int getRejectedCount() {
+        return rejections.size();
+    }
+
+    @Override
+    public String toString() {
+        return "BulkUserCreationResult{" +
+                "created=" + createdUsers.size() +
+                ", rejected=" + rejections.size() +
+                '}';
+    }
+
+    /**
+     * A refused request and why it was refused.
+     */
+    public static final class Rejection {
+
+        private final int index;
+        private final UserRejectionReason reason;
+
+        Rejection(int index, UserRejectionReason reason) {
+            this.index = index;
+            this.reason = reason;
+        }
+
+        /**
+         * Position of the request in the input.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public UserRejectionReason getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "Rejection{index=" + index + ", reason=" + reason + '}';
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.qualitygate.research.service;
+
+/**
+ * Service Layer - CustomerTierResolver
+ *
+ * Decides which customers get the premium customer discount. Called once per priced order,
+ * so implementations should answer without allocating.
+ */
+public interface CustomerTierResolver {
+
+    /**
+     * The original business rule: customer IDs divisible by 100 are premium customers.
+     */
+    CustomerTierResolver DIVISIBLE_BY_100 = customerId -> (customerId % 100) == 0;
+
+    boolean isPremium(long customerId);
+}
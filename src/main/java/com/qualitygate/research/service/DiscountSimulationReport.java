@@ -0,0 +1,155 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Service Layer - DiscountSimulationReport
+ *
+ * Outcome of {@link DiscountSimulator}: the orders' total subtotal, and for the baseline and each
+ * candidate configuration the total discount and revenue those orders would have produced.
+ * Candidates report their deltas against the baseline; a positive revenue delta means the
+ * candidate gives away less.
+ */
+public final class DiscountSimulationReport {
+
+    private final long orderCount;
+    private final long skippedCount;
+    private final long subtotalCents;
+    private final ScenarioOutcome baseline;
+    private final List<ScenarioOutcome> candidates;
+
+    DiscountSimulationReport(DiscountConfiguration baselineConfiguration, List<DiscountConfiguration> candidateConfigurations,
+                             long orderCount, long skippedCount, long subtotalCents,
+                             long[] discountCents, long[] discountedCounts) {
+        this.orderCount = orderCount;
+        this.skippedCount = skippedCount;
+        this.subtotalCents = subtotalCents;
+        this.baseline = new ScenarioOutcome(baselineConfiguration, subtotalCents, discountCents[0],
+                discountedCounts[0], discountCents[0]);
+
+        List<ScenarioOutcome> outcomes = new ArrayList<>(candidateConfigurations.size());
+        for (int i = 0; i < candidateConfigurations.size(); i++) {
+            outcomes.add(new ScenarioOutcome(candidateConfigurations.get(i), subtotalCents, discountCents[i + 1],
+                    discountedCounts[i + 1], discountCents[0]));
+        }
+        this.candidates = Collections.unmodifiableList(outcomes);
+    }
+
+    /**
+     * Number of orders simulated.
+     */
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Number of invalid orders, or orders too large for long cents, that were left out.
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Sum of the order subtotals, the same under every configuration.
+     */
+    public BigDecimal getTotalSubtotal() {
+        return BigDecimal.valueOf(subtotalCents, 2);
+    }
+
+    /**
+     * The service's configuration at the time of the simulation.
+     */
+    public ScenarioOutcome getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * One outcome per candidate, in the order the candidates were given.
+     */
+    public List<ScenarioOutcome> getCandidates() {
+        return candidates;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscountSimulationReport{" +
+                "orders=" + orderCount +
+                ", skipped=" + skippedCount +
+                ", subtotal=" + getTotalSubtotal() +
+                ", baselineDiscount=" + baseline.getTotalDiscount() +
+                ", candidates=" + candidates.size() +
+                '}';
+    }
+
+    /**
+     * Totals under one configuration.
+     */
+    public static final class ScenarioOutcome {
+
+        private final DiscountConfiguration configuration;
+        private final long subtotalCents;
+        private final long discountCents;
+        private final long discountedOrderCount;
+        private final long baselineDiscountCents;
+
+        ScenarioOutcome(DiscountConfiguration configuration, long subtotalCents, long discountCents,
+                        long discountedOrderCount, long baselineDiscountCents) {
+            this.configuration = configuration;
+            this.subtotalCents = subtotalCents;
+            this.discountCents = discountCents;
+            this.discountedOrderCount = discountedOrderCount;
+            this.baselineDiscountCents = baselineDiscountCents;
+        }
+
+        public DiscountConfiguration getConfiguration() {
+            return configuration;
+        }
+
+        public BigDecimal getTotalDiscount() {
+            return BigDecimal.valueOf(discountCents, 2);
+        }
+
+        /**
+         * Sum of the order totals, after discounts.
+         */
+        public BigDecimal getTotalRevenue() {
+            return BigDecimal.valueOf(subtotalCents - discountCents, 2);
+        }
+
+        /**
+         * Number of orders that get any discount.
+         */
+        public long getDiscountedOrderCount() {
+            return discountedOrderCount;
+        }
+
+        /**
+         * Discount minus the baseline discount.
+         */
+        public BigDecimal getDiscountDelta() {
+            return BigDecimal.valueOf(discountCents - baselineDiscountCents, 2);
+        }
+
+        /**
+         * Revenue minus the baseline revenue.
+         */
+        public BigDecimal getRevenueDelta() {
+            return BigDecimal.valueOf(baselineDiscountCents - discountCents, 2);
+        }
+
+        @Override
+        public String toString() {
+            return "ScenarioOutcome{" +
+                    "revenue=" + getTotalRevenue() +
+                    ", discount=" + getTotalDiscount() +
+                    ", revenueDelta=" + getRevenueDelta() +
+                    ", discountedOrders=" + discountedOrderCount +
+                    '}';
+        }
+    }
+}
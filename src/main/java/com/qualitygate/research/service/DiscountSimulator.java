@@ -0,0 +1,299 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.DiscountConfigurationHolder;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Service Layer - DiscountSimulator
+ *
+ * What-if pricing: the revenue and discount historical orders would have produced under each of
+ * a set of candidate {@link DiscountConfiguration}s, compared with the configuration the
+ * {@link OrderService} currently uses.
+ *
+ * The data is read once. Each order's subtotal, total quantity and customer tier are computed a
+ * single time into columns of {@value #SIMULATION_BLOCK} orders. Every candidate is then evaluated
+ * over the block, through {@link FixedPointPricingEngine}'s columnar discount kernel, while the
+ * block is still in cache. Chunks of orders are simulated in parallel and their totals merged.
+ * Discounts are exactly those {@link OrderService#calculateOrderTotal(Order)} would give; a
+ * candidate with rates the kernel cannot represent is evaluated with BigDecimal.
+ */
+public class DiscountSimulator {
+
+    private static final int SIMULATION_TASKS_PER_WORKER = 4;
+
+    /**
+     * Below this many orders per task, splitting costs more than the merge saves.
+     */
+    private static final int MIN_SIMULATION_CHUNK = 4096;
+
+    /**
+     * Orders whose columns are evaluated against every candidate in one go.
+     */
+    static final int SIMULATION_BLOCK = 1024;
+
+    private final OrderService orderService;
+    private final List<DiscountConfiguration> candidates;
+    private final Scenario[] candidateScenarios;
+
+    /**
+     * @param orderService The service whose current configuration is the baseline, and whose
+     *        validation and customer tiers apply to every candidate
+     * @param candidates The configurations to evaluate
+     * @throws IllegalArgumentException if the service is null or the candidate list is null, empty or has a null entry
+     */
+    public DiscountSimulator(OrderService orderService, List<DiscountConfiguration> candidates) {
+        if (orderService == null) {
+            throw new IllegalArgumentException("OrderService cannot be null");
+        }
+        if (candidates == null || candidates.isEmpty()) {
+            throw new IllegalArgumentException("At least one candidate configuration is required");
+        }
+        this.orderService = orderService;
+        this.candidates = new ArrayList<>(candidates);
+        this.candidateScenarios = new Scenario[this.candidates.size()];
+        for (int i = 0; i < candidateScenarios.length; i++) {
+            if (this.candidates.get(i) == null) {
+                throw new IllegalArgumentException("Candidate configuration cannot be null");
+            }
+            candidateScenarios[i] = new Scenario(this.candidates.get(i), orderService.getCustomerTierResolver());
+        }
+    }
+
+    /**
+     * Simulates the candidates using the common fork-join pool.
+     *
+     * @param orders The historical orders
+     * @return Totals for the baseline and each candidate
+     * @throws IllegalArgumentException if the collection is null
+     * @see #simulate(Collection, ForkJoinPool)
+     */
+    public DiscountSimulationReport simulate(Collection<Order> orders) {
+        return simulate(orders, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Simulates the candidates, splitting the orders into chunks simulated in parallel on the pool.
+     * Orders are read, never modified. Orders that fail {@link OrderService#validateOrder(Order)},
+     * or whose subtotal does not fit in long cents, are counted as skipped.
+     *
+     * @param orders The historical orders
+     * @param pool The pool to simulate on
+     * @return Totals for the baseline and each candidate
+     * @throws IllegalArgumentException if the collection or pool is null
+     */
+    public DiscountSimulationReport simulate(Collection<Order> orders, ForkJoinPool pool) {
+        if (orders == null) {
+            throw new IllegalArgumentException("Order collection cannot be null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool cannot be null");
+        }
+
+        DiscountConfiguration baseline = orderService.getDiscountConfigurationHolder().current();
+        Scenario[] scenarios = new Scenario[candidateScenarios.length + 1];
+        scenarios[0] = new Scenario(baseline, orderService.getCustomerTierResolver());
+        System.arraycopy(candidateScenarios, 0, scenarios, 1, candidateScenarios.length);
+
+        Order[] batch = orders.toArray(new Order[0]);
+        int threshold = Math.max(MIN_SIMULATION_CHUNK, batch.length / (pool.getParallelism() * SIMULATION_TASKS_PER_WORKER));
+        Totals totals = pool.invoke(new SimulationTask(batch, scenarios, 0, batch.length, threshold));
+        return new DiscountSimulationReport(baseline, candidates, totals.orderCount, totals.skippedCount,
+                totals.subtotalCents, totals.discountCents, totals.discountedCounts);
+    }
+
+    public List<DiscountConfiguration> getCandidates() {
+        return new ArrayList<>(candidates);
+    }
+
+    /**
+     * Simulates a contiguous range of orders, a block of columns at a time.
+     */
+    private Totals simulateRange(Order[] batch, Scenario[] scenarios, int from, int to) {
+        Totals totals = new Totals(scenarios.length);
+        CustomerTierResolver resolver = orderService.getCustomerTierResolver();
+        int blockSize = Math.min(SIMULATION_BLOCK, to - from);
+        Block block = new Block(blockSize);
+
+        for (int i = from; i < to; i++) {
+            Order order = batch[i];
+            if (!orderService.validateOrder(order)) {
+                totals.skippedCount++;
+                continue;
+            }
+
+            long subtotal = 0L;
+            int totalQuantity = 0;
+            try {
+                for (int j = 0; j < order.itemCount(); j++) {
+                    OrderItem item = order.itemAt(j);
+                    subtotal = Math.addExact(subtotal, FixedPointPricingEngine.lineTotalCents(item.getUnitPrice(), item.getQuantity()));
+                    totalQuantity += item.getQuantity();
+                }
+            } catch (ArithmeticException e) {
+                totals.skippedCount++;
+                continue;
+            }
+
+            int row = block.count++;
+            block.subtotals[row] = subtotal;
+            block.quantities[row] = totalQuantity;
+            block.customerIds[row] = order.getCustomerId();
+            block.premium[row] = resolver.isPremium(order.getCustomerId());
+            if (block.count == blockSize) {
+                evaluate(block, scenarios, totals);
+            }
+        }
+        if (block.count > 0) {
+            evaluate(block, scenarios, totals);
+        }
+        return totals;
+    }
+
+    /**
+     * Prices the block under every scenario, adds the results to the totals and empties the block.
+     */
+    private static void evaluate(Block block, Scenario[] scenarios, Totals totals) {
+        int count = block.count;
+        totals.orderCount += count;
+        for (int row = 0; row < count; row++) {
+            totals.subtotalCents += block.subtotals[row];
+        }
+
+        long[] discounts = block.discounts;
+        for (int s = 0; s < scenarios.length; s++) {
+            Scenario scenario = scenarios[s];
+            boolean priced = false;
+            if (scenario.engine.isFixedPointSupported()) {
+                try {
+                    scenario.engine.discountCents(block.subtotals, block.quantities, block.premium, discounts, count);
+                    priced = true;
+                } catch (ArithmeticException e) {
+                    // An intermediate value overflowed: price this block exactly instead
+                }
+            }
+            if (!priced) {
+                for (int row = 0; row < count; row++) {
+                    discounts[row] = scenario.exact.discountFor(BigDecimal.valueOf(block.subtotals[row], 2),
+                            block.quantities[row], block.customerIds[row]).movePointRight(2).longValueExact();
+                }
+            }
+
+            long discountSum = 0L;
+            long discounted = 0L;
+            for (int row = 0; row < count; row++) {
+                discountSum += discounts[row];
+                discounted += discounts[row] != 0L ? 1 : 0;
+            }
+            totals.discountCents[s] += discountSum;
+            totals.discountedCounts[s] += discounted;
+        }
+        block.count = 0;
+    }
+
+    /**
+     * One configuration, in kernel form plus the BigDecimal path for rates the kernel cannot hold.
+     */
+    private static final class Scenario {
+
+        final FixedPointPricingEngine engine;
+        final OrderService exact;
+
+        Scenario(DiscountConfiguration configuration, CustomerTierResolver resolver) {
+            this.engine = new FixedPointPricingEngine(configuration, resolver);
+            this.exact = new OrderService(new DiscountConfigurationHolder(configuration), resolver);
+        }
+    }
+
+    /**
+     * Column buffers for one block of orders.
+     */
+    private static final class Block {
+
+        final long[] subtotals;
+        final int[] quantities;
+        final long[] customerIds;
+        final boolean[] premium;
+        final long[] discounts;
+        int count;
+
+        Block(int size) {
+            this.subtotals = new long[size];
+            this.quantities = new int[size];
+            this.customerIds = new long[size];
+            this.premium = new boolean[size];
+            this.discounts = new long[size];
+        }
+    }
+
+    /**
+     * Running totals of a range of orders; index 0 of the per-scenario arrays is the baseline.
+     */
+    private static final class Totals {
+
+        long orderCount;
+        long skippedCount;
+        long subtotalCents;
+        final long[] discountCents;
+        final long[] discountedCounts;
+
+        Totals(int scenarios) {
+            this.discountCents = new long[scenarios];
+            this.discountedCounts = new long[scenarios];
+        }
+
+        Totals merge(Totals other) {
+            orderCount += other.orderCount;
+            skippedCount += other.skippedCount;
+            subtotalCents += other.subtotalCents;
+            for (int s = 0; s < discountCents.length; s++) {
+                discountCents[s] += other.discountCents[s];
+                discountedCounts[s] += other.discountedCounts[s];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Fork-join task that simulates a contiguous range of orders and merges the halves.
+     */
+    private final class SimulationTask extends RecursiveTask<Totals> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Order[] batch;
+        private final Scenario[] scenarios;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        SimulationTask(Order[] batch, Scenario[] scenarios, int from, int to, int threshold) {
+            this.batch = batch;
+            this.scenarios = scenarios;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= threshold) {
+                return simulateRange(batch, scenarios, from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            SimulationTask right = new SimulationTask(batch, scenarios, mid, to, threshold);
+            right.fork();
+            Totals left = new SimulationTask(batch, scenarios, from, mid, threshold).compute();
+            return left.merge(right.join());
+        }
+    }
+}
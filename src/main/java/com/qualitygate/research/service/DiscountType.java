@@ -0,0 +1,15 @@
+package com.qualitygate.research.service;
+
+/**
+ * Service Layer - DiscountType
+ *
+ * The discount rule that determined an order's discount. Only one discount type applies to
+ * an order, so the largest candidate wins; ties go to the rule evaluated first.
+ */
+public enum DiscountType {
+
+    NONE,
+    VOLUME,
+    CUSTOMER_TIER,
+    PROMOTIONAL
+}
@@ -0,0 +1,499 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.DiscountConfigurationHolder;
+import com.qualitygate.research.config.VolumeDiscountSchedule;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.domain.OrderView;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Service Layer - FixedPointPricingEngine
+ *
+ * Alternative to {@link OrderService#calculateOrderTotal(Order)} that prices orders in
+ * {@code long} minor units (cents). Discount rates from {@link DiscountConfiguration} are
+ * converted once into scaled integers, so the hot path does no intermediate BigDecimal
+ * arithmetic.
+ *
+ * Every rounding step reproduces {@code setScale(2, RoundingMode.HALF_UP)}, so results are
+ * identical (value and scale) to the BigDecimal path. When a value does not fit in a long,
+ * the order is re-priced through the wrapped {@link OrderService} instead.
+ */
+public class FixedPointPricingEngine {
+
+    private static final int CENTS_SCALE = 2;
+    private static final int MAX_RATE_SCALE = 18;
+    private static final int KERNEL_QUANTITY_TABLE_LIMIT = 1024;
+    private static final long[] POWERS_OF_TEN = new long[MAX_RATE_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private final OrderService fallback;
+    private final CustomerTierResolver customerTierResolver;
+    private final boolean fixedPointSupported;
+
+    private final VolumeDiscountSchedule volumeDiscountSchedule;
+    private final ScaledRate[] volumeRates;
+    private final ScaledRate premiumRate;
+    private final ScaledRate promotionalRate;
+    private final ScaledRate maxDiscountRate;
+    private final long promotionalThresholdCents;
+
+    // Batch kernel: every rate as a multiple of 1 / kernelDivisor; volume entry 0 is "no tier", t + 1 is tier t
+    private final long kernelDivisor;
+    private final long kernelReciprocal;
+    private final int kernelShift;
+    private final long[] kernelVolumeRates;
+    private final long[] kernelVolumeRateByQuantity;
+    private final long kernelPremiumRate;
+    private final long kernelPromotionalRate;
+    private final long kernelMaxDiscountRate;
+    private final long kernelSubtotalLimit;
+
+    public FixedPointPricingEngine(DiscountConfiguration discountConfig) {
+        this(discountConfig, CustomerTierResolver.DIVISIBLE_BY_100);
+    }
+
+    /**
+     * @param discountConfig The discount rules
+     * @param customerTierResolver Decides which customers get the premium discount
+     * @throws IllegalArgumentException if either argument is null
+     */
+    public FixedPointPricingEngine(DiscountConfiguration discountConfig, CustomerTierResolver customerTierResolver) {
+        if (discountConfig == null) {
+            throw new IllegalArgumentException("DiscountConfiguration cannot be null");
+        }
+        this.fallback = new OrderService(new DiscountConfigurationHolder(discountConfig), customerTierResolver);
+        this.customerTierResolver = customerTierResolver;
+
+        this.volumeDiscountSchedule = VolumeDiscountSchedule.of(discountConfig);
+        this.volumeRates = new ScaledRate[volumeDiscountSchedule.size()];
+        boolean volumeRatesSupported = true;
+        for (int tier = 0; tier < volumeRates.length; tier++) {
+            volumeRates[tier] = ScaledRate.of(volumeDiscountSchedule.rateAt(tier));
+            volumeRatesSupported &= volumeRates[tier] != null;
+        }
+        this.premiumRate = ScaledRate.of(discountConfig.getPremiumCustomerDiscountRate());
+        this.promotionalRate = ScaledRate.of(discountConfig.getPromotionalDiscountRate());
+        this.maxDiscountRate = ScaledRate.of(discountConfig.getMaxDiscountRate());
+        this.promotionalThresholdCents = toCentsCeiling(discountConfig.getPromotionalDiscountThreshold());
+
+        this.fixedPointSupported = volumeRatesSupported && premiumRate != null && promotionalRate != null && maxDiscountRate != null;
+
+        // Rate divisors are powers of ten, so the largest is a multiple of all the others
+        long divisor = 10L;
+        if (fixedPointSupported) {
+            for (ScaledRate rate : volumeRates) {
+                divisor = Math.max(divisor, rate.divisor);
+            }
+            divisor = Math.max(divisor, Math.max(premiumRate.divisor, Math.max(promotionalRate.divisor, maxDiscountRate.divisor)));
+        }
+        this.kernelDivisor = divisor;
+        this.kernelShift = 64 - Long.numberOfLeadingZeros(divisor - 1) - 1;
+        this.kernelReciprocal = BigInteger.ONE.shiftLeft(64 + kernelShift)
+                .add(BigInteger.valueOf(divisor - 1)).divide(BigInteger.valueOf(divisor)).longValue();
+        this.kernelVolumeRates = new long[volumeRates.length + 1];
+        long premium = 0L;
+        long promotional = 0L;
+        long cap = 0L;
+        long limit = -1L;
+        if (fixedPointSupported) {
+            try {
+                long largest = 1L;
+                for (int tier = 0; tier < volumeRates.length; tier++) {
+                    kernelVolumeRates[tier + 1] = volumeRates[tier].rescale(divisor);
+                    largest = Math.max(largest, kernelVolumeRates[tier + 1]);
+                }
+                premium = premiumRate.rescale(divisor);
+                promotional = promotionalRate.rescale(divisor);
+                cap = maxDiscountRate.rescale(divisor);
+                // Largest subtotal whose product with any rescaled rate, plus half the divisor, fits in a long
+                limit = (Long.MAX_VALUE - divisor / 2) / Math.max(largest, Math.max(premium, Math.max(promotional, cap)));
+            } catch (ArithmeticException e) {
+                // Rates too fine to share a divisor: every row takes the checked path
+                limit = -1L;
+            }
+        }
+        this.kernelVolumeRateByQuantity = limit >= 0 ? volumeRateByQuantity() : null;
+        this.kernelPremiumRate = premium;
+        this.kernelPromotionalRate = promotional;
+        this.kernelMaxDiscountRate = cap;
+        this.kernelSubtotalLimit = limit;
+    }
+
+    /**
+     * Returns whether every configured rate fits the scaled-integer representation.
+     * When false, all orders are priced through the BigDecimal fallback.
+     */
+    public boolean isFixedPointSupported() {
+        return fixedPointSupported;
+    }
+
+    /**
+     * Calculates the total price for an order including all discounts.
+     * Same contract and results as {@link OrderService#calculateOrderTotal(Order)}.
+     *
+     * @param order The order to calculate pricing for
+     * @return The calculated order with all amounts set
+     * @throws IllegalArgumentException if order is null or invalid
+     */
+    public Order calculateOrderTotal(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+
+        List<OrderItem> items = order.getItemsView();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+
+        if (!fixedPointSupported) {
+            return fallback.calculateOrderTotal(order);
+        }
+
+        try {
+            long subtotalCents = 0L;
+            int totalQuantity = 0;
+
+            for (int i = 0; i < items.size(); i++) {
+                OrderItem item = items.get(i);
+                if (item == null) {
+                    throw new IllegalArgumentException("Order item cannot be null");
+                }
+
+                Integer quantity = item.getQuantity();
+                if (quantity == null || quantity <= 0) {
+                    throw new IllegalArgumentException("Item quantity must be greater than zero");
+                }
+
+                BigDecimal unitPrice = item.getUnitPrice();
+                if (unitPrice == null || unitPrice.signum() < 0) {
+                    throw new IllegalArgumentException("Item unit price must be non-negative");
+                }
+
+                long lineTotalCents = lineTotalCents(unitPrice, quantity);
+                item.setLineTotal(BigDecimal.valueOf(lineTotalCents, CENTS_SCALE));
+                subtotalCents = Math.addExact(subtotalCents, lineTotalCents);
+                totalQuantity += quantity;
+            }
+
+            boolean premiumCustomer = isPremiumCustomer(order.getCustomerId());
+            long discountCents = discountCents(subtotalCents, totalQuantity, premiumCustomer);
+            long totalCents = Math.subtractExact(subtotalCents, discountCents);
+
+            order.setSubtotal(BigDecimal.valueOf(subtotalCents, CENTS_SCALE));
+            order.setDiscountAmount(BigDecimal.valueOf(discountCents, CENTS_SCALE));
+            order.setTotalAmount(BigDecimal.valueOf(totalCents, CENTS_SCALE));
+            return order;
+        } catch (ArithmeticException overflow) {
+            return fallback.calculateOrderTotal(order);
+        }
+    }
+
+    /**
+     * Prices an order view in cents without materialising Order objects.
+     * Applies the item rules of {@link OrderService#calculateOrderTotal(Order)}.
+     *
+     * @param order The order to price
+     * @param amounts Receives the subtotal, discount and total on success
+     * @return null on success, otherwise the rule the order failed
+     * @throws ArithmeticException if an amount does not fit in long cents
+     * @throws IllegalStateException if the configured rates are not fixed-point compatible
+     */
+    public OrderRejectionReason priceView(OrderView order, PricedAmounts amounts) {
+        int itemCount = order.itemCount();
+        if (itemCount == 0) {
+            return OrderRejectionReason.NO_ITEMS;
+        }
+
+        long subtotalCents = 0L;
+        int totalQuantity = 0;
+        for (int i = 0; i < itemCount; i++) {
+            int quantity = order.quantityAt(i);
+            if (quantity <= 0) {
+                return OrderRejectionReason.INVALID_QUANTITY;
+            }
+
+            long unscaledPrice = order.unitPriceUnscaledAt(i);
+            if (!order.hasUnitPriceAt(i) || unscaledPrice < 0) {
+                return OrderRejectionReason.INVALID_UNIT_PRICE;
+            }
+
+            subtotalCents = Math.addExact(subtotalCents,
+                    lineTotalCents(unscaledPrice, order.unitPriceScaleAt(i), quantity));
+            totalQuantity += quantity;
+        }
+
+        boolean premiumCustomer = order.hasCustomerId() && isPremiumCustomer(order.getCustomerId());
+        long discountCents = discountCents(subtotalCents, totalQuantity, premiumCustomer);
+        amounts.set(subtotalCents, discountCents, Math.subtractExact(subtotalCents, discountCents));
+        return null;
+    }
+
+    /**
+     * Calculates the discount in cents for an already summed order.
+     * Applies the same rules as OrderService: best of volume, customer tier and promotional
+     * discount, then the discount cap.
+     *
+     * @param subtotalCents The order subtotal in cents (non-negative)
+     * @param totalQuantity The total quantity across all items
+     * @param premiumCustomer Whether the customer qualifies for the premium discount
+     * @return The capped discount in cents
+     * @throws ArithmeticException if an intermediate value does not fit in a long
+     * @throws IllegalStateException if the configured rates are not fixed-point compatible
+     */
+    public long discountCents(long subtotalCents, int totalQuantity, boolean premiumCustomer) {
+        if (!fixedPointSupported) {
+            throw new IllegalStateException("Discount configuration is not representable in fixed point");
+        }
+
+        long volumeDiscount = volumeDiscountCents(subtotalCents, totalQuantity);
+        long customerDiscount = premiumCustomer ? premiumRate.applyHalfUp(subtotalCents) : 0L;
+        long promotionalDiscount = subtotalCents >= promotionalThresholdCents
+                ? promotionalRate.applyHalfUp(subtotalCents) : 0L;
+
+        long maxDiscount = Math.max(volumeDiscount, Math.max(customerDiscount, promotionalDiscount));
+        return applyDiscountCap(maxDiscount, subtotalCents);
+    }
+
+    /**
+     * Batch form of {@link #discountCents(long, int, boolean)}: computes the discount of the first
+     * {@code count} rows of the subtotal, quantity and premium columns into {@code discounts}.
+     *
+     * All rates are brought to a common divisor, so each row needs a single rounding division, done
+     * as a multiplication by the divisor's precomputed reciprocal.
+     * HALF_UP rounding never reverses an order, so the largest rounded discount is the rounded
+     * largest product, and capping the rounded discount at the exact cap gives the same result
+     * as rounding the smaller of the two products. Eligibility and the cap are selects rather
+     * than branches, and subtotals below a bound derived from the rates skip overflow checks.
+     * Rows above that bound take the checked path.
+     *
+     * @throws IllegalArgumentException if a column is null or shorter than {@code count}
+     * @throws ArithmeticException if a row's intermediate values do not fit in a long
+     * @throws IllegalStateException if the configured rates are not fixed-point compatible
+     */
+    public void discountCents(long[] subtotals, int[] totalQuantities, boolean[] premiumCustomers,
+                              long[] discounts, int count) {
+        if (subtotals == null || totalQuantities == null || premiumCustomers == null || discounts == null) {
+            throw new IllegalArgumentException("Discount columns cannot be null");
+        }
+        if (count < 0 || subtotals.length < count || totalQuantities.length < count
+                || premiumCustomers.length < count || discounts.length < count) {
+            throw new IllegalArgumentException("Discount columns must hold " + count + " rows");
+        }
+        if (!fixedPointSupported) {
+            throw new IllegalStateException("Discount configuration is not representable in fixed point");
+        }
+
+        long half = kernelDivisor / 2;
+        long reciprocal = kernelReciprocal;
+        int shift = kernelShift;
+        long[] volumeRatesByTier = kernelVolumeRates;
+        long[] volumeRateByQuantity = kernelVolumeRateByQuantity;
+        long premium = kernelPremiumRate;
+        long promotional = kernelPromotionalRate;
+        long cap = kernelMaxDiscountRate;
+        long promotionalThreshold = promotionalThresholdCents;
+        long limit = kernelSubtotalLimit;
+
+        for (int i = 0; i < count; i++) {
+            long subtotal = subtotals[i];
+            int quantity = totalQuantities[i];
+            if (subtotal < 0 || subtotal > limit || quantity < 0) {
+                discounts[i] = discountCents(subtotal, quantity, premiumCustomers[i]);
+                continue;
+            }
+
+            // Quantities past the table all fall in the top tier, so clamping replaces a branch
+            long volumeRate = volumeRateByQuantity != null
+                    ? volumeRateByQuantity[Math.min(quantity, volumeRateByQuantity.length - 1)]
+                    : volumeRatesByTier[volumeDiscountSchedule.tierIndexFor(quantity) + 1];
+            long volume = subtotal * volumeRate;
+            long customer = subtotal * (premiumCustomers[i] ? premium : 0L);
+            long promotion = subtotal * (subtotal >= promotionalThreshold ? promotional : 0L);
+            long best = Math.max(volume, Math.max(customer, promotion));
+            // HALF_UP to cents: (product + divisor / 2) / divisor, dividing by multiplying with the reciprocal
+            long rounded = Math.min(best, subtotal * cap) + half;
+            discounts[i] = (Math.multiplyHigh(rounded, reciprocal) + (rounded & (reciprocal >> 63))) >>> shift;
+        }
+    }
+
+    /**
+     * Rescaled volume rate for every quantity up to the highest threshold, or null if that
+     * threshold is too large for a table.
+     */
+    private long[] volumeRateByQuantity() {
+        int tiers = volumeDiscountSchedule.size();
+        int highest = tiers > 0 ? volumeDiscountSchedule.thresholdAt(tiers - 1) : 0;
+        if (highest < 0 || highest > KERNEL_QUANTITY_TABLE_LIMIT) {
+            return null;
+        }
+
+        long[] table = new long[highest + 1];
+        for (int quantity = 0; quantity < table.length; quantity++) {
+            table[quantity] = kernelVolumeRates[volumeDiscountSchedule.tierIndexFor(quantity) + 1];
+        }
+        return table;
+    }
+
+    /**
+     * Business rule shared with OrderService, decided by the engine's {@link CustomerTierResolver}.
+     */
+    public boolean isPremiumCustomer(Long customerId) {
+        return customerId != null && isPremiumCustomer(customerId.longValue());
+    }
+
+    public boolean isPremiumCustomer(long customerId) {
+        return customerTierResolver.isPremium(customerId);
+    }
+
+    private long volumeDiscountCents(long subtotalCents, int totalQuantity) {
+        int tier = volumeDiscountSchedule.tierIndexFor(totalQuantity);
+        return tier >= 0 ? volumeRates[tier].applyHalfUp(subtotalCents) : 0L;
+    }
+
+    /**
+     * Compares the discount against the exact (unrounded) cap, as OrderService does,
+     * by bringing both sides to the scale of the cap rate.
+     */
+    private long applyDiscountCap(long discountCents, long subtotalCents) {
+        long scaledDiscount = Math.multiplyExact(discountCents, maxDiscountRate.divisor);
+        long scaledCap = Math.multiplyExact(subtotalCents, maxDiscountRate.unscaled);
+
+        if (scaledDiscount > scaledCap) {
+            return maxDiscountRate.applyHalfUp(subtotalCents);
+        }
+        return discountCents;
+    }
+
+    /**
+     * Computes unitPrice * quantity rounded HALF_UP to cents.
+     *
+     * @throws ArithmeticException if the result does not fit in a long
+     */
+    static long lineTotalCents(BigDecimal unitPrice, int quantity) {
+        BigInteger unscaled = unitPrice.unscaledValue();
+        if (unscaled.bitLength() > 63) {
+            throw new ArithmeticException("Unit price does not fit in a long");
+        }
+        return lineTotalCents(unscaled.longValue(), unitPrice.scale(), quantity);
+    }
+
+    /**
+     * Computes (unscaledPrice / 10^scale) * quantity rounded HALF_UP to cents,
+     * for a non-negative price.
+     *
+     * @throws ArithmeticException if the result does not fit in a long
+     */
+    public static long lineTotalCents(long unscaledPrice, int scale, int quantity) {
+        long product = Math.multiplyExact(unscaledPrice, (long) quantity);
+        if (scale <= CENTS_SCALE) {
+            return multiplyByPowerOfTen(product, CENTS_SCALE - scale);
+        }
+
+        int shift = scale - CENTS_SCALE;
+        if (shift > MAX_RATE_SCALE) {
+            throw new ArithmeticException("Unit price scale too large");
+        }
+        return divideHalfUp(product, POWERS_OF_TEN[shift]);
+    }
+
+    private static long multiplyByPowerOfTen(long value, int exponent) {
+        if (exponent > MAX_RATE_SCALE) {
+            if (value == 0L) {
+                return 0L;
+            }
+            throw new ArithmeticException("Value does not fit in a long");
+        }
+        return Math.multiplyExact(value, POWERS_OF_TEN[exponent]);
+    }
+
+    /**
+     * Divides a non-negative value, rounding HALF_UP.
+     */
+    private static long divideHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        return remainder >= divisor - remainder ? quotient + 1 : quotient;
+    }
+
+    /**
+     * Converts a threshold to the smallest cents value that satisfies subtotal >= threshold.
+     */
+    private static long toCentsCeiling(BigDecimal threshold) {
+        BigDecimal cents = threshold.movePointRight(CENTS_SCALE).setScale(0, RoundingMode.CEILING);
+        if (cents.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (cents.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return cents.longValueExact();
+    }
+
+    /**
+     * A non-negative discount rate held as unscaled / 10^scale.
+     */
+    static final class ScaledRate {
+
+        final long unscaled;
+        final long divisor;
+
+        private ScaledRate(long unscaled, long divisor) {
+            this.unscaled = unscaled;
+            this.divisor = divisor;
+        }
+
+        /**
+         * @return the scaled rate, or null if the rate cannot be represented exactly
+         */
+        static ScaledRate of(BigDecimal rate) {
+            if (rate == null || rate.signum() < 0) {
+                return null;
+            }
+
+            BigDecimal normalized = rate.scale() < 0 ? rate.setScale(0) : rate;
+            if (normalized.scale() > MAX_RATE_SCALE) {
+                normalized = normalized.stripTrailingZeros();
+                if (normalized.scale() > MAX_RATE_SCALE) {
+                    return null;
+                }
+                if (normalized.scale() < 0) {
+                    normalized = normalized.setScale(0);
+                }
+            }
+
+            BigInteger unscaled = normalized.unscaledValue();
+            if (unscaled.bitLength() > 63) {
+                return null;
+            }
+            return new ScaledRate(unscaled.longValue(), POWERS_OF_TEN[normalized.scale()]);
+        }
+
+        /**
+         * Returns the unscaled value of this rate over a larger power-of-ten divisor.
+         *
+         * @throws ArithmeticException if it does not fit in a long
+         */
+        long rescale(long commonDivisor) {
+            return Math.multiplyExact(unscaled, commonDivisor / divisor);
+        }
+
+        /**
+         * Computes amountCents * rate rounded HALF_UP to cents.
+         */
+        long applyHalfUp(long amountCents) {
+            return divideHalfUp(Math.multiplyExact(amountCents, unscaled), divisor);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.domain.User;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Service Layer - InMemoryUserRepository
+ *
+ * Fixed-capacity, concurrent {@link UserRepository}. Users are stored column by column in
+ * row arrays allocated up front; the user ID is the row number plus one, so lookup by ID is
+ * an array access. Usernames and emails are indexed by open-addressing hash tables of row
+ * numbers, split into independently locked segments.
+ *
+ * Uniqueness is enforced under the segment locks of the keys involved, never a global lock.
+ * Readers take no locks: index slots and row columns are published with volatile writes.
+ *
+ * Memory is proportional to the capacity, not the load: about 25 bytes per row for the
+ * columns and both indexes (with compressed references), plus the username and email Strings
+ * of stored users. 50 million rows take roughly 1.2 GB before the Strings.
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+    private static final int ROW_LOCK_COUNT = 256;
+
+    private final int capacity;
+    private final AtomicReferenceArray<String> usernames;
+    private final AtomicReferenceArray<String> emails;
+    private final AtomicLongArray activeBits;
+    private final KeyIndex usernameIndex;
+    private final KeyIndex emailIndex;
+    private final Object[] rowLocks = new Object[ROW_LOCK_COUNT];
+    private final AtomicInteger rowCount = new AtomicInteger();
+
+    /**
+     * @param capacity The maximum number of users
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public InMemoryUserRepository(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Repository capacity must be positive");
+        }
+
+        this.capacity = capacity;
+        this.usernames = new AtomicReferenceArray<>(capacity);
+        this.emails = new AtomicReferenceArray<>(capacity);
+        this.activeBits = new AtomicLongArray((capacity + 63) / 64);
+        this.usernameIndex = new KeyIndex(capacity, usernames);
+        this.emailIndex = new KeyIndex(capacity, emails);
+        for (int i = 0; i < rowLocks.length; i++) {
+            rowLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public UserRejectionReason insert(User user) {
+        if (user == null || user.getUsername() == null || user.getEmail() == null) {
+            throw new IllegalArgumentException("User, username and email cannot be null");
+        }
+
+        String username = user.getUsername();
+        String email = user.getEmail();
+        int usernameHash = KeyIndex.hash(username);
+        int emailHash = KeyIndex.hash(email);
+        Segment usernameSegment = usernameIndex.segmentFor(usernameHash);
+        Segment emailSegment = emailIndex.segmentFor(emailHash);
+
+        // Lock order: username segment, then email segment. Email updates never hold two segment locks.
+        synchronized (usernameSegment) {
+            synchronized (emailSegment) {
+                if (usernameIndex.find(usernameSegment, username, usernameHash) >= 0) {
+                    return UserRejectionReason.DUPLICATE_USERNAME;
+                }
+                if (emailIndex.find(emailSegment, email, emailHash) >= 0) {
+                    return UserRejectionReason.DUPLICATE_EMAIL;
+                }
+
+                int row = allocateRow();
+                setActiveBit(row, user.isActive());
+                emails.set(row, email);
+                // The username is written last: a row with a username is fully stored
+                usernames.set(row, username);
+                usernameIndex.add(usernameSegment, row, usernameHash);
+                emailIndex.add(emailSegment, row, emailHash);
+                user.setUserId(row + 1L);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public UserRejectionReason updateEmail(long userId, String email) {
+        if (email == null) {
+            throw new IllegalArgumentException("Email cannot be null");
+        }
+        int row = rowFor(userId);
+        if (row < 0) {
+            return UserRejectionReason.UNKNOWN_USER;
+        }
+
+        synchronized (rowLocks[row % ROW_LOCK_COUNT]) {
+            String oldEmail = emails.get(row);
+            if (oldEmail.equals(email)) {
+                return null;
+            }
+
+            int newHash = KeyIndex.hash(email);
+            Segment newSegment = emailIndex.segmentFor(newHash);
+            int oldHash = KeyIndex.hash(oldEmail);
+            Segment oldSegment = emailIndex.segmentFor(oldHash);
+            synchronized (newSegment) {
+                if (emailIndex.find(newSegment, email, newHash) >= 0) {
+                    return UserRejectionReason.DUPLICATE_EMAIL;
+                }
+                if (oldSegment == newSegment) {
+                    // Remove the old slot first: a rebuild during the add would otherwise keep it,
+                    // since it matches the new email, on the new email's chain
+                    emailIndex.remove(oldSegment, row, oldHash);
+                    emails.set(row, email);
+                    emailIndex.add(newSegment, row, newHash);
+                    return null;
+                }
+                // From here the old slot no longer matches, so the old email is free to take
+                emails.set(row, email);
+                emailIndex.add(newSegment, row, newHash);
+            }
+
+            synchronized (oldSegment) {
+                emailIndex.remove(oldSegment, row, oldHash);
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public boolean setActive(long userId, boolean active) {
+        int row = rowFor(userId);
+        if (row < 0) {
+            return false;
+        }
+        setActiveBit(row, active);
+        return true;
+    }
+
+    @Override
+    public User findById(long userId) {
+        int row = rowFor(userId);
+        return row >= 0 ? toUser(row) : null;
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        int hash = KeyIndex.hash(username);
+        int row = usernameIndex.find(usernameIndex.segmentFor(hash), username, hash);
+        return row >= 0 ? toUser(row) : null;
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        int hash = KeyIndex.hash(email);
+        int row = emailIndex.find(emailIndex.segmentFor(hash), email, hash);
+        return row >= 0 ? toUser(row) : null;
+    }
+
+    @Override
+    public int size() {
+        return rowCount.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the row of a fully stored user, or -1
+     */
+    private int rowFor(long userId) {
+        if (userId < 1 || userId > rowCount.get()) {
+            return -1;
+        }
+        int row = (int) (userId - 1);
+        return usernames.get(row) != null ? row : -1;
+    }
+
+    private int allocateRow() {
+        while (true) {
+            int row = rowCount.get();
+            if (row == capacity) {
+                throw new IllegalStateException("User repository is full (capacity " + capacity + ")");
+            }
+            if (rowCount.compareAndSet(row, row + 1)) {
+                return row;
+            }
+        }
+    }
+
+    private User toUser(int row) {
+        User user = new User(row + 1L, usernames.get(row), emails.get(row));
+        user.setActive((activeBits.get(row >>> 6) & (1L << row)) != 0);
+        return user;
+    }
+
+    private void setActiveBit(int row, boolean active) {
+        int word = row >>> 6;
+        long bit = 1L << row;
+        long current;
+        long updated;
+        do {
+            current = activeBits.get(word);
+            updated = active ? current | bit : current & ~bit;
+        } while (current != updated && !activeBits.compareAndSet(word, current, updated));
+    }
+
+    /**
+     * Linear-probing slots of one index segment. Slots hold row + 1; 0 is empty.
+     * Mutated only under the segment's monitor; read without locking.
+     */
+    private static final class Segment {
+
+        private static final int EMPTY = 0;
+        private static final int DELETED = -1;
+
+        private volatile AtomicIntegerArray slots;
+        private final int maxUsed;
+        private int used;
+
+        Segment(int length) {
+            this.slots = new AtomicIntegerArray(length);
+            this.maxUsed = length - length / 8;
+        }
+    }
+
+    /**
+     * Hash index from a key column to rows. Keys are compared against the row's current
+     * column value, so a slot whose row has moved to another key simply stops matching.
+     */
+    private static final class KeyIndex {
+
+        private final Segment[] segments = new Segment[SEGMENT_COUNT];
+        private final AtomicReferenceArray<String> keys;
+
+        KeyIndex(int capacity, AtomicReferenceArray<String> keys) {
+            this.keys = keys;
+            // Twice the average load per segment leaves room for uneven hashing and deleted slots
+            int length = (int) Math.min(Integer.MAX_VALUE - 8, 2L * capacity / SEGMENT_COUNT + 64);
+            for (int i = 0; i < SEGMENT_COUNT; i++) {
+                segments[i] = new Segment(length);
+            }
+        }
+
+        static int hash(String key) {
+            int h = key.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        Segment segmentFor(int hash) {
+            return segments[hash & (SEGMENT_COUNT - 1)];
+        }
+
+        /**
+         * @return the row holding the key, or -1
+         */
+        int find(Segment segment, String key, int hash) {
+            AtomicIntegerArray slots = segment.slots;
+            int length = slots.length();
+            int slot = start(hash, length);
+            for (int probes = 0; probes < length; probes++) {
+                int value = slots.get(slot);
+                if (value == Segment.EMPTY) {
+                    return -1;
+                }
+                if (value != Segment.DELETED && key.equals(keys.get(value - 1))) {
+                    return value - 1;
+                }
+                slot = slot + 1 == length ? 0 : slot + 1;
+            }
+            return -1;
+        }
+
+        /**
+         * Adds a row for a key known to be absent. Caller holds the segment lock.
+         */
+        void add(Segment segment, int row, int hash) {
+            if (segment.used == segment.maxUsed) {
+                rebuild(segment);
+                if (segment.used == segment.maxUsed) {
+                    throw new IllegalStateException("User index segment is full");
+                }
+            }
+
+            AtomicIntegerArray slots = segment.slots;
+            int length = slots.length();
+            int slot = start(hash, length);
+            while (slots.get(slot) > Segment.EMPTY) {
+                slot = slot + 1 == length ? 0 : slot + 1;
+            }
+            if (slots.get(slot) == Segment.EMPTY) {
+                segment.used++;
+            }
+            slots.set(slot, row + 1);
+        }
+
+        /**
+         * Removes a row from the chain for its old key. Caller holds the segment lock.
+         */
+        void remove(Segment segment, int row, int hash) {
+            AtomicIntegerArray slots = segment.slots;
+            int length = slots.length();
+            int slot = start(hash, length);
+            for (int probes = 0; probes < length; probes++) {
+                int value = slots.get(slot);
+                if (value == Segment.EMPTY) {
+                    return;
+                }
+                if (value == row + 1) {
+                    slots.set(slot, Segment.DELETED);
+                    return;
+                }
+                slot = slot + 1 == length ? 0 : slot + 1;
+            }
+        }
+
+        /**
+         * Copies the live slots into a fresh array to clear out deleted markers.
+         * Readers keep probing the old array until the new one is published.
+         */
+        private void rebuild(Segment segment) {
+            AtomicIntegerArray old = segment.slots;
+            int length = old.length();
+            AtomicIntegerArray fresh = new AtomicIntegerArray(length);
+            int used = 0;
+            for (int i = 0; i < length; i++) {
+                int value = old.get(i);
+                if (value > Segment.EMPTY) {
+                    int hash = hash(keys.get(value - 1));
+                    if (segmentFor(hash) != segment) {
+                        continue; // left behind by an email change still in progress; no longer reachable
+                    }
+                    int slot = start(hash, length);
+                    while (fresh.get(slot) != Segment.EMPTY) {
+                        slot = slot + 1 == length ? 0 : slot + 1;
+                    }
+                    fresh.set(slot, value);
+                    used++;
+                }
+            }
+            segment.used = used;
+            segment.slots = fresh;
+        }
+
+        private static int start(int hash, int length) {
+            return (int) (((hash & 0xFFFFFFFFL) * length) >>> 32);
+        }
+    }
+}
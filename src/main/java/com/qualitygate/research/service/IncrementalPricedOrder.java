@@ -0,0 +1,159 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+
+import java.math.BigDecimal;
+
+/**
+ * Service Layer - IncrementalPricedOrder
+ *
+ * Keeps an order priced while its items are edited, for carts that are repriced after every
+ * change. The running subtotal and total quantity are adjusted by the one line an edit
+ * touches, then the discounts are re-evaluated from them. Repricing is constant time
+ * whatever the number of lines.
+ *
+ * Line totals are whole cents, so the running subtotal is exact and every edit leaves the
+ * order with the amounts {@link OrderService#calculateOrderTotal(Order)} would set. Discounts
+ * are re-evaluated against the service's current configuration on every edit, or on
+ * {@link #reprice()} after a reload.
+ *
+ * Not thread-safe. The tracked order and its items must only be changed through this handle.
+ */
+public final class IncrementalPricedOrder {
+
+    private static final BigDecimal ZERO_CENTS = BigDecimal.ZERO.setScale(2);
+
+    private final OrderService orderService;
+    private final Order order;
+
+    private BigDecimal subtotal = ZERO_CENTS;
+    private int totalQuantity;
+
+    IncrementalPricedOrder(OrderService orderService, Order order) {
+        this.orderService = orderService;
+        this.order = order;
+        recalculate();
+    }
+
+    /**
+     * Adds an item to the end of the order and reprices it.
+     *
+     * @param item The item to add
+     * @throws IllegalArgumentException if pricing would reject the item
+     */
+    public void addItem(OrderItem item) {
+        orderService.checkPricedItem(item);
+        BigDecimal lineTotal = OrderService.calculateLineTotal(item);
+        item.setLineTotal(lineTotal);
+        order.addItem(item);
+
+        subtotal = subtotal.add(lineTotal);
+        totalQuantity += item.getQuantity();
+        reprice();
+    }
+
+    /**
+     * Removes the item at the given position and reprices the order.
+     *
+     * @param index The item position
+     * @return The removed item
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public OrderItem removeItem(int index) {
+        OrderItem item = order.removeItemAt(index);
+
+        subtotal = subtotal.subtract(item.getLineTotal());
+        totalQuantity -= item.getQuantity();
+        reprice();
+        return item;
+    }
+
+    /**
+     * Changes the quantity of the item at the given position and reprices the order.
+     *
+     * @param index The item position
+     * @param quantity The new quantity (positive)
+     * @throws IllegalArgumentException if the quantity is not positive
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void setQuantity(int index, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException(OrderRejectionReason.INVALID_QUANTITY.getMessage());
+        }
+
+        OrderItem item = order.itemAt(index);
+        BigDecimal oldLineTotal = item.getLineTotal();
+        int oldQuantity = item.getQuantity();
+        item.setQuantity(quantity);
+        BigDecimal lineTotal = OrderService.calculateLineTotal(item);
+        item.setLineTotal(lineTotal);
+
+        subtotal = subtotal.subtract(oldLineTotal).add(lineTotal);
+        totalQuantity += quantity - oldQuantity;
+        reprice();
+    }
+
+    /**
+     * Re-evaluates the discounts from the running totals, picking up a configuration reload
+     * or a customer change. An order without items has its amounts cleared.
+     */
+    public void reprice() {
+        if (order.itemCount() == 0) {
+            order.setSubtotal(null);
+            order.setDiscountAmount(null);
+            order.setTotalAmount(null);
+            return;
+        }
+        orderService.applyDiscounts(order, subtotal, totalQuantity);
+    }
+
+    /**
+     * Recomputes every line and the running totals from scratch, then reprices.
+     * Only needed if the items were changed behind this handle's back.
+     *
+     * @throws IllegalArgumentException if pricing would reject an item
+     */
+    public void recalculate() {
+        BigDecimal sum = ZERO_CENTS;
+        int quantity = 0;
+        for (int i = 0; i < order.itemCount(); i++) {
+            orderService.checkPricedItem(order.itemAt(i));
+        }
+        for (int i = 0; i < order.itemCount(); i++) {
+            OrderItem item = order.itemAt(i);
+            BigDecimal lineTotal = OrderService.calculateLineTotal(item);
+            item.setLineTotal(lineTotal);
+            sum = sum.add(lineTotal);
+            quantity += item.getQuantity();
+        }
+
+        subtotal = sum;
+        totalQuantity = quantity;
+        reprice();
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return the running subtotal; zero for an order without items
+     */
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalPricedOrder{" +
+                "order=" + order +
+                ", subtotal=" + subtotal +
+                ", totalQuantity=" + totalQuantity +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.domain.Order;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Service Layer - OrderAnalytics
+ *
+ * Revenue, discount and discount-type mix over orders priced by an {@link OrderService}.
+ * Chunks of orders are aggregated into partial results in parallel, in long cents, and the
+ * partials are merged. Per-customer and per-product figures are kept for at most
+ * {@code maxCustomers} customers and {@code maxProducts} products (the top earners, see
+ * {@link RevenueReport}), so memory does not grow with the number of customers.
+ *
+ * The winning discount type is derived from the service's current configuration, which
+ * should be the one the orders were priced with.
+ */
+public class OrderAnalytics {
+
+    /**
+     * Largest number of customers or products a report can track.
+     */
+    public static final int MAX_TRACKED_KEYS = 1 << 24;
+
+    private static final int ANALYTICS_TASKS_PER_WORKER = 4;
+
+    /**
+     * Below this many orders per task, splitting costs more than the merge saves.
+     */
+    private static final int MIN_ANALYTICS_CHUNK = 4096;
+
+    private final OrderService orderService;
+    private final int maxCustomers;
+    private final int maxProducts;
+
+    /**
+     * @param orderService The service the orders were priced by
+     * @param maxCustomers How many customers to report on
+     * @param maxProducts How many products to report on
+     * @throws IllegalArgumentException if the service is null or a limit is outside 1..{@link #MAX_TRACKED_KEYS}
+     */
+    public OrderAnalytics(OrderService orderService, int maxCustomers, int maxProducts) {
+        if (orderService == null) {
+            throw new IllegalArgumentException("OrderService cannot be null");
+        }
+        if (maxCustomers <= 0 || maxCustomers > MAX_TRACKED_KEYS || maxProducts <= 0 || maxProducts > MAX_TRACKED_KEYS) {
+            throw new IllegalArgumentException("Tracked customer and product counts must be between 1 and " + MAX_TRACKED_KEYS);
+        }
+        this.orderService = orderService;
+        this.maxCustomers = maxCustomers;
+        this.maxProducts = maxProducts;
+    }
+
+    /**
+     * Aggregates priced orders using the common fork-join pool.
+     *
+     * @param orders The priced orders
+     * @return The aggregated report
+     * @throws IllegalArgumentException if the collection is null
+     * @see #analyze(Collection, ForkJoinPool)
+     */
+    public RevenueReport analyze(Collection<Order> orders) {
+        return analyze(orders, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Aggregates priced orders, splitting them into chunks aggregated in parallel on the pool.
+     * Null and unpriced orders are counted as skipped.
+     *
+     * @param orders The priced orders
+     * @param pool The pool to aggregate on
+     * @return The aggregated report
+     * @throws IllegalArgumentException if the collection or pool is null
+     */
+    public RevenueReport analyze(Collection<Order> orders, ForkJoinPool pool) {
+        if (orders == null) {
+            throw new IllegalArgumentException("Order collection cannot be null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool cannot be null");
+        }
+
+        Order[] batch = orders.toArray(new Order[0]);
+        int threshold = Math.max(MIN_ANALYTICS_CHUNK, batch.length / (pool.getParallelism() * ANALYTICS_TASKS_PER_WORKER));
+        return pool.invoke(new AnalyticsTask(batch, 0, batch.length, threshold)).toReport();
+    }
+
+    /**
+     * Aggregates a stream of priced orders without collecting it first. A parallel stream is
+     * aggregated in parallel, one partial result per split.
+     *
+     * @param orders The priced orders
+     * @return The aggregated report
+     * @throws IllegalArgumentException if the stream is null
+     */
+    public RevenueReport analyze(Stream<Order> orders) {
+        if (orders == null) {
+            throw new IllegalArgumentException("Order stream cannot be null");
+        }
+        return orders.collect(this::newAccumulator, RevenueAccumulator::add, RevenueAccumulator::merge).toReport();
+    }
+
+    private RevenueAccumulator newAccumulator() {
+        return new RevenueAccumulator(orderService, maxCustomers, maxProducts);
+    }
+
+    /**
+     * Fork-join task that aggregates a contiguous range of orders and merges the halves.
+     */
+    private final class AnalyticsTask extends RecursiveTask<RevenueAccumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Order[] batch;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        AnalyticsTask(Order[] batch, int from, int to, int threshold) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected RevenueAccumulator compute() {
+            if (to - from <= threshold) {
+                RevenueAccumulator partial = newAccumulator();
+                for (int i = from; i < to; i++) {
+                    partial.add(batch[i]);
+                }
+                return partial;
+            }
+
+            int mid = (from + to) >>> 1;
+            AnalyticsTask right = new AnalyticsTask(batch, mid, to, threshold);
+            right.fork();
+            RevenueAccumulator left = new AnalyticsTask(batch, from, mid, threshold).compute();
+            return left.merge(right.join());
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.config.DiscountConfigurationHolder;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service Layer - OrderPricingCache
+ *
+ * Optional caching layer in front of {@link OrderService#calculateOrderTotal(Order)}.
+ * Pricing depends only on the customer tier, the item lines and the discount configuration,
+ * so repeated baskets (retries, quote-then-checkout) can reuse an earlier result.
+ *
+ * Entries are keyed on (premium tier, productId/quantity/unitPrice of every line,
+ * configuration version) and held in lock-striped LRU segments bounded by entry count.
+ * When the configuration version changes, every entry is dropped.
+ */
+public class OrderPricingCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final OrderService orderService;
+    private final DiscountConfigurationHolder discountConfigHolder;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile long cachedVersion;
+
+    /**
+     * @param orderService The service that prices orders on a cache miss
+     * @param maxEntries Upper bound on the number of cached baskets
+     * @throws IllegalArgumentException if the service is null or maxEntries is not positive
+     */
+    public OrderPricingCache(OrderService orderService, int maxEntries) {
+        if (orderService == null) {
+            throw new IllegalArgumentException("OrderService cannot be null");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+
+        this.orderService = orderService;
+        this.discountConfigHolder = orderService.getDiscountConfigurationHolder();
+        this.cachedVersion = discountConfigHolder.getVersion();
+
+        int segmentCount = Math.min(SEGMENT_COUNT, maxEntries);
+        int perSegment = (maxEntries + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Calculates the total price for an order, reusing a cached result for an identical basket.
+     * Same contract and results as {@link OrderService#calculateOrderTotal(Order)}.
+     *
+     * @param order The order to calculate pricing for
+     * @return The calculated order with all amounts set
+     * @throws IllegalArgumentException if order is null or invalid
+     */
+    public Order calculateOrderTotal(Order order) {
+        long version = currentVersion();
+        BasketKey key = BasketKey.of(order, orderService, version);
+        if (key == null) {
+            // Invalid orders are never cached; let the service report the problem
+            return orderService.calculateOrderTotal(order);
+        }
+
+        Segment segment = segmentFor(key);
+        PricedBasket cached = segment.get(key);
+        if (cached != null) {
+            hits.increment();
+            cached.applyTo(order);
+            return order;
+        }
+
+        misses.increment();
+        orderService.calculateOrderTotal(order);
+        segment.put(key, PricedBasket.of(order));
+        return order;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Number of cached baskets.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Drops every cached basket.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Reads the configuration version, clearing the cache when it has moved on.
+     * Keys carry the version too, so a lookup can never match a stale entry
+     * even if it races with the clear.
+     */
+    private long currentVersion() {
+        long version = discountConfigHolder.getVersion();
+        if (version != cachedVersion) {
+            cachedVersion = version;
+            invalidateAll();
+        }
+        return version;
+    }
+
+    private Segment segmentFor(BasketKey key) {
+        int hash = key.hashCode();
+        return segments[((hash ^ (hash >>> 16)) & 0x7fffffff) % segments.length];
+    }
+
+    /**
+     * One lock stripe: an access-ordered map that evicts its least recently used entry.
+     */
+    private final class Segment {
+
+        private final Map<BasketKey, PricedBasket> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<BasketKey, PricedBasket>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<BasketKey, PricedBasket> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized PricedBasket get(BasketKey key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(BasketKey key, PricedBasket value) {
+            entries.put(key, value);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Everything pricing depends on, with the hash computed once.
+     */
+    private static final class BasketKey {
+
+        private final long version;
+        private final boolean premiumCustomer;
+        private final String[] productIds;
+        private final int[] quantities;
+        private final BigDecimal[] unitPrices;
+        private final int hash;
+
+        private BasketKey(long version, boolean premiumCustomer, String[] productIds,
+                          int[] quantities, BigDecimal[] unitPrices) {
+            this.version = version;
+            this.premiumCustomer = premiumCustomer;
+            this.productIds = productIds;
+            this.quantities = quantities;
+            this.unitPrices = unitPrices;
+
+            int h = Long.hashCode(version) * 31 + (premiumCustomer ? 1 : 0);
+            for (int i = 0; i < quantities.length; i++) {
+                h = h * 31 + Objects.hashCode(productIds[i]);
+                h = h * 31 + quantities[i];
+                h = h * 31 + unitPrices[i].hashCode();
+            }
+            this.hash = h;
+        }
+
+        /**
+         * @return the key, or null if the order would be rejected by pricing
+         */
+        static BasketKey of(Order order, OrderService orderService, long version) {
+            if (order == null || order.itemCount() == 0) {
+                return null;
+            }
+
+            List<OrderItem> items = order.getItemsView();
+            String[] productIds = new String[items.size()];
+            int[] quantities = new int[items.size()];
+            BigDecimal[] unitPrices = new BigDecimal[items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                OrderItem item = items.get(i);
+                if (item == null || item.getQuantity() == null || item.getQuantity() <= 0
+                        || item.getUnitPrice() == null || item.getUnitPrice().signum() < 0) {
+                    return null;
+                }
+                productIds[i] = item.getProductId();
+                quantities[i] = item.getQuantity();
+                unitPrices[i] = item.getUnitPrice();
+            }
+
+            return new BasketKey(version, orderService.isPremiumCustomer(order.getCustomerId()),
+                    productIds, quantities, unitPrices);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            BasketKey that = (BasketKey) o;
+            return hash == that.hash
+                    && version == that.version
+                    && premiumCustomer == that.premiumCustomer
+                    && Arrays.equals(quantities, that.quantities)
+                    && Arrays.equals(unitPrices, that.unitPrices)
+                    && Arrays.equals(productIds, that.productIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The amounts written by pricing, ready to be copied onto an identical basket.
+     */
+    private static final class PricedBasket {
+
+        private final BigDecimal subtotal;
+        private final BigDecimal discountAmount;
+        private final BigDecimal totalAmount;
+        private final BigDecimal[] lineTotals;
+
+        private PricedBasket(BigDecimal subtotal, BigDecimal discountAmount, BigDecimal totalAmount,
+                             BigDecimal[] lineTotals) {
+            this.subtotal = subtotal;
+            this.discountAmount = discountAmount;
+            this.totalAmount = totalAmount;
+            this.lineTotals = lineTotals;
+        }
+
+        static PricedBasket of(Order order) {
+            BigDecimal[] lineTotals = new BigDecimal[order.itemCount()];
+            for (int i = 0; i < lineTotals.length; i++) {
+                lineTotals[i] = order.itemAt(i).getLineTotal();
+            }
+            return new PricedBasket(order.getSubtotal(), order.getDiscountAmount(), order.getTotalAmount(), lineTotals);
+        }
+
+        void applyTo(Order order) {
+            for (int i = 0; i < lineTotals.length; i++) {
+                order.itemAt(i).setLineTotal(lineTotals[i]);
+            }
+            order.setSubtotal(subtotal);
+            order.setDiscountAmount(discountAmount);
+            order.setTotalAmount(totalAmount);
+        }
+    }
+}
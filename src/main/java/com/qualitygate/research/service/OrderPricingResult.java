@@ -0,0 +1,92 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.domain.Order;
+
+/**
+ * Service Layer - OrderPricingResult
+ *
+ * Outcome of pricing a single order. Either the order was priced successfully, it was
+ * rejected by validation with an {@link OrderRejectionReason}, or the failure raised by the
+ * pricing rules is captured so the rest of a batch can continue.
+ */
+public final class OrderPricingResult {
+
+    private final Order order;
+    private final OrderRejectionReason rejectionReason;
+    private final RuntimeException failure;
+
+    private OrderPricingResult(Order order, OrderRejectionReason rejectionReason, RuntimeException failure) {
+        this.order = order;
+        this.rejectionReason = rejectionReason;
+        this.failure = failure;
+    }
+
+    /**
+     * Creates a successful result for a priced order.
+     *
+     * @param order The priced order
+     * @return A successful result
+     */
+    public static OrderPricingResult success(Order order) {
+        return new OrderPricingResult(order, null, null);
+    }
+
+    /**
+     * Creates a failed result for an order that could not be priced.
+     *
+     * @param order The order that failed (may be null)
+     * @param failure The exception raised while pricing
+     * @return A failed result
+     */
+    public static OrderPricingResult failure(Order order, RuntimeException failure) {
+        if (failure == null) {
+            throw new IllegalArgumentException("Failure cannot be null");
+        }
+        return new OrderPricingResult(order, null, failure);
+    }
+
+    /**
+     * Creates a result for an order rejected by validation.
+     *
+     * @param order The rejected order (may be null)
+     * @param reason The validation rule the order failed
+     * @return A rejected result
+     */
+    public static OrderPricingResult rejected(Order order, OrderRejectionReason reason) {
+        if (reason == null) {
+            throw new IllegalArgumentException("Rejection reason cannot be null");
+        }
+        return new OrderPricingResult(order, reason, null);
+    }
+
+    public boolean isSuccess() {
+        return rejectionReason == null && failure == null;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public OrderRejectionReason getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    public String getFailureMessage() {
+        if (rejectionReason != null) {
+            return rejectionReason.getMessage();
+        }
+        return failure != null ? failure.getMessage() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderPricingResult{" +
+                "order=" + order +
+                ", failure=" + getFailureMessage() +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package com.qualitygate.research.service;
+
+/**
+ * Service Layer - OrderRejectionReason
+ *
+ * Reasons an order can be rejected by the validation rules in {@link OrderService}.
+ * Each reason carries the message used when the rule is reported as an exception.
+ */
+public enum OrderRejectionReason {
+
+    NULL_ORDER("Order cannot be null"),
+    INVALID_CUSTOMER_ID("Order customer ID must be positive"),
+    NO_ITEMS("Order must contain at least one item"),
+    NULL_ITEM("Order item cannot be null"),
+    INVALID_PRODUCT_ID("Item product ID cannot be blank"),
+    INVALID_QUANTITY("Item quantity must be greater than zero"),
+    INVALID_UNIT_PRICE("Item unit price must be non-negative");
+
+    private final String message;
+
+    OrderRejectionReason(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
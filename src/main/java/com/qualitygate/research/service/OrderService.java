@@ -1,12 +1,20 @@
 package com.qualitygate.research.service;
 
 import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderBatch;
 import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.domain.OrderView;
 import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.DiscountConfigurationHolder;
+import com.qualitygate.research.config.VolumeDiscountSchedule;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Service Layer - OrderService
@@ -15,22 +23,72 @@ import java.util.List;
  * where a number of business rules need to be applied in a specific sequence.
  * 
  * Key design elements:
- * - Stateless Service Methods
  * - Explicit parameter validation
  * - Clear separation of calculation steps
- * - Absolutely no side effects or external dependencies
+ * - Pricing depends only on the order, the current configuration and the customer tier resolver
  * 
- * This allows for deterministic behavior and is necessary for performing unit testing and mutation testing.
+ * The service holds shared state, and every method is safe to call from many threads:
+ * - The {@link DiscountConfigurationHolder}, which can be swapped at runtime. Each pricing call
+ *   reads one snapshot, so an order is never priced half under the old rules.
+ * - A volatile cache of the rules compiled from the last snapshot seen. A snapshot change
+ *   recompiles them; racing threads may compile the same snapshot twice, but never mix two.
+ * - {@link PricingMetrics}: counters and latency histograms, recorded only while enabled.
+ * 
+ * Apart from the metrics, the only side effect is writing the computed amounts onto the order
+ * being priced, so results stay deterministic for unit testing and mutation testing.
  */
 public class OrderService {
     
-    private final DiscountConfiguration discountConfig;
+    /**
+     * Number of leaf tasks created per worker thread when pricing a batch.
+     * Over-partitioning lets work stealing even out orders of different sizes.
+     */
+    private static final int BATCH_TASKS_PER_WORKER = 8;
+    
+    /**
+     * Orders summed per call to the columnar discount kernel in {@link #calculateBatchTotals(OrderBatch)};
+     * small enough for the kernel's columns to stay in cache.
+     */
+    private static final int BATCH_KERNEL_CHUNK = 1024;
+    
+    private final DiscountConfigurationHolder discountConfigHolder;
+    
+    private final CustomerTierResolver customerTierResolver;
+    
+    // Rules compiled from the most recently seen configuration snapshot
+    private volatile PricingRules pricingRules;
+    
+    private final PricingMetrics pricingMetrics = new PricingMetrics();
     
     public OrderService(DiscountConfiguration discountConfig) {
         if (discountConfig == null) {
             throw new IllegalArgumentException("DiscountConfiguration cannot be null");
         }
-        this.discountConfig = discountConfig;
+        this.discountConfigHolder = new DiscountConfigurationHolder(discountConfig);
+        this.customerTierResolver = CustomerTierResolver.DIVISIBLE_BY_100;
+    }
+    
+    /**
+     * Creates a service that follows configuration reloads.
+     * Each calculation uses the snapshot current when it starts, from start to finish.
+     */
+    public OrderService(DiscountConfigurationHolder discountConfigHolder) {
+        this(discountConfigHolder, CustomerTierResolver.DIVISIBLE_BY_100);
+    }
+    
+    /**
+     * Creates a service that follows configuration reloads and resolves premium customers
+     * with the given resolver instead of the divisible-by-100 rule.
+     */
+    public OrderService(DiscountConfigurationHolder discountConfigHolder, CustomerTierResolver customerTierResolver) {
+        if (discountConfigHolder == null) {
+            throw new IllegalArgumentException("DiscountConfigurationHolder cannot be null");
+        }
+        if (customerTierResolver == null) {
+            throw new IllegalArgumentException("CustomerTierResolver cannot be null");
+        }
+        this.discountConfigHolder = discountConfigHolder;
+        this.customerTierResolver = customerTierResolver;
     }
     
     /**
@@ -47,66 +105,470 @@ public class OrderService {
      * @throws IllegalArgumentException if order is null or invalid
      */
     public Order calculateOrderTotal(Order order) {
+        PricingMetrics metrics = activeMetrics();
+        long start = metrics != null ? System.nanoTime() : 0L;
+        
         // Explicit parameter validation
         if (order == null) {
-            throw new IllegalArgumentException("Order cannot be null");
+            throw rejection(metrics, OrderRejectionReason.NULL_ORDER);
         }
         
-        List<OrderItem> items = order.getItems();
+        List<OrderItem> items = order.getItemsView();
         if (items == null || items.isEmpty()) {
-            throw new IllegalArgumentException("Order must contain at least one item");
+            throw rejection(metrics, OrderRejectionReason.NO_ITEMS);
         }
         
+        PricingRules rules = currentRules();
+        
         // Step 1: Calculate subtotal
-        BigDecimal subtotal = calculateSubtotal(items);
+        BigDecimal subtotal = calculateSubtotal(items, metrics);
+        order.setSubtotal(subtotal);
+        lap(metrics, PricingStep.SUBTOTAL, start);
+        
+        return applyDiscounts(rules, order, subtotal, calculateTotalQuantity(items), metrics, start);
+    }
+    
+    /**
+     * Validates and prices an order in a single traversal of its items.
+     * Accepts exactly the orders {@link #validateOrder(Order)} accepts and prices them exactly as
+     * {@link #calculateOrderTotal(Order)} does. A rejected order is left unmodified.
+     * 
+     * @param order The order to validate and price
+     * @return The priced order, or the reason it was rejected
+     */
+    public OrderPricingResult processOrder(Order order) {
+        PricingMetrics metrics = activeMetrics();
+        long start = metrics != null ? System.nanoTime() : 0L;
+        
+        if (order == null) {
+            return rejected(metrics, null, OrderRejectionReason.NULL_ORDER);
+        }
+        
+        if (order.getCustomerId() == null || order.getCustomerId() <= 0) {
+            return rejected(metrics, order, OrderRejectionReason.INVALID_CUSTOMER_ID);
+        }
+        
+        List<OrderItem> items = order.getItemsView();
+        if (items == null || items.isEmpty()) {
+            return rejected(metrics, order, OrderRejectionReason.NO_ITEMS);
+        }
+        
+        // Line totals are only written back once every item has passed validation
+        BigDecimal[] lineTotals = new BigDecimal[items.size()];
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int totalQuantity = 0;
+        
+        for (int i = 0; i < lineTotals.length; i++) {
+            OrderItem item = items.get(i);
+            OrderRejectionReason rejection = checkItem(item);
+            if (rejection != null) {
+                return rejected(metrics, order, rejection);
+            }
+            
+            BigDecimal lineTotal = calculateLineTotal(item);
+            lineTotals[i] = lineTotal;
+            subtotal = subtotal.add(lineTotal);
+            totalQuantity += item.getQuantity();
+        }
+        
+        for (int i = 0; i < lineTotals.length; i++) {
+            items.get(i).setLineTotal(lineTotals[i]);
+        }
+        
+        subtotal = subtotal.setScale(2, RoundingMode.HALF_UP);
         order.setSubtotal(subtotal);
+        lap(metrics, PricingStep.SUBTOTAL, start);
+        
+        return OrderPricingResult.success(
+                applyDiscounts(currentRules(), order, subtotal, totalQuantity, metrics, start));
+    }
+    
+    /**
+     * Prices an order view in cents without materialising Order objects, for orders read
+     * from a log or an off-heap store. Applies the rules of {@link #calculateOrderTotal(Order)}
+     * and gives the same amounts, but reports a rejection instead of throwing.
+     * 
+     * @param order The order to price
+     * @param amounts Receives the subtotal, discount and total on success
+     * @return null on success, otherwise the rule the order failed
+     * @throws IllegalArgumentException if amounts is null
+     * @throws ArithmeticException if an amount does not fit in long cents
+     */
+    public OrderRejectionReason priceView(OrderView order, PricedAmounts amounts) {
+        if (amounts == null) {
+            throw new IllegalArgumentException("PricedAmounts cannot be null");
+        }
+        PricingMetrics metrics = activeMetrics();
+        long start = metrics != null ? System.nanoTime() : 0L;
+        
+        OrderRejectionReason reason;
+        if (order == null) {
+            reason = OrderRejectionReason.NULL_ORDER;
+        } else {
+            PricingRules rules = currentRules();
+            FixedPointPricingEngine engine = rules.engine(customerTierResolver);
+            if (!engine.isFixedPointSupported()) {
+                reason = priceViewExact(rules, order, amounts);
+            } else {
+                try {
+                    reason = engine.priceView(order, amounts);
+                } catch (ArithmeticException overflow) {
+                    reason = priceViewExact(rules, order, amounts);
+                }
+            }
+        }
+        
+        if (metrics != null) {
+            if (reason != null) {
+                metrics.recordRejection(reason);
+            } else {
+                metrics.recordPriced(System.nanoTime() - start);
+            }
+        }
+        return reason;
+    }
+    
+    /**
+     * BigDecimal counterpart of {@link FixedPointPricingEngine#priceView(OrderView, PricedAmounts)}.
+     */
+    private OrderRejectionReason priceViewExact(PricingRules rules, OrderView order, PricedAmounts amounts) {
+        int itemCount = order.itemCount();
+        if (itemCount == 0) {
+            return OrderRejectionReason.NO_ITEMS;
+        }
+        
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int totalQuantity = 0;
+        for (int i = 0; i < itemCount; i++) {
+            int quantity = order.quantityAt(i);
+            if (quantity <= 0) {
+                return OrderRejectionReason.INVALID_QUANTITY;
+            }
+            if (!order.hasUnitPriceAt(i) || order.unitPriceUnscaledAt(i) < 0) {
+                return OrderRejectionReason.INVALID_UNIT_PRICE;
+            }
+            subtotal = subtotal.add(BigDecimal.valueOf(order.unitPriceUnscaledAt(i), order.unitPriceScaleAt(i))
+                    .multiply(BigDecimal.valueOf(quantity))
+                    .setScale(2, RoundingMode.HALF_UP));
+            totalQuantity += quantity;
+        }
+        
+        subtotal = subtotal.setScale(2, RoundingMode.HALF_UP);
+        Long customerId = order.hasCustomerId() ? order.getCustomerId() : null;
+        BigDecimal discount = calculateDiscountAmount(rules, subtotal, totalQuantity, customerId, null);
+        BigDecimal total = subtotal.subtract(discount).setScale(2, RoundingMode.HALF_UP);
+        amounts.set(toCents(subtotal), toCents(discount), toCents(total));
+        return null;
+    }
+    
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    /**
+     * Prices an order and returns a handle that keeps it priced through item edits.
+     * The handle keeps a running subtotal and total quantity, so each edit re-evaluates the
+     * discounts in constant time instead of recomputing every line. After every edit the order
+     * carries the amounts {@link #calculateOrderTotal(Order)} would give it.
+     * 
+     * Unlike {@link #calculateOrderTotal(Order)}, an order without items is accepted: a cart
+     * starts empty, and its amounts stay unset until it has items.
+     * 
+     * @param order The order to track; edit it only through the returned handle from now on
+     * @return A handle for editing the order
+     * @throws IllegalArgumentException if order is null or has an item pricing would reject
+     */
+    public IncrementalPricedOrder priceIncrementally(Order order) {
+        if (order == null) {
+            throw rejection(activeMetrics(), OrderRejectionReason.NULL_ORDER);
+        }
+        return new IncrementalPricedOrder(this, order);
+    }
+    
+    /**
+     * Applies steps 2 to 7 of the pricing sequence to an order whose subtotal and total
+     * quantity were kept up to date by {@link IncrementalPricedOrder}.
+     */
+    Order applyDiscounts(Order order, BigDecimal subtotal, int totalQuantity) {
+        PricingMetrics metrics = activeMetrics();
+        long start = metrics != null ? System.nanoTime() : 0L;
+        order.setSubtotal(subtotal);
+        return applyDiscounts(currentRules(), order, subtotal, totalQuantity, metrics, start);
+    }
+    
+    /**
+     * Applies steps 2 to 7 of the pricing sequence once the subtotal and total quantity are known.
+     */
+    private Order applyDiscounts(PricingRules rules, Order order, BigDecimal subtotal, int totalQuantity,
+                                 PricingMetrics metrics, long start) {
+        BigDecimal discountAmount = calculateDiscountAmount(rules, subtotal, totalQuantity, order.getCustomerId(), metrics);
+        order.setDiscountAmount(discountAmount);
+        long stepStart = metrics != null ? System.nanoTime() : 0L;
+        
+        // Step 7: Calculate final total
+        BigDecimal totalAmount = subtotal.subtract(discountAmount);
+        order.setTotalAmount(totalAmount.setScale(2, RoundingMode.HALF_UP));
+        
+        if (metrics != null) {
+            metrics.recordPriced(lap(metrics, PricingStep.TOTAL, stepStart) - start);
+        }
+        return order;
+    }
+    
+    /**
+     * Applies steps 2 to 6 of the pricing sequence: the best single discount, capped.
+     * 
+     * @param metrics Where to record step latencies and the discount outcome, or null to record nothing
+     */
+    private BigDecimal calculateDiscountAmount(PricingRules rules, BigDecimal subtotal, int totalQuantity, Long customerId,
+                                              PricingMetrics metrics) {
+        DiscountConfiguration discountConfig = rules.discountConfig;
+        long stepStart = metrics != null ? System.nanoTime() : 0L;
         
         // Step 2: Apply volume discount
-        BigDecimal volumeDiscount = calculateVolumeDiscount(items, subtotal);
+        BigDecimal volumeDiscount = calculateVolumeDiscount(rules.volumeDiscountSchedule, totalQuantity, subtotal);
+        stepStart = lap(metrics, PricingStep.VOLUME_DISCOUNT, stepStart);
         
         // Step 3: Apply customer tier discount (if applicable)
-        BigDecimal customerDiscount = calculateCustomerTierDiscount(subtotal, order.getCustomerId());
+        BigDecimal customerDiscount = calculateCustomerTierDiscount(discountConfig, subtotal, customerId);
+        stepStart = lap(metrics, PricingStep.CUSTOMER_TIER_DISCOUNT, stepStart);
         
         // Step 4: Apply promotional discount (if applicable)
-        BigDecimal promotionalDiscount = calculatePromotionalDiscount(subtotal);
+        BigDecimal promotionalDiscount = calculatePromotionalDiscount(discountConfig, subtotal);
+        stepStart = lap(metrics, PricingStep.PROMOTIONAL_DISCOUNT, stepStart);
         
         // Step 5: Determine maximum discount (business rule: only one discount type applies)
         BigDecimal maxDiscount = volumeDiscount.max(customerDiscount).max(promotionalDiscount);
+        stepStart = lap(metrics, PricingStep.MAX_DISCOUNT, stepStart);
         
         // Step 6: Apply discount cap (if configured)
-        BigDecimal discountAmount = applyDiscountCap(maxDiscount, subtotal);
-        order.setDiscountAmount(discountAmount);
+        BigDecimal discount = applyDiscountCap(discountConfig, maxDiscount, subtotal);
         
-        // Step 7: Calculate final total
-        BigDecimal totalAmount = subtotal.subtract(discountAmount);
-        order.setTotalAmount(totalAmount.setScale(2, RoundingMode.HALF_UP));
+        if (metrics != null) {
+            lap(metrics, PricingStep.DISCOUNT_CAP, stepStart);
+            // applyDiscountCap hands back its argument unless the cap applied
+            metrics.recordDiscount(winningDiscountType(volumeDiscount, customerDiscount, promotionalDiscount, maxDiscount),
+                    discount != maxDiscount);
+        }
+        return discount;
+    }
+    
+    /**
+     * Discount the current configuration gives an order with the given subtotal, total quantity and
+     * customer, as {@link #calculateOrderTotal(Order)} would compute it, without an Order.
+     */
+    BigDecimal discountFor(BigDecimal subtotal, int totalQuantity, Long customerId) {
+        return calculateDiscountAmount(currentRules(), subtotal, totalQuantity, customerId, null);
+    }
+    
+    /**
+     * Identifies which discount won when a priced order was priced under the current
+     * configuration, the same way {@link PricingMetrics} counts discount wins.
+     */
+    DiscountType discountTypeOf(Order order) {
+        PricingRules rules = currentRules();
+        BigDecimal subtotal = order.getSubtotal();
+        BigDecimal volumeDiscount = calculateVolumeDiscount(rules.volumeDiscountSchedule,
+                calculateTotalQuantity(order.getItemsView()), subtotal);
+        BigDecimal customerDiscount = calculateCustomerTierDiscount(rules.discountConfig, subtotal, order.getCustomerId());
+        BigDecimal promotionalDiscount = calculatePromotionalDiscount(rules.discountConfig, subtotal);
+        return winningDiscountType(volumeDiscount, customerDiscount, promotionalDiscount,
+                volumeDiscount.max(customerDiscount).max(promotionalDiscount));
+    }
+    
+    /**
+     * Identifies which candidate became the maximum discount; ties go to the earlier step.
+     */
+    private static DiscountType winningDiscountType(BigDecimal volumeDiscount, BigDecimal customerDiscount,
+                                                    BigDecimal promotionalDiscount, BigDecimal maxDiscount) {
+        if (maxDiscount.signum() == 0) {
+            return DiscountType.NONE;
+        }
+        if (volumeDiscount.compareTo(maxDiscount) == 0) {
+            return DiscountType.VOLUME;
+        }
+        if (customerDiscount.compareTo(maxDiscount) == 0) {
+            return DiscountType.CUSTOMER_TIER;
+        }
+        return DiscountType.PROMOTIONAL;
+    }
+    
+    /**
+     * Prices every order of a columnar batch, writing the subtotal, discount and total columns.
+     * Runs in long cents through {@link FixedPointPricingEngine}, so each row gets the same
+     * amounts {@link #calculateOrderTotal(Order)} would produce for the equivalent Order.
+     * Subtotals are summed a chunk of orders at a time and each chunk's discounts are computed
+     * by the engine's columnar kernel.
+     * If a discount rate has no exact fixed-point form, discounts are computed with BigDecimal.
+     * 
+     * @param batch The batch to price
+     * @throws IllegalArgumentException if the batch is null
+     * @throws ArithmeticException if an order's amounts do not fit in long cents
+     */
+    public void calculateBatchTotals(OrderBatch batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("OrderBatch cannot be null");
+        }
         
-        return order;
+        PricingRules rules = currentRules();
+        FixedPointPricingEngine engine = rules.engine(customerTierResolver);
+        boolean fixedPoint = engine.isFixedPointSupported();
+        
+        // Sum a chunk of orders into columns, price the whole chunk in one kernel call, then write back
+        int chunk = Math.min(BATCH_KERNEL_CHUNK, batch.orderCount());
+        long[] subtotals = new long[chunk];
+        int[] quantities = new int[chunk];
+        boolean[] premium = new boolean[chunk];
+        long[] discounts = new long[chunk];
+        for (int start = 0; start < batch.orderCount(); start += chunk) {
+            int count = Math.min(chunk, batch.orderCount() - start);
+            for (int i = 0; i < count; i++) {
+                int order = start + i;
+                long subtotal = 0L;
+                int totalQuantity = 0;
+                int end = batch.itemEnd(order);
+                for (int item = batch.itemStart(order); item < end; item++) {
+                    int quantity = batch.quantity(item);
+                    subtotal = Math.addExact(subtotal, Math.multiplyExact(batch.unitPriceCents(item), (long) quantity));
+                    totalQuantity += quantity;
+                }
+                subtotals[i] = subtotal;
+                quantities[i] = totalQuantity;
+                premium[i] = fixedPoint && batch.hasCustomer(order) && engine.isPremiumCustomer(batch.customerId(order));
+            }
+            
+            if (fixedPoint) {
+                engine.discountCents(subtotals, quantities, premium, discounts, count);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    Long customerId = batch.hasCustomer(start + i) ? batch.customerId(start + i) : null;
+                    discounts[i] = calculateDiscountAmount(rules, BigDecimal.valueOf(subtotals[i], 2), quantities[i],
+                            customerId, null).movePointRight(2).longValueExact();
+                }
+            }
+            
+            for (int i = 0; i < count; i++) {
+                batch.setPricing(start + i, subtotals[i], discounts[i], Math.subtractExact(subtotals[i], discounts[i]));
+            }
+        }
+    }
+    
+    /**
+     * Calculates totals for a batch of orders using the common fork-join pool.
+     * 
+     * @param orders The orders to price
+     * @return One result per order, in the same order as the input
+     * @throws IllegalArgumentException if the order list is null
+     * @see #calculateOrderTotals(List, ForkJoinPool)
+     */
+    public List<OrderPricingResult> calculateOrderTotals(List<Order> orders) {
+        return calculateOrderTotals(orders, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Calculates totals for a batch of orders, spreading the work over the given pool.
+     * Each order is priced exactly as {@link #calculateOrderTotal(Order)} would price it.
+     * An order that fails validation gets a rejected result with its
+     * {@link OrderRejectionReason}, as {@link #processOrder(Order)} reports it; any other
+     * failure is captured in a failed result. Neither aborts the rest of the batch.
+     * 
+     * Orders are mutated in place, so the same Order instance must not appear twice in a batch.
+     * 
+     * @param orders The orders to price
+     * @param pool The pool to run the pricing tasks on
+     * @return One result per order, at the order's index in the input
+     * @throws IllegalArgumentException if the order list or pool is null
+     */
+    public List<OrderPricingResult> calculateOrderTotals(List<Order> orders, ForkJoinPool pool) {
+        if (orders == null) {
+            throw new IllegalArgumentException("Order list cannot be null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool cannot be null");
+        }
+        
+        Order[] batch = orders.toArray(new Order[0]);
+        OrderPricingResult[] results = new OrderPricingResult[batch.length];
+        if (batch.length > 0) {
+            int threshold = Math.max(1, batch.length / (pool.getParallelism() * BATCH_TASKS_PER_WORKER));
+            pool.invoke(new BatchPricingTask(batch, results, 0, batch.length, threshold));
+        }
+        
+        return new ArrayList<>(Arrays.asList(results));
+    }
+    
+    /**
+     * Prices a single order, capturing any rejection or failure instead of propagating it.
+     */
+    private OrderPricingResult priceForBatch(Order order) {
+        try {
+            return OrderPricingResult.success(calculateOrderTotal(order));
+        } catch (OrderRejectedException e) {
+            return OrderPricingResult.rejected(order, e.reason);
+        } catch (RuntimeException e) {
+            return OrderPricingResult.failure(order, e);
+        }
+    }
+    
+    /**
+     * Fork-join task that prices a contiguous range of a batch.
+     * Ranges above the threshold are split in half; leaves price their orders sequentially.
+     */
+    private final class BatchPricingTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final Order[] batch;
+        private final OrderPricingResult[] results;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        
+        BatchPricingTask(Order[] batch, OrderPricingResult[] results, int from, int to, int threshold) {
+            this.batch = batch;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    results[i] = priceForBatch(batch[i]);
+                }
+                return;
+            }
+            
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchPricingTask(batch, results, from, mid, threshold),
+                    new BatchPricingTask(batch, results, mid, to, threshold));
+        }
     }
     
     /**
      * Calculates the subtotal by summing all line items.
      * Clear separation of calculation steps.
      */
-    private BigDecimal calculateSubtotal(List<OrderItem> items) {
+    private BigDecimal calculateSubtotal(List<OrderItem> items, PricingMetrics metrics) {
         BigDecimal subtotal = BigDecimal.ZERO;
         
-        for (OrderItem item : items) {
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = items.get(i);
             if (item == null) {
-                throw new IllegalArgumentException("Order item cannot be null");
+                throw rejection(metrics, OrderRejectionReason.NULL_ITEM);
             }
             
             if (item.getQuantity() == null || item.getQuantity() <= 0) {
-                throw new IllegalArgumentException("Item quantity must be greater than zero");
+                throw rejection(metrics, OrderRejectionReason.INVALID_QUANTITY);
             }
             
             if (item.getUnitPrice() == null || item.getUnitPrice().compareTo(BigDecimal.ZERO) < 0) {
-                throw new IllegalArgumentException("Item unit price must be non-negative");
+                throw rejection(metrics, OrderRejectionReason.INVALID_UNIT_PRICE);
             }
             
-            BigDecimal lineTotal = item.getUnitPrice()
-                    .multiply(BigDecimal.valueOf(item.getQuantity()))
-                    .setScale(2, RoundingMode.HALF_UP);
+            BigDecimal lineTotal = calculateLineTotal(item);
             
             item.setLineTotal(lineTotal);
             subtotal = subtotal.add(lineTotal);
@@ -115,24 +577,48 @@ public class OrderService {
         return subtotal.setScale(2, RoundingMode.HALF_UP);
     }
     
+    /**
+     * Rejects an item {@link #calculateOrderTotal(Order)} would reject, with the same message.
+     */
+    void checkPricedItem(OrderItem item) {
+        if (item == null) {
+            throw rejection(activeMetrics(), OrderRejectionReason.NULL_ITEM);
+        }
+        if (item.getQuantity() == null || item.getQuantity() <= 0) {
+            throw rejection(activeMetrics(), OrderRejectionReason.INVALID_QUANTITY);
+        }
+        if (item.getUnitPrice() == null || item.getUnitPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw rejection(activeMetrics(), OrderRejectionReason.INVALID_UNIT_PRICE);
+        }
+    }
+    
+    /**
+     * Calculates a single line total: unit price times quantity, rounded to cents.
+     */
+    static BigDecimal calculateLineTotal(OrderItem item) {
+        return item.getUnitPrice()
+                .multiply(BigDecimal.valueOf(item.getQuantity()))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * Sums the quantity across all items.
+     */
+    private int calculateTotalQuantity(List<OrderItem> items) {
+        int totalQuantity = 0;
+        for (int i = 0; i < items.size(); i++) {
+            Integer quantity = items.get(i).getQuantity();
+            totalQuantity += quantity != null ? quantity : 0;
+        }
+        return totalQuantity;
+    }
+    
     /**
      * Calculates volume discount based on total quantity.
      * Business rule: Higher quantities get better discounts.
      */
-    private BigDecimal calculateVolumeDiscount(List<OrderItem> items, BigDecimal subtotal) {
-        int totalQuantity = items.stream()
-                .mapToInt(item -> item.getQuantity() != null ? item.getQuantity() : 0)
-                .sum();
-        
-        BigDecimal discountRate = BigDecimal.ZERO;
-        
-        if (totalQuantity >= discountConfig.getVolumeDiscountTier3Threshold()) {
-            discountRate = discountConfig.getVolumeDiscountTier3Rate();
-        } else if (totalQuantity >= discountConfig.getVolumeDiscountTier2Threshold()) {
-            discountRate = discountConfig.getVolumeDiscountTier2Rate();
-        } else if (totalQuantity >= discountConfig.getVolumeDiscountTier1Threshold()) {
-            discountRate = discountConfig.getVolumeDiscountTier1Rate();
-        }
+    private BigDecimal calculateVolumeDiscount(VolumeDiscountSchedule schedule, int totalQuantity, BigDecimal subtotal) {
+        BigDecimal discountRate = schedule.rateFor(totalQuantity);
         
         return subtotal.multiply(discountRate).setScale(2, RoundingMode.HALF_UP);
     }
@@ -141,15 +627,12 @@ public class OrderService {
      * Calculates customer tier discount based on customer ID.
      * Business rule: Premium customers get additional discount.
      */
-    private BigDecimal calculateCustomerTierDiscount(BigDecimal subtotal, Long customerId) {
+    private BigDecimal calculateCustomerTierDiscount(DiscountConfiguration discountConfig, BigDecimal subtotal, Long customerId) {
         if (customerId == null) {
             return BigDecimal.ZERO;
         }
         
-        // Business rule: Customer IDs divisible by 100 are premium customers
-        boolean isPremiumCustomer = (customerId % 100) == 0;
-        
-        if (isPremiumCustomer) {
+        if (isPremiumCustomer(customerId)) {
             return subtotal.multiply(discountConfig.getPremiumCustomerDiscountRate())
                     .setScale(2, RoundingMode.HALF_UP);
         }
@@ -157,11 +640,41 @@ public class OrderService {
         return BigDecimal.ZERO;
     }
     
+    /**
+     * Business rule: premium customers are decided by the configured {@link CustomerTierResolver}
+     * (by default, customer IDs divisible by 100).
+     * 
+     * @param customerId The customer ID (may be null)
+     * @return true if the customer gets the premium discount
+     */
+    public boolean isPremiumCustomer(Long customerId) {
+        return customerId != null && customerTierResolver.isPremium(customerId);
+    }
+    
+    public CustomerTierResolver getCustomerTierResolver() {
+        return customerTierResolver;
+    }
+    
+    /**
+     * Returns the holder this service reads its configuration snapshots from.
+     */
+    public DiscountConfigurationHolder getDiscountConfigurationHolder() {
+        return discountConfigHolder;
+    }
+    
+    /**
+     * Returns this service's pricing metrics. They are disabled until
+     * {@link PricingMetrics#setEnabled(boolean)} is called.
+     */
+    public PricingMetrics getPricingMetrics() {
+        return pricingMetrics;
+    }
+    
     /**
      * Calculates promotional discount based on order value.
      * Business rule: Orders above certain threshold get promotional discount.
      */
-    private BigDecimal calculatePromotionalDiscount(BigDecimal subtotal) {
+    private BigDecimal calculatePromotionalDiscount(DiscountConfiguration discountConfig, BigDecimal subtotal) {
         if (subtotal.compareTo(discountConfig.getPromotionalDiscountThreshold()) >= 0) {
             return subtotal.multiply(discountConfig.getPromotionalDiscountRate())
                     .setScale(2, RoundingMode.HALF_UP);
@@ -174,7 +687,7 @@ public class OrderService {
      * Applies discount cap if configured.
      * Business rule: Maximum discount cannot exceed configured percentage of subtotal.
      */
-    private BigDecimal applyDiscountCap(BigDecimal discount, BigDecimal subtotal) {
+    private BigDecimal applyDiscountCap(DiscountConfiguration discountConfig, BigDecimal discount, BigDecimal subtotal) {
         BigDecimal maxAllowedDiscount = subtotal.multiply(discountConfig.getMaxDiscountRate());
         
         if (discount.compareTo(maxAllowedDiscount) > 0) {
@@ -197,30 +710,141 @@ public class OrderService {
             return false;
         }
         
-        List<OrderItem> items = order.getItems();
+        List<OrderItem> items = order.getItemsView();
         if (items == null || items.isEmpty()) {
             return false;
         }
         
-        for (OrderItem item : items) {
-            if (item == null) {
-                return false;
-            }
-            
-            if (item.getProductId() == null || item.getProductId().trim().isEmpty()) {
-                return false;
-            }
-            
-            if (item.getQuantity() == null || item.getQuantity() <= 0) {
-                return false;
-            }
-            
-            if (item.getUnitPrice() == null || item.getUnitPrice().compareTo(BigDecimal.ZERO) < 0) {
+        for (int i = 0; i < items.size(); i++) {
+            if (checkItem(items.get(i)) != null) {
                 return false;
             }
         }
         
         return true;
     }
+    
+    /**
+     * Checks a single item against the validation rules.
+     * 
+     * @return The first rule the item fails, or null if the item is valid
+     */
+    private OrderRejectionReason checkItem(OrderItem item) {
+        if (item == null) {
+            return OrderRejectionReason.NULL_ITEM;
+        }
+        
+        if (item.getProductId() == null || item.getProductId().trim().isEmpty()) {
+            return OrderRejectionReason.INVALID_PRODUCT_ID;
+        }
+        
+        if (item.getQuantity() == null || item.getQuantity() <= 0) {
+            return OrderRejectionReason.INVALID_QUANTITY;
+        }
+        
+        if (item.getUnitPrice() == null || item.getUnitPrice().compareTo(BigDecimal.ZERO) < 0) {
+            return OrderRejectionReason.INVALID_UNIT_PRICE;
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Returns the metrics to record into, or null when recording is off.
+     */
+    private PricingMetrics activeMetrics() {
+        return pricingMetrics.isEnabled() ? pricingMetrics : null;
+    }
+    
+    /**
+     * Records the time elapsed since {@code since} against a step and returns the current time.
+     * Does nothing when metrics are off.
+     */
+    private static long lap(PricingMetrics metrics, PricingStep step, long since) {
+        if (metrics == null) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        metrics.recordStep(step, now - since);
+        return now;
+    }
+    
+    /**
+     * Counts a rejection and builds the exception {@link #calculateOrderTotal(Order)} throws for it.
+     */
+    private static IllegalArgumentException rejection(PricingMetrics metrics, OrderRejectionReason reason) {
+        if (metrics != null) {
+            metrics.recordRejection(reason);
+        }
+        return new OrderRejectedException(reason);
+    }
+    
+    /**
+     * Counts a rejection and builds the result {@link #processOrder(Order)} returns for it.
+     */
+    private static OrderPricingResult rejected(PricingMetrics metrics, Order order, OrderRejectionReason reason) {
+        if (metrics != null) {
+            metrics.recordRejection(reason);
+        }
+        return OrderPricingResult.rejected(order, reason);
+    }
+    
+    /**
+     * Returns the rules for the current configuration snapshot, compiling them if the
+     * snapshot changed since the last call. Lock-free: concurrent callers may compile the
+     * same snapshot twice, which is harmless.
+     */
+    private PricingRules currentRules() {
+        DiscountConfiguration discountConfig = discountConfigHolder.current();
+        PricingRules rules = pricingRules;
+        if (rules == null || rules.discountConfig != discountConfig) {
+            rules = new PricingRules(discountConfig);
+            pricingRules = rules;
+        }
+        return rules;
+    }
+    
+    /**
+     * A configuration snapshot together with its compiled volume tier table and, once
+     * needed, its fixed-point engine.
+     */
+    /**
+     * The exception {@link #calculateOrderTotal(Order)} throws for a rejected order, carrying the
+     * reason so batch pricing can report it.
+     */
+    private static final class OrderRejectedException extends IllegalArgumentException {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final OrderRejectionReason reason;
+        
+        OrderRejectedException(OrderRejectionReason reason) {
+            super(reason.getMessage());
+            this.reason = reason;
+        }
+    }
+    
+    private static final class PricingRules {
+        
+        private final DiscountConfiguration discountConfig;
+        private final VolumeDiscountSchedule volumeDiscountSchedule;
+        private volatile FixedPointPricingEngine engine;
+        
+        private PricingRules(DiscountConfiguration discountConfig) {
+            this.discountConfig = discountConfig;
+            this.volumeDiscountSchedule = VolumeDiscountSchedule.of(discountConfig);
+        }
+        
+        /**
+         * Lock-free like {@link #currentRules()}: racing callers may build the engine twice.
+         */
+        private FixedPointPricingEngine engine(CustomerTierResolver customerTierResolver) {
+            FixedPointPricingEngine current = engine;
+            if (current == null) {
+                current = new FixedPointPricingEngine(discountConfig, customerTierResolver);
+                engine = current;
+            }
+            return current;
+        }
+    }
 }
-
@@ -0,0 +1,259 @@
+package com.qualitygate.research.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Service Layer - PremiumCustomerSet
+ *
+ * Immutable set of premium customer IDs held in primitive arrays, with no boxing.
+ *
+ * Two layouts are chosen from at build time, whichever is smaller:
+ * - a bitmap over [min, max] when the IDs are dense (one bit per ID in the range);
+ * - otherwise an open-addressing hash table of longs at 70% load (about 11.4 bytes per member).
+ * Either way a lookup is a few array reads.
+ */
+public final class PremiumCustomerSet implements CustomerTierResolver {
+
+    private static final double LOAD_FACTOR = 0.7;
+    private static final long EMPTY = 0L;
+
+    private final int size;
+
+    // Bitmap layout
+    private final long[] bits;
+    private final long min;
+    private final long max;
+
+    // Hash layout; slot value 0 means empty, so membership of 0 is kept separately
+    private final long[] table;
+    private final boolean containsZero;
+
+    private PremiumCustomerSet(long[] ids, int count) {
+        long lo = Long.MAX_VALUE;
+        long hi = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            lo = Math.min(lo, ids[i]);
+            hi = Math.max(hi, ids[i]);
+        }
+
+        long hashBytes = 8L * tableLength(count);
+        // Compare the bitmap size in longs before it could overflow
+        boolean dense = count > 0 && hi - lo >= 0 && (hi - lo) / 64 + 1 <= hashBytes / 8;
+
+        if (dense) {
+            this.min = lo;
+            this.max = hi;
+            this.bits = new long[(int) ((hi - lo) / 64 + 1)];
+            this.table = null;
+            this.containsZero = false;
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                long offset = ids[i] - lo;
+                int word = (int) (offset >>> 6);
+                long bit = 1L << offset;
+                if ((bits[word] & bit) == 0) {
+                    bits[word] |= bit;
+                    distinct++;
+                }
+            }
+            this.size = distinct;
+        } else {
+            this.min = 0L;
+            this.max = -1L;
+            this.bits = null;
+            this.table = new long[tableLength(count)];
+            boolean zero = false;
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                long id = ids[i];
+                if (id == EMPTY) {
+                    if (!zero) {
+                        zero = true;
+                        distinct++;
+                    }
+                } else if (insert(table, id)) {
+                    distinct++;
+                }
+            }
+            this.containsZero = zero;
+            this.size = distinct;
+        }
+    }
+
+    /**
+     * Builds a set from the given IDs; duplicates are ignored.
+     */
+    public static PremiumCustomerSet of(long... customerIds) {
+        if (customerIds == null) {
+            throw new IllegalArgumentException("Customer IDs cannot be null");
+        }
+        return new PremiumCustomerSet(customerIds, customerIds.length);
+    }
+
+    /**
+     * Loads a set from a text file with one decimal customer ID per line.
+     * Blank lines and lines starting with '#' are ignored; surrounding spaces are allowed.
+     *
+     * @param file The file to read
+     * @return The set of IDs in the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is not a valid customer ID
+     */
+    public static PremiumCustomerSet load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads IDs in the {@link #load(Path)} format. Parses bytes straight from a reusable
+     * buffer, without creating a String per line.
+     */
+    static PremiumCustomerSet read(InputStream in) throws IOException {
+        IdParser parser = new IdParser();
+        byte[] buffer = new byte[1 << 16];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            for (int i = 0; i < n; i++) {
+                parser.accept(buffer[i]);
+            }
+        }
+        parser.endLine();
+        return new PremiumCustomerSet(parser.ids, parser.count);
+    }
+
+    @Override
+    public boolean isPremium(long customerId) {
+        if (bits != null) {
+            if (customerId < min || customerId > max) {
+                return false;
+            }
+            long offset = customerId - min;
+            return (bits[(int) (offset >>> 6)] & (1L << offset)) != 0;
+        }
+
+        if (customerId == EMPTY) {
+            return containsZero;
+        }
+        long[] slots = table;
+        int slot = start(customerId, slots.length);
+        while (true) {
+            long value = slots[slot];
+            if (value == customerId) {
+                return true;
+            }
+            if (value == EMPTY) {
+                return false;
+            }
+            slot = slot + 1 == slots.length ? 0 : slot + 1;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Approximate heap used by the lookup structure, in bytes.
+     */
+    public long getFootprintBytes() {
+        return 8L * (bits != null ? bits.length : table.length);
+    }
+
+    @Override
+    public String toString() {
+        return "PremiumCustomerSet{" +
+                "size=" + size +
+                ", layout=" + (bits != null ? "bitmap" : "hash") +
+                ", footprintBytes=" + getFootprintBytes() +
+                '}';
+    }
+
+    private static boolean insert(long[] slots, long id) {
+        int slot = start(id, slots.length);
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == id) {
+                return false;
+            }
+            slot = slot + 1 == slots.length ? 0 : slot + 1;
+        }
+        slots[slot] = id;
+        return true;
+    }
+
+    private static int tableLength(int count) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16L, (long) Math.ceil(count / LOAD_FACTOR) + 1));
+    }
+
+    /**
+     * Maps a mixed hash onto [0, length) with a multiply instead of a modulo.
+     */
+    private static int start(long id, int length) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        return (int) (((h >>> 32) * length) >>> 32);
+    }
+
+    private static IllegalArgumentException invalidLine(int line) {
+        return new IllegalArgumentException("Invalid customer ID on line " + line);
+    }
+
+    /**
+     * Line-oriented state machine for the ID file format.
+     */
+    private static final class IdParser {
+
+        private long[] ids = new long[1024];
+        private int count;
+        private int line = 1;
+        private long value;
+        private boolean negative;
+        private int digits;
+        private boolean comment;
+        private boolean trailing;
+
+        void accept(byte b) {
+            if (b == '\n') {
+                endLine();
+            } else if (comment) {
+                return;
+            } else if (b >= '0' && b <= '9') {
+                int digit = b - '0';
+                if (trailing || value > (Long.MAX_VALUE - digit) / 10) {
+                    throw invalidLine(line);
+                }
+                value = value * 10 + digit;
+                digits++;
+            } else if (b == ' ' || b == '\t' || b == '\r') {
+                trailing = digits > 0 || negative;
+            } else if (b == '#' && digits == 0 && !negative) {
+                comment = true;
+            } else if (b == '-' && digits == 0 && !negative) {
+                negative = true;
+            } else {
+                throw invalidLine(line);
+            }
+        }
+
+        void endLine() {
+            if (digits > 0) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = negative ? -value : value;
+            } else if (negative) {
+                throw invalidLine(line);
+            }
+            value = 0L;
+            negative = false;
+            digits = 0;
+            comment = false;
+            trailing = false;
+            line++;
+        }
+    }
+}
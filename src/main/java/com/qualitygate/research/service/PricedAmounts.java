@@ -0,0 +1,41 @@
+package com.qualitygate.research.service;
+
+/**
+ * Service Layer - PricedAmounts
+ *
+ * Reusable holder for the amounts of one priced order, in cents.
+ * Lets cents-native pricing paths return three values without allocating per order.
+ */
+public final class PricedAmounts {
+
+    private long subtotalCents;
+    private long discountCents;
+    private long totalCents;
+
+    void set(long subtotalCents, long discountCents, long totalCents) {
+        this.subtotalCents = subtotalCents;
+        this.discountCents = discountCents;
+        this.totalCents = totalCents;
+    }
+
+    public long getSubtotalCents() {
+        return subtotalCents;
+    }
+
+    public long getDiscountCents() {
+        return discountCents;
+    }
+
+    public long getTotalCents() {
+        return totalCents;
+    }
+
+    @Override
+    public String toString() {
+        return "PricedAmounts{" +
+                "subtotalCents=" + subtotalCents +
+                ", discountCents=" + discountCents +
+                ", totalCents=" + totalCents +
+                '}';
+    }
+}
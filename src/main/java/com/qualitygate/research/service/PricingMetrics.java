@@ -0,0 +1,111 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.metrics.HistogramSnapshot;
+import com.qualitygate.research.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service Layer - PricingMetrics
+ *
+ * Counters and per-step latency histograms for {@link OrderService} pricing.
+ * Disabled by default: while disabled, pricing reads a single volatile flag and records
+ * nothing, not even timestamps. Recording uses striped counters and lock-free histograms,
+ * so it does not serialize concurrent pricing threads.
+ */
+public final class PricingMetrics {
+
+    private static final PricingStep[] STEPS = PricingStep.values();
+    private static final OrderRejectionReason[] REASONS = OrderRejectionReason.values();
+    private static final DiscountType[] DISCOUNT_TYPES = DiscountType.values();
+
+    private volatile boolean enabled;
+
+    private final LatencyHistogram orderLatency = new LatencyHistogram();
+    private final LatencyHistogram[] stepLatencies = new LatencyHistogram[STEPS.length];
+    private final LongAdder ordersPriced = new LongAdder();
+    private final LongAdder[] rejections = new LongAdder[REASONS.length];
+    private final LongAdder[] discountWins = new LongAdder[DISCOUNT_TYPES.length];
+    private final LongAdder capHits = new LongAdder();
+
+    public PricingMetrics() {
+        for (int i = 0; i < stepLatencies.length; i++) {
+            stepLatencies[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+        for (int i = 0; i < discountWins.length; i++) {
+            discountWins[i] = new LongAdder();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Counts recorded so far are kept.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void recordStep(PricingStep step, long nanos) {
+        stepLatencies[step.ordinal()].record(nanos);
+    }
+
+    void recordPriced(long orderNanos) {
+        ordersPriced.increment();
+        orderLatency.record(orderNanos);
+    }
+
+    void recordRejection(OrderRejectionReason reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    void recordDiscount(DiscountType winner, boolean capped) {
+        discountWins[winner.ordinal()].increment();
+        if (capped) {
+            capHits.increment();
+        }
+    }
+
+    /**
+     * Copies every counter and histogram.
+     */
+    public PricingMetricsSnapshot snapshot() {
+        HistogramSnapshot[] steps = new HistogramSnapshot[stepLatencies.length];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = stepLatencies[i].snapshot();
+        }
+        long[] rejectionCounts = new long[rejections.length];
+        for (int i = 0; i < rejectionCounts.length; i++) {
+            rejectionCounts[i] = rejections[i].sum();
+        }
+        long[] winCounts = new long[discountWins.length];
+        for (int i = 0; i < winCounts.length; i++) {
+            winCounts[i] = discountWins[i].sum();
+        }
+        return new PricingMetricsSnapshot(ordersPriced.sum(), orderLatency.snapshot(), steps,
+                rejectionCounts, winCounts, capHits.sum());
+    }
+
+    /**
+     * Clears every counter and histogram.
+     */
+    public void reset() {
+        orderLatency.reset();
+        for (LatencyHistogram histogram : stepLatencies) {
+            histogram.reset();
+        }
+        ordersPriced.reset();
+        for (LongAdder counter : rejections) {
+            counter.reset();
+        }
+        for (LongAdder counter : discountWins) {
+            counter.reset();
+        }
+        capHits.reset();
+    }
+}
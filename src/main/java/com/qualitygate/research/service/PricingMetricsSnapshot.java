@@ -0,0 +1,79 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.metrics.HistogramSnapshot;
+
+/**
+ * Service Layer - PricingMetricsSnapshot
+ *
+ * Point-in-time copy of {@link PricingMetrics}, safe to hand to exporters.
+ * Latencies are in nanoseconds.
+ */
+public final class PricingMetricsSnapshot {
+
+    private final long ordersPriced;
+    private final HistogramSnapshot orderLatency;
+    private final HistogramSnapshot[] stepLatencies;
+    private final long[] rejections;
+    private final long[] discountWins;
+    private final long capHits;
+
+    PricingMetricsSnapshot(long ordersPriced, HistogramSnapshot orderLatency, HistogramSnapshot[] stepLatencies,
+                           long[] rejections, long[] discountWins, long capHits) {
+        this.ordersPriced = ordersPriced;
+        this.orderLatency = orderLatency;
+        this.stepLatencies = stepLatencies;
+        this.rejections = rejections;
+        this.discountWins = discountWins;
+        this.capHits = capHits;
+    }
+
+    public long getOrdersPriced() {
+        return ordersPriced;
+    }
+
+    /**
+     * End-to-end latency of successfully priced orders.
+     */
+    public HistogramSnapshot getOrderLatency() {
+        return orderLatency;
+    }
+
+    public HistogramSnapshot getStepLatency(PricingStep step) {
+        return stepLatencies[step.ordinal()];
+    }
+
+    public long getRejections(OrderRejectionReason reason) {
+        return rejections[reason.ordinal()];
+    }
+
+    public long getTotalRejections() {
+        long total = 0L;
+        for (long count : rejections) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getDiscountWins(DiscountType type) {
+        return discountWins[type.ordinal()];
+    }
+
+    /**
+     * Orders whose winning discount was reduced by the discount cap.
+     */
+    public long getCapHits() {
+        return capHits;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PricingMetricsSnapshot{ordersPriced=").append(ordersPriced)
+                .append(", rejections=").append(getTotalRejections())
+                .append(", capHits=").append(capHits)
+                .append(", orderLatency=").append(orderLatency);
+        for (DiscountType type : DiscountType.values()) {
+            sb.append(", ").append(type).append("=").append(getDiscountWins(type));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.qualitygate.research.service;
+
+/**
+ * Service Layer - PricingStep
+ *
+ * The named steps of {@link OrderService#calculateOrderTotal}, in execution order.
+ */
+public enum PricingStep {
+
+    SUBTOTAL,
+    VOLUME_DISCOUNT,
+    CUSTOMER_TIER_DISCOUNT,
+    PROMOTIONAL_DISCOUNT,
+    MAX_DISCOUNT,
+    DISCOUNT_CAP,
+    TOTAL
+}
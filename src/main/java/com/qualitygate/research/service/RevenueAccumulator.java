@@ -0,0 +1,98 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Partial revenue aggregate over a share of the priced orders, in long cents.
+ * Partials are built independently and merged, so they are not thread-safe.
+ */
+final class RevenueAccumulator {
+
+    private static final DiscountType[] DISCOUNT_TYPES = DiscountType.values();
+
+    private final OrderService orderService;
+    private final TopRevenueTable customers;
+    private final TopRevenueTable products;
+
+    private long orderCount;
+    private long skippedCount;
+    private long subtotalCents;
+    private long discountCents;
+    private long revenueCents;
+    private final long[] discountTypeCounts = new long[DISCOUNT_TYPES.length];
+    private final long[] discountTypeCents = new long[DISCOUNT_TYPES.length];
+
+    RevenueAccumulator(OrderService orderService, int maxCustomers, int maxProducts) {
+        this.orderService = orderService;
+        this.customers = new TopRevenueTable(maxCustomers, false);
+        this.products = new TopRevenueTable(maxProducts, true);
+    }
+
+    /**
+     * Adds a priced order. Orders that are null or carry no pricing amounts are counted as skipped.
+     */
+    void add(Order order) {
+        if (order == null || order.getSubtotal() == null || order.getDiscountAmount() == null
+                || order.getTotalAmount() == null) {
+            skippedCount++;
+            return;
+        }
+
+        long subtotal = toCents(order.getSubtotal());
+        long discount = toCents(order.getDiscountAmount());
+        long total = toCents(order.getTotalAmount());
+        int type = orderService.discountTypeOf(order).ordinal();
+
+        orderCount++;
+        subtotalCents += subtotal;
+        discountCents += discount;
+        revenueCents += total;
+        discountTypeCounts[type]++;
+        discountTypeCents[type] += discount;
+
+        long units = 0L;
+        for (int i = 0; i < order.itemCount(); i++) {
+            OrderItem item = order.itemAt(i);
+            if (item == null || item.getLineTotal() == null || item.getQuantity() == null) {
+                continue;
+            }
+            String productId = item.getProductId();
+            units += item.getQuantity();
+            products.add(productId != null ? productId.hashCode() : 0L, productId,
+                    toCents(item.getLineTotal()), 0L, item.getQuantity(), 1L);
+        }
+
+        Long customerId = order.getCustomerId();
+        if (customerId != null) {
+            customers.add(customerId, null, total, discount, units, 1L);
+        }
+    }
+
+    RevenueAccumulator merge(RevenueAccumulator other) {
+        orderCount += other.orderCount;
+        skippedCount += other.skippedCount;
+        subtotalCents += other.subtotalCents;
+        discountCents += other.discountCents;
+        revenueCents += other.revenueCents;
+        for (int i = 0; i < DISCOUNT_TYPES.length; i++) {
+            discountTypeCounts[i] += other.discountTypeCounts[i];
+            discountTypeCents[i] += other.discountTypeCents[i];
+        }
+        customers.merge(other.customers);
+        products.merge(other.products);
+        return this;
+    }
+
+    RevenueReport toReport() {
+        return new RevenueReport(orderCount, skippedCount, subtotalCents, discountCents, revenueCents,
+                discountTypeCounts.clone(), discountTypeCents.clone(), customers, products);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,273 @@
+package com.qualitygate.research.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service Layer - RevenueReport
+ *
+ * Outcome of {@link OrderAnalytics}: exact totals and discount-type mix over all priced orders,
+ * plus the top customers by revenue (amount charged) and the top products by line revenue
+ * (before order discounts).
+ *
+ * Per-key figures come from bounded tables. A revenue is an upper bound that may exceed the
+ * true value by at most its revenue error; the other figures of an entry are exact when the
+ * error is zero and lower bounds otherwise. No customer or product left out of a list earned
+ * more than the list's floor.
+ */
+public final class RevenueReport {
+
+    private static final DiscountType[] DISCOUNT_TYPES = DiscountType.values();
+
+    private final long orderCount;
+    private final long skippedCount;
+    private final long subtotalCents;
+    private final long discountCents;
+    private final long revenueCents;
+    private final long[] discountTypeCounts;
+    private final long[] discountTypeCents;
+    private final List<CustomerRevenue> topCustomers;
+    private final List<ProductRevenue> topProducts;
+    private final long customerFloorCents;
+    private final long productFloorCents;
+
+    RevenueReport(long orderCount, long skippedCount, long subtotalCents, long discountCents, long revenueCents,
+                  long[] discountTypeCounts, long[] discountTypeCents,
+                  TopRevenueTable customers, TopRevenueTable products) {
+        this.orderCount = orderCount;
+        this.skippedCount = skippedCount;
+        this.subtotalCents = subtotalCents;
+        this.discountCents = discountCents;
+        this.revenueCents = revenueCents;
+        this.discountTypeCounts = discountTypeCounts;
+        this.discountTypeCents = discountTypeCents;
+        this.customerFloorCents = customers.floor();
+        this.productFloorCents = products.floor();
+
+        List<CustomerRevenue> customerList = new ArrayList<>(customers.size());
+        for (int e = 0; e < customers.size(); e++) {
+            customerList.add(new CustomerRevenue(customers.key(e), customers.revenue(e), customers.error(e),
+                    customers.discount(e), customers.quantity(e), customers.count(e)));
+        }
+        customerList.sort(Comparator.comparingLong((CustomerRevenue c) -> c.revenueCents).reversed());
+        this.topCustomers = Collections.unmodifiableList(customerList);
+
+        List<ProductRevenue> productList = new ArrayList<>(products.size());
+        for (int e = 0; e < products.size(); e++) {
+            productList.add(new ProductRevenue(products.label(e), products.revenue(e), products.error(e),
+                    products.quantity(e), products.count(e)));
+        }
+        productList.sort(Comparator.comparingLong((ProductRevenue p) -> p.revenueCents).reversed());
+        this.topProducts = Collections.unmodifiableList(productList);
+    }
+
+    /**
+     * Number of priced orders aggregated.
+     */
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Number of null or unpriced orders that were left out.
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public BigDecimal getTotalSubtotal() {
+        return BigDecimal.valueOf(subtotalCents, 2);
+    }
+
+    public BigDecimal getTotalDiscount() {
+        return BigDecimal.valueOf(discountCents, 2);
+    }
+
+    /**
+     * Sum of the order totals, after discounts.
+     */
+    public BigDecimal getTotalRevenue() {
+        return BigDecimal.valueOf(revenueCents, 2);
+    }
+
+    /**
+     * Number of orders whose best discount was of the given type.
+     */
+    public long getDiscountTypeCount(DiscountType type) {
+        return discountTypeCounts[type.ordinal()];
+    }
+
+    /**
+     * Discount given on orders whose best discount was of the given type.
+     */
+    public BigDecimal getDiscountTypeAmount(DiscountType type) {
+        return BigDecimal.valueOf(discountTypeCents[type.ordinal()], 2);
+    }
+
+    /**
+     * Customers by descending revenue. Orders without a customer ID are only in the totals.
+     */
+    public List<CustomerRevenue> getTopCustomers() {
+        return topCustomers;
+    }
+
+    /**
+     * Products by descending line revenue.
+     */
+    public List<ProductRevenue> getTopProducts() {
+        return topProducts;
+    }
+
+    /**
+     * Most revenue any customer missing from {@link #getTopCustomers()} can have earned.
+     */
+    public BigDecimal getCustomerRevenueFloor() {
+        return BigDecimal.valueOf(customerFloorCents, 2);
+    }
+
+    /**
+     * Most line revenue any product missing from {@link #getTopProducts()} can have earned.
+     */
+    public BigDecimal getProductRevenueFloor() {
+        return BigDecimal.valueOf(productFloorCents, 2);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder mix = new StringBuilder();
+        for (DiscountType type : DISCOUNT_TYPES) {
+            mix.append(mix.length() == 0 ? "" : ", ").append(type).append('=').append(getDiscountTypeCount(type));
+        }
+        return "RevenueReport{" +
+                "orders=" + orderCount +
+                ", skipped=" + skippedCount +
+                ", revenue=" + getTotalRevenue() +
+                ", discount=" + getTotalDiscount() +
+                ", discountTypes={" + mix + '}' +
+                ", customers=" + topCustomers.size() +
+                ", products=" + topProducts.size() +
+                '}';
+    }
+
+    /**
+     * Revenue of one customer.
+     */
+    public static final class CustomerRevenue {
+
+        private final long customerId;
+        private final long revenueCents;
+        private final long errorCents;
+        private final long discountCents;
+        private final long unitCount;
+        private final long orderCount;
+
+        CustomerRevenue(long customerId, long revenueCents, long errorCents, long discountCents,
+                        long unitCount, long orderCount) {
+            this.customerId = customerId;
+            this.revenueCents = revenueCents;
+            this.errorCents = errorCents;
+            this.discountCents = discountCents;
+            this.unitCount = unitCount;
+            this.orderCount = orderCount;
+        }
+
+        public long getCustomerId() {
+            return customerId;
+        }
+
+        public BigDecimal getRevenue() {
+            return BigDecimal.valueOf(revenueCents, 2);
+        }
+
+        public BigDecimal getRevenueError() {
+            return BigDecimal.valueOf(errorCents, 2);
+        }
+
+        public boolean isExact() {
+            return errorCents == 0;
+        }
+
+        public BigDecimal getDiscount() {
+            return BigDecimal.valueOf(discountCents, 2);
+        }
+
+        public long getUnitCount() {
+            return unitCount;
+        }
+
+        public long getOrderCount() {
+            return orderCount;
+        }
+
+        @Override
+        public String toString() {
+            return "CustomerRevenue{" +
+                    "customerId=" + customerId +
+                    ", revenue=" + getRevenue() +
+                    ", revenueError=" + getRevenueError() +
+                    ", discount=" + getDiscount() +
+                    ", orders=" + orderCount +
+                    '}';
+        }
+    }
+
+    /**
+     * Line revenue of one product.
+     */
+    public static final class ProductRevenue {
+
+        private final String productId;
+        private final long revenueCents;
+        private final long errorCents;
+        private final long unitCount;
+        private final long lineCount;
+
+        ProductRevenue(String productId, long revenueCents, long errorCents, long unitCount, long lineCount) {
+            this.productId = productId;
+            this.revenueCents = revenueCents;
+            this.errorCents = errorCents;
+            this.unitCount = unitCount;
+            this.lineCount = lineCount;
+        }
+
+        public String getProductId() {
+            return productId;
+        }
+
+        public BigDecimal getRevenue() {
+            return BigDecimal.valueOf(revenueCents, 2);
+        }
+
+        public BigDecimal getRevenueError() {
+            return BigDecimal.valueOf(errorCents, 2);
+        }
+
+        public boolean isExact() {
+            return errorCents == 0;
+        }
+
+        public long getUnitCount() {
+            return unitCount;
+        }
+
+        /**
+         * Number of order lines for the product.
+         */
+        public long getLineCount() {
+            return lineCount;
+        }
+
+        @Override
+        public String toString() {
+            return "ProductRevenue{" +
+                    "productId='" + productId + '\'' +
+                    ", revenue=" + getRevenue() +
+                    ", revenueError=" + getRevenueError() +
+                    ", units=" + unitCount +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.domain.Order;
+
+import java.io.Closeable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Service Layer - RingBufferPricingPipeline
+ *
+ * Staged ingestion path in the Disruptor style: validate ({@link OrderService#validateOrder(Order)}),
+ * price ({@link OrderService#calculateOrderTotal(Order)}) and emit to a {@link Sink}, each stage
+ * on its own thread, over a preallocated ring of slots.
+ *
+ * Handoff is by sequence numbers only, without locks. The publisher advances a cursor, and
+ * each stage follows the sequence of the stage before it. A stage processes everything
+ * available in one batch before publishing its own sequence with a release store, so the
+ * handoff cost is paid per batch rather than per order. The publisher waits when it would
+ * overwrite a slot the emitter has not passed. Idle stages spin, then yield, then park
+ * briefly.
+ *
+ * Orders are published from a single thread. The sink runs on the emitter thread. Anything
+ * thrown while validating or pricing an order, errors included, fails that order only, and
+ * whatever the sink throws is ignored, so a stage thread never dies and leaves the ring stalled.
+ */
+public class RingBufferPricingPipeline implements Closeable {
+
+    private static final byte VALID = 1;
+    private static final byte REJECTED = 2;
+    private static final byte PRICED = 3;
+    private static final byte FAILED = 4;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000L;
+
+    /**
+     * Receives each order, in publication order, on the emitter thread.
+     */
+    public interface Sink {
+
+        void onPriced(Order order);
+
+        /**
+         * Called for orders {@link OrderService#validateOrder(Order)} refused.
+         */
+        default void onRejected(Order order) {
+        }
+
+        /**
+         * Called for orders whose validation or pricing threw.
+         */
+        default void onFailed(Order order, Throwable failure) {
+        }
+
+        /**
+         * Called after each batch handed over to the emitter, e.g. to flush buffered output.
+         */
+        default void onBatchEnd() {
+        }
+    }
+
+    private final OrderService orderService;
+    private final Sink sink;
+    private final int mask;
+    private final Order[] orders;
+    private final byte[] states;
+    private final Throwable[] failures;
+
+    private final Sequence cursor = new Sequence();
+    private final Sequence validated = new Sequence();
+    private final Sequence priced = new Sequence();
+    private final Sequence emitted = new Sequence();
+
+    private final Thread[] stages;
+    private volatile boolean closed;
+    private long nextSequence;
+
+    private RingBufferPricingPipeline(OrderService orderService, int capacity, Sink sink) {
+        this.orderService = orderService;
+        this.sink = sink;
+        this.mask = capacity - 1;
+        this.orders = new Order[capacity];
+        this.states = new byte[capacity];
+        this.failures = new Throwable[capacity];
+        this.stages = new Thread[]{
+                stageThread("pricing-validate", () -> runStage(cursor, validated, this::validate, null)),
+                stageThread("pricing-price", () -> runStage(validated, priced, this::price, null)),
+                stageThread("pricing-emit", () -> runStage(priced, emitted, this::emit, sink::onBatchEnd))
+        };
+    }
+
+    /**
+     * Creates a pipeline and starts its three stage threads.
+     *
+     * @param orderService The service that validates and prices orders
+     * @param capacity Number of ring slots, a power of two
+     * @param sink Where processed orders go
+     * @return The running pipeline
+     * @throws IllegalArgumentException if the service or sink is null or the capacity is not a power of two
+     */
+    public static RingBufferPricingPipeline start(OrderService orderService, int capacity, Sink sink) {
+        if (orderService == null) {
+            throw new IllegalArgumentException("OrderService cannot be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two");
+        }
+
+        RingBufferPricingPipeline pipeline = new RingBufferPricingPipeline(orderService, capacity, sink);
+        for (Thread stage : pipeline.stages) {
+            stage.start();
+        }
+        return pipeline;
+    }
+
+    /**
+     * Publishes an order, waiting for a free slot if the ring is full. Not thread-safe.
+     *
+     * @param order The order to process (may be null; it is rejected by validation)
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public void publish(Order order) {
+        long sequence = nextSequence;
+        int idle = 0;
+        while (sequence - orders.length >= emitted.getAcquire()) {
+            checkOpen();
+            idle = backOff(idle);
+        }
+        checkOpen();
+        put(sequence, order);
+    }
+
+    /**
+     * Publishes an order unless the ring is full. Not thread-safe.
+     *
+     * @param order The order to process
+     * @return false if there was no free slot
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public boolean tryPublish(Order order) {
+        checkOpen();
+        long sequence = nextSequence;
+        if (sequence - orders.length >= emitted.getAcquire()) {
+            return false;
+        }
+        put(sequence, order);
+        return true;
+    }
+
+    /**
+     * Number of orders published so far.
+     */
+    public long getPublishedCount() {
+        return cursor.getAcquire() + 1;
+    }
+
+    /**
+     * Number of orders handed to the sink so far.
+     */
+    public long getEmittedCount() {
+        return emitted.getAcquire() + 1;
+    }
+
+    public int getCapacity() {
+        return orders.length;
+    }
+
+    /**
+     * Stops accepting orders, lets every published order reach the sink, then stops the stage threads.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        boolean interrupted = false;
+        for (Thread stage : stages) {
+            while (stage.isAlive()) {
+                try {
+                    stage.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferPricingPipeline{" +
+                "capacity=" + orders.length +
+                ", published=" + getPublishedCount() +
+                ", emitted=" + getEmittedCount() +
+                '}';
+    }
+
+    private void put(long sequence, Order order) {
+        orders[(int) sequence & mask] = order;
+        nextSequence = sequence + 1;
+        cursor.setRelease(sequence);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Pipeline is closed");
+        }
+    }
+
+    /**
+     * Follows the upstream sequence, processing each available batch and then publishing it
+     * downstream. Exits once closed and every published order has passed this stage.
+     */
+    private void runStage(Sequence upstream, Sequence own, SlotHandler handler, Runnable batchEnd) {
+        long next = own.getAcquire() + 1;
+        int idle = 0;
+        while (true) {
+            long available = upstream.getAcquire();
+            if (available < next) {
+                if (closed && next > cursor.getAcquire()) {
+                    return;
+                }
+                idle = backOff(idle);
+                continue;
+            }
+
+            for (long sequence = next; sequence <= available; sequence++) {
+                handler.handle((int) sequence & mask);
+            }
+            if (batchEnd != null) {
+                runQuietly(batchEnd);
+            }
+            own.setRelease(available);
+            next = available + 1;
+            idle = 0;
+        }
+    }
+
+    private void validate(int slot) {
+        try {
+            states[slot] = orderService.validateOrder(orders[slot]) ? VALID : REJECTED;
+        } catch (Throwable e) {
+            fail(slot, e);
+        }
+    }
+
+    private void price(int slot) {
+        if (states[slot] != VALID) {
+            return;
+        }
+        try {
+            orderService.calculateOrderTotal(orders[slot]);
+            states[slot] = PRICED;
+        } catch (Throwable e) {
+            fail(slot, e);
+        }
+    }
+
+    private void emit(int slot) {
+        Order order = orders[slot];
+        Throwable failure = failures[slot];
+        byte state = states[slot];
+        // Drop the references so the ring does not keep emitted orders alive
+        orders[slot] = null;
+        failures[slot] = null;
+
+        if (state == PRICED) {
+            runQuietly(() -> sink.onPriced(order));
+        } else if (state == REJECTED) {
+            runQuietly(() -> sink.onRejected(order));
+        } else {
+            runQuietly(() -> sink.onFailed(order, failure));
+        }
+    }
+
+    private void fail(int slot, Throwable failure) {
+        failures[slot] = failure;
+        states[slot] = FAILED;
+    }
+
+    /**
+     * A failing sink must not stop the emitter, or the whole ring would stall.
+     */
+    private static void runQuietly(Runnable action) {
+        try {
+            action.run();
+        } catch (Throwable ignored) {
+            // The sink owns its error handling
+        }
+    }
+
+    private static int backOff(int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return idle + 1;
+    }
+
+    private static Thread stageThread(String name, Runnable body) {
+        Thread thread = new Thread(body, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private interface SlotHandler {
+        void handle(int slot);
+    }
+
+    /**
+     * Cache-line padding around a sequence, so the stage threads do not false-share.
+     */
+    @SuppressWarnings("unused")
+    private static class LeftPadding {
+        protected long p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    private static class SequenceValue extends LeftPadding {
+        protected volatile long value = -1L;
+    }
+
+    /**
+     * The highest sequence a producer or stage has finished with; -1 before the first.
+     */
+    @SuppressWarnings("unused")
+    private static final class Sequence extends SequenceValue {
+
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        protected long p9, p10, p11, p12, p13, p14, p15;
+
+        long getAcquire() {
+            return (long) VALUE.getAcquire(this);
+        }
+
+        void setRelease(long sequence) {
+            VALUE.setRelease(this, sequence);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.qualitygate.research.service;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Bounded per-key revenue totals using the Space-Saving algorithm.
+ *
+ * At most {@code capacity} keys are tracked, in primitive columns indexed through an
+ * open-addressing table and ordered by an indexed min-heap on revenue. When a new key
+ * arrives at a full table, the key with the least revenue is evicted and the newcomer
+ * inherits its revenue as error. Every tracked revenue is then an upper bound, at most
+ * {@code error} above the true value, and any untracked key has earned no more than the
+ * smallest tracked revenue. The other columns only count what arrived while the key was
+ * tracked, so they are exact when the error is zero.
+ *
+ * Keys are longs. A labelled table also stores a String per key (product IDs), hashed into
+ * the long key and compared on lookup. Not thread-safe; partial tables are merged.
+ */
+final class TopRevenueTable {
+
+    private static final int EMPTY = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int capacity;
+    private final boolean labelled;
+
+    // Columns start small and double up to the capacity, so small partials stay small
+    private long[] keys;
+    private String[] labels;
+    private long[] revenue;
+    private long[] error;
+    private long[] discount;
+    private long[] quantity;
+    private long[] count;
+
+    // Min-heap of entries by revenue, and each entry's position in it
+    private int[] heap;
+    private int[] heapPosition;
+
+    // Linear-probing index at most half full; slots hold entry + 1
+    private int[] slots;
+    private int mask;
+
+    private int size;
+
+    TopRevenueTable(int capacity, boolean labelled) {
+        this.capacity = capacity;
+        this.labelled = labelled;
+        allocate(Math.min(capacity, INITIAL_CAPACITY));
+    }
+
+    /**
+     * Adds to a key's totals, evicting the key with the least revenue if the table is full.
+     */
+    void add(long key, String label, long revenueCents, long discountCents, long units, long occurrences) {
+        int entry = find(key, label);
+        if (entry >= 0) {
+            revenue[entry] += revenueCents;
+            discount[entry] += discountCents;
+            quantity[entry] += units;
+            count[entry] += occurrences;
+            restoreHeap(heapPosition[entry]);
+            return;
+        }
+
+        if (size < capacity) {
+            ensureRoom();
+            entry = size++;
+            store(entry, key, label, revenueCents, 0L, discountCents, units, occurrences);
+            heap[size - 1] = entry;
+            heapPosition[entry] = size - 1;
+            siftUp(size - 1);
+            return;
+        }
+
+        // Space-Saving replacement: the newcomer may have earned up to the evicted revenue unseen
+        entry = heap[0];
+        long floor = revenue[entry];
+        unindex(entry);
+        store(entry, key, label, floor + revenueCents, floor, discountCents, units, occurrences);
+        restoreHeap(0);
+    }
+
+    /**
+     * Merges another partial table into this one. A key missing from one side is counted
+     * as having earned up to that side's floor there, then the top {@code capacity} keys by
+     * revenue are kept, so the bounds of both sides carry over.
+     */
+    void merge(TopRevenueTable other) {
+        long floor = floor();
+        long otherFloor = other.floor();
+        int candidates = size + other.size;
+        long[] candidateKeys = new long[candidates];
+        String[] candidateLabels = new String[candidates];
+        long[] candidateRevenue = new long[candidates];
+        long[] candidateError = new long[candidates];
+        long[] candidateDiscount = new long[candidates];
+        long[] candidateQuantity = new long[candidates];
+        long[] candidateCount = new long[candidates];
+
+        int n = 0;
+        for (int e = 0; e < size; e++) {
+            candidateKeys[n] = keys[e];
+            candidateLabels[n] = labelled ? labels[e] : null;
+            int o = other.find(keys[e], candidateLabels[n]);
+            candidateRevenue[n] = revenue[e] + (o >= 0 ? other.revenue[o] : otherFloor);
+            candidateError[n] = error[e] + (o >= 0 ? other.error[o] : otherFloor);
+            candidateDiscount[n] = discount[e] + (o >= 0 ? other.discount[o] : 0L);
+            candidateQuantity[n] = quantity[e] + (o >= 0 ? other.quantity[o] : 0L);
+            candidateCount[n] = count[e] + (o >= 0 ? other.count[o] : 0L);
+            n++;
+        }
+        for (int o = 0; o < other.size; o++) {
+            String label = labelled ? other.labels[o] : null;
+            if (find(other.keys[o], label) >= 0) {
+                continue;
+            }
+            candidateKeys[n] = other.keys[o];
+            candidateLabels[n] = label;
+            candidateRevenue[n] = other.revenue[o] + floor;
+            candidateError[n] = other.error[o] + floor;
+            candidateDiscount[n] = other.discount[o];
+            candidateQuantity[n] = other.quantity[o];
+            candidateCount[n] = other.count[o];
+            n++;
+        }
+
+        clear();
+        for (int c = 0; c < n; c++) {
+            int entry;
+            if (size < capacity) {
+                ensureRoom();
+                entry = size++;
+                heap[size - 1] = entry;
+                heapPosition[entry] = size - 1;
+            } else if (candidateRevenue[c] > revenue[heap[0]]) {
+                entry = heap[0];
+                unindex(entry);
+            } else {
+                continue;
+            }
+            store(entry, candidateKeys[c], candidateLabels[c], candidateRevenue[c], candidateError[c],
+                    candidateDiscount[c], candidateQuantity[c], candidateCount[c]);
+            restoreHeap(heapPosition[entry]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long key(int entry) {
+        return keys[entry];
+    }
+
+    String label(int entry) {
+        return labelled ? labels[entry] : null;
+    }
+
+    long revenue(int entry) {
+        return revenue[entry];
+    }
+
+    long error(int entry) {
+        return error[entry];
+    }
+
+    long discount(int entry) {
+        return discount[entry];
+    }
+
+    long quantity(int entry) {
+        return quantity[entry];
+    }
+
+    long count(int entry) {
+        return count[entry];
+    }
+
+    /**
+     * The most revenue any untracked key can have earned: the least tracked revenue once
+     * the table is full, otherwise zero.
+     */
+    long floor() {
+        return size == capacity ? revenue[heap[0]] : 0L;
+    }
+
+    private void allocate(int length) {
+        keys = new long[length];
+        labels = labelled ? new String[length] : null;
+        revenue = new long[length];
+        error = new long[length];
+        discount = new long[length];
+        quantity = new long[length];
+        count = new long[length];
+        heap = new int[length];
+        heapPosition = new int[length];
+        int slotCount = Integer.highestOneBit(Math.max(2, length) * 2 - 1) << 1;
+        slots = new int[slotCount];
+        mask = slotCount - 1;
+    }
+
+    private void ensureRoom() {
+        if (size < keys.length) {
+            return;
+        }
+
+        long[] oldKeys = keys;
+        String[] oldLabels = labels;
+        long[] oldRevenue = revenue;
+        long[] oldError = error;
+        long[] oldDiscount = discount;
+        long[] oldQuantity = quantity;
+        long[] oldCount = count;
+        int[] oldHeap = heap;
+        int[] oldHeapPosition = heapPosition;
+
+        allocate((int) Math.min(capacity, 2L * size));
+        System.arraycopy(oldHeap, 0, heap, 0, size);
+        System.arraycopy(oldHeapPosition, 0, heapPosition, 0, size);
+        int entries = size;
+        for (int e = 0; e < entries; e++) {
+            store(e, oldKeys[e], labelled ? oldLabels[e] : null, oldRevenue[e], oldError[e],
+                    oldDiscount[e], oldQuantity[e], oldCount[e]);
+        }
+    }
+
+    private void store(int entry, long key, String label, long revenueCents, long errorCents,
+                       long discountCents, long units, long occurrences) {
+        keys[entry] = key;
+        if (labelled) {
+            labels[entry] = label;
+        }
+        revenue[entry] = revenueCents;
+        error[entry] = errorCents;
+        discount[entry] = discountCents;
+        quantity[entry] = units;
+        count[entry] = occurrences;
+
+        int slot = home(key);
+        while (slots[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = entry + 1;
+    }
+
+    private int find(long key, String label) {
+        int slot = home(key);
+        int value;
+        while ((value = slots[slot]) != EMPTY) {
+            int entry = value - 1;
+            if (keys[entry] == key && (!labelled || Objects.equals(labels[entry], label))) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes an entry from the index with backward-shift deletion, so probes need no tombstones.
+     */
+    private void unindex(int entry) {
+        int hole = home(keys[entry]);
+        while (slots[hole] != entry + 1) {
+            hole = (hole + 1) & mask;
+        }
+
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int value = slots[slot];
+            if (value == EMPTY) {
+                break;
+            }
+            int home = home(keys[value - 1]);
+            boolean reachable = hole <= slot ? hole < home && home <= slot : hole < home || home <= slot;
+            if (!reachable) {
+                slots[hole] = value;
+                hole = slot;
+            }
+        }
+        slots[hole] = EMPTY;
+    }
+
+    private void clear() {
+        Arrays.fill(slots, EMPTY);
+        if (labelled) {
+            Arrays.fill(labels, null);
+        }
+        size = 0;
+    }
+
+    private int home(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void restoreHeap(int position) {
+        siftDown(siftUp(position));
+    }
+
+    private int siftUp(int position) {
+        int entry = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (revenue[heap[parent]] <= revenue[entry]) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(entry, position);
+        return position;
+    }
+
+    private void siftDown(int position) {
+        int entry = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && revenue[heap[child + 1]] < revenue[heap[child]]) {
+                child++;
+            }
+            if (revenue[heap[child]] >= revenue[entry]) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(entry, position);
+    }
+
+    private void place(int entry, int position) {
+        heap[position] = entry;
+        heapPosition[entry] = position;
+    }
+}
@@ -0,0 +1,33 @@
+package com.qualitygate.research.service;
+
+/**
+ * Service Layer - UserCreationRequest
+ *
+ * A username/email pair submitted for bulk creation.
+ */
+public final class UserCreationRequest {
+
+    private final String username;
+    private final String email;
+
+    public UserCreationRequest(String username, String email) {
+        this.username = username;
+        this.email = email;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "UserCreationRequest{" +
+                "username='" + username + '\'' +
+                ", email='" + email + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,127 @@
+package com.qualitygate.research.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Service Layer - UserFieldValidator
+ *
+ * Allocation-free versions of the {@link UserService} username and email rules, for
+ * validating straight from request buffers without building Strings first.
+ * Each check is a single pass and accepts exactly what the String-based rules accept:
+ * surrounding characters up to U+0020 are ignored, as {@link String#trim()} ignores them.
+ *
+ * Byte ranges are read as UTF-8 and leave the buffer's position and limit untouched.
+ */
+public final class UserFieldValidator {
+
+    public static final int MIN_USERNAME_LENGTH = 3;
+    public static final int MAX_USERNAME_LENGTH = 50;
+
+    private UserFieldValidator() {
+    }
+
+    /**
+     * @return true if the trimmed username is 3 to 50 characters long
+     */
+    public static boolean isValidUsername(CharSequence username) {
+        if (username == null) {
+            return false;
+        }
+
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < username.length(); i++) {
+            if (username.charAt(i) > ' ') {
+                if (first < 0) {
+                    first = i;
+                }
+                last = i;
+            }
+        }
+        return first >= 0 && isValidUsernameLength(last - first + 1);
+    }
+
+    /**
+     * @return true if the email contains both '@' and '.'
+     */
+    public static boolean isValidEmail(CharSequence email) {
+        if (email == null) {
+            return false;
+        }
+
+        // Either character makes the trimmed value non-empty, so no separate blank check is needed
+        boolean at = false;
+        boolean dot = false;
+        for (int i = 0; i < email.length() && !(at && dot); i++) {
+            char c = email.charAt(i);
+            at |= c == '@';
+            dot |= c == '.';
+        }
+        return at && dot;
+    }
+
+    /**
+     * Username rule for UTF-8 bytes; lengths are counted in UTF-16 characters, like a String.
+     *
+     * @throws IllegalArgumentException if the range is outside the buffer
+     */
+    public static boolean isValidUsername(ByteBuffer buffer, int offset, int length) {
+        if (buffer == null) {
+            return false;
+        }
+        checkRange(buffer, offset, length);
+
+        int chars = 0;
+        int charsAtLastVisible = -1;
+        int charsBeforeFirstVisible = -1;
+        for (int i = offset; i < offset + length; i++) {
+            int b = buffer.get(i) & 0xFF;
+            if ((b & 0xC0) == 0x80) {
+                continue; // continuation byte: part of the previous character
+            }
+            if (b > ' ' && charsBeforeFirstVisible < 0) {
+                charsBeforeFirstVisible = chars;
+            }
+            // A four-byte sequence decodes to a surrogate pair
+            chars += b >= 0xF0 ? 2 : 1;
+            if (b > ' ') {
+                charsAtLastVisible = chars;
+            }
+        }
+        return charsBeforeFirstVisible >= 0
+                && isValidUsernameLength(charsAtLastVisible - charsBeforeFirstVisible);
+    }
+
+    /**
+     * Email rule for UTF-8 bytes. '@' and '.' are ASCII, so they never occur inside a
+     * multi-byte character.
+     *
+     * @throws IllegalArgumentException if the range is outside the buffer
+     */
+    public static boolean isValidEmail(ByteBuffer buffer, int offset, int length) {
+        if (buffer == null) {
+            return false;
+        }
+        checkRange(buffer, offset, length);
+
+        boolean at = false;
+        boolean dot = false;
+        for (int i = offset; i < offset + length && !(at && dot); i++) {
+            byte b = buffer.get(i);
+            at |= b == '@';
+            dot |= b == '.';
+        }
+        return at && dot;
+    }
+
+    private static boolean isValidUsernameLength(int length) {
+        return length >= MIN_USERNAME_LENGTH && length <= MAX_USERNAME_LENGTH;
+    }
+
+    private static void checkRange(ByteBuffer buffer, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > buffer.limit() - length) {
+            throw new IllegalArgumentException("Byte range [" + offset + ", " + offset + " + " + length
+                    + ") is outside the buffer limit " + buffer.limit());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.qualitygate.research.service;
+
+/**
+ * Service Layer - UserRejectionReason
+ *
+ * Reasons a user creation request can be rejected by {@link UserService}.
+ */
+public enum UserRejectionReason {
+
+    NULL_REQUEST("User creation request cannot be null"),
+    INVALID_USERNAME("Username must be 3 to 50 characters"),
+    INVALID_EMAIL("Email must contain '@' and '.'"),
+    DUPLICATE_USERNAME("Username is already taken"),
+    DUPLICATE_EMAIL("Email is already registered"),
+    UNKNOWN_USER("User does not exist");
+
+    private final String message;
+
+    UserRejectionReason(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
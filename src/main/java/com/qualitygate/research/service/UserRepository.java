@@ -0,0 +1,42 @@
+package com.qualitygate.research.service;
+
+import com.qualitygate.research.domain.User;
+
+/**
+ * Service Layer - UserRepository
+ *
+ * Storage for users with unique usernames and emails, used by {@link UserService}.
+ * Implementations must be safe for concurrent use and enforce uniqueness atomically.
+ * Lookups return detached copies; changes go through the update methods.
+ */
+public interface UserRepository {
+
+    /**
+     * Stores a new user and assigns its ID.
+     *
+     * @param user The user to store; its username and email must be non-null
+     * @return null if stored, otherwise DUPLICATE_USERNAME or DUPLICATE_EMAIL
+     * @throws IllegalStateException if the repository is full
+     */
+    UserRejectionReason insert(User user);
+
+    /**
+     * Changes a user's email, keeping emails unique.
+     *
+     * @return null if updated, otherwise DUPLICATE_EMAIL or UNKNOWN_USER
+     */
+    UserRejectionReason updateEmail(long userId, String email);
+
+    /**
+     * @return false if there is no user with the ID
+     */
+    boolean setActive(long userId, boolean active);
+
+    User findById(long userId);
+
+    User findByUsername(String username);
+
+    User findByEmail(String email);
+
+    int size();
+}
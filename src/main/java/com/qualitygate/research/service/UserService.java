@@ -2,6 +2,14 @@ package com.qualitygate.research.service;
 
 import com.qualitygate.research.domain.User;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * Service Layer - UserService
  * 
@@ -14,40 +22,65 @@ import com.qualitygate.research.domain.User;
 public class UserService {
     
     /**
-     * Validates a user's email address.
-     * Simple validation with minimal branching.
+     * Number of leaf tasks created per worker thread when creating users in bulk.
+     */
+    private static final int BULK_TASKS_PER_WORKER = 4;
+    
+    /**
+     * Smallest chunk worth handing to another thread; validating one request is cheap.
+     */
+    private static final int MIN_BULK_CHUNK = 1024;
+    
+    // Null when users are not stored: creation and updates then only validate and mutate
+    private final UserRepository userRepository;
+    
+    /**
+     * Creates a stateless service that validates and builds users without storing them.
+     */
+    public UserService() {
+        this.userRepository = null;
+    }
+    
+    /**
+     * Creates a service that stores users in the given repository, which keeps usernames
+     * and emails unique and only allows updates to stored users.
+     */
+    public UserService(UserRepository userRepository) {
+        if (userRepository == null) {
+            throw new IllegalArgumentException("UserRepository cannot be null");
+        }
+        this.userRepository = userRepository;
+    }
+    
+    /**
+     * Validates a user's email address: it must contain '@' and '.'.
+     * Single pass, no allocation.
      * 
      * @param email The email address to validate
      * @return true if email is valid, false otherwise
      */
     public boolean isValidEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            return false;
-        }
-        
-        return email.contains("@") && email.contains(".");
+        return UserFieldValidator.isValidEmail(email);
     }
     
     /**
-     * Validates a user's username.
-     * Simple validation with minimal branching.
+     * Validates a user's username: 3 to 50 characters once trimmed.
+     * Single pass, no allocation.
      * 
      * @param username The username to validate
      * @return true if username is valid, false otherwise
      */
     public boolean isValidUsername(String username) {
-        if (username == null || username.trim().isEmpty()) {
-            return false;
-        }
-        
-        int length = username.trim().length();
-        return length >= 3 && length <= 50;
+        return UserFieldValidator.isValidUsername(username);
     }
     
     /**
      * Creates a new user with validation.
      * Simple method with explicit parameter validation.
      * 
+     * With a repository, the user is stored and gets an ID; a taken username or email
+     * makes creation fail.
+     * 
      * @param username The username
      * @param email The email address
      * @return A new User object if valid, null otherwise
@@ -65,13 +98,161 @@ public class UserService {
         user.setUsername(username.trim());
         user.setEmail(email.trim());
         
+        if (userRepository != null && userRepository.insert(user) != null) {
+            return null;
+        }
         return user;
     }
     
+    /**
+     * Creates users for a batch of username/email pairs using the common fork-join pool.
+     * 
+     * @param requests The pairs to create users for
+     * @return The created users and the rejected requests
+     * @throws IllegalArgumentException if the collection is null
+     * @see #createUsers(Collection, ForkJoinPool)
+     */
+    public BulkUserCreationResult createUsers(Collection<UserCreationRequest> requests) {
+        return createUsers(requests, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates users for a stream of username/email pairs using the common fork-join pool.
+     * The stream is drained before validation starts.
+     * 
+     * @param requests The pairs to create users for
+     * @return The created users and the rejected requests
+     * @throws IllegalArgumentException if the stream is null
+     */
+    public BulkUserCreationResult createUsers(Stream<UserCreationRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Request stream cannot be null");
+        }
+        return createUsers(requests.collect(Collectors.toList()));
+    }
+    
+    /**
+     * Creates users for a batch of username/email pairs, validating chunks in parallel.
+     * Each request is accepted or rejected exactly as {@link #createUser(String, String)}
+     * would, but every field is trimmed at most once, so a request without surrounding
+     * whitespace allocates nothing besides its User. With a repository, valid users are
+     * stored one by one in input order once validation is done.
+     * 
+     * @param requests The pairs to create users for
+     * @param pool The pool to validate on
+     * @return The created users in input order and the rejected requests with their input index
+     * @throws IllegalArgumentException if the collection or pool is null
+     */
+    public BulkUserCreationResult createUsers(Collection<UserCreationRequest> requests, ForkJoinPool pool) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Request collection cannot be null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("ForkJoinPool cannot be null");
+        }
+        
+        UserCreationRequest[] batch = requests.toArray(new UserCreationRequest[0]);
+        User[] users = new User[batch.length];
+        UserRejectionReason[] rejections = new UserRejectionReason[batch.length];
+        if (batch.length > 0) {
+            int threshold = Math.max(MIN_BULK_CHUNK, batch.length / (pool.getParallelism() * BULK_TASKS_PER_WORKER));
+            pool.invoke(new BulkCreationTask(batch, users, rejections, 0, batch.length, threshold));
+        }
+        
+        List<User> created = new ArrayList<>(batch.length);
+        List<BulkUserCreationResult.Rejection> rejected = new ArrayList<>();
+        for (int i = 0; i < batch.length; i++) {
+            // Stored in input order, so the first of several requests for the same username or email wins
+            if (users[i] != null && userRepository != null) {
+                rejections[i] = userRepository.insert(users[i]);
+                if (rejections[i] != null) {
+                    users[i] = null;
+                }
+            }
+            if (users[i] != null) {
+                created.add(users[i]);
+            } else {
+                rejected.add(new BulkUserCreationResult.Rejection(i, rejections[i]));
+            }
+        }
+        return new BulkUserCreationResult(created, rejected);
+    }
+    
+    /**
+     * Validates one bulk request and builds its user, or records why it was rejected.
+     */
+    private static void validateForBulk(UserCreationRequest request, User[] users, UserRejectionReason[] rejections, int index) {
+        if (request == null) {
+            rejections[index] = UserRejectionReason.NULL_REQUEST;
+            return;
+        }
+        
+        // trim() returns the same instance when there is nothing to strip
+        String username = request.getUsername() != null ? request.getUsername().trim() : null;
+        if (username == null || username.length() < UserFieldValidator.MIN_USERNAME_LENGTH
+                || username.length() > UserFieldValidator.MAX_USERNAME_LENGTH) {
+            rejections[index] = UserRejectionReason.INVALID_USERNAME;
+            return;
+        }
+        
+        // Surrounding whitespace cannot hide an '@' or '.', so checking the trimmed value is equivalent
+        String email = request.getEmail() != null ? request.getEmail().trim() : null;
+        if (email == null || email.isEmpty() || email.indexOf('@') < 0 || email.indexOf('.') < 0) {
+            rejections[index] = UserRejectionReason.INVALID_EMAIL;
+            return;
+        }
+        
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        users[index] = user;
+    }
+    
+    /**
+     * Fork-join task that validates a contiguous range of bulk requests.
+     */
+    private static final class BulkCreationTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final UserCreationRequest[] batch;
+        private final User[] users;
+        private final UserRejectionReason[] rejections;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        
+        BulkCreationTask(UserCreationRequest[] batch, User[] users, UserRejectionReason[] rejections,
+                         int from, int to, int threshold) {
+            this.batch = batch;
+            this.users = users;
+            this.rejections = rejections;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    validateForBulk(batch[i], users, rejections, i);
+                }
+                return;
+            }
+            
+            int mid = (from + to) >>> 1;
+            invokeAll(new BulkCreationTask(batch, users, rejections, from, mid, threshold),
+                    new BulkCreationTask(batch, users, rejections, mid, to, threshold));
+        }
+    }
+    
     /**
      * Updates a user's email address.
      * Simple method with validation.
      * 
+     * With a repository, the user must be stored and the new email must not be taken.
+     * 
      * @param user The user to update
      * @param newEmail The new email address
      * @return true if update was successful, false otherwise
@@ -85,7 +266,13 @@ public class UserService {
             return false;
         }
         
-        user.setEmail(newEmail.trim());
+        String email = newEmail.trim();
+        if (userRepository != null
+                && (user.getUserId() == null || userRepository.updateEmail(user.getUserId(), email) != null)) {
+            return false;
+        }
+        
+        user.setEmail(email);
         return true;
     }
     
@@ -93,11 +280,13 @@ public class UserService {
      * Activates a user account.
      * Simple state change with minimal logic.
      * 
+     * With a repository, the user must be stored.
+     * 
      * @param user The user to activate
      * @return true if activation was successful, false otherwise
      */
     public boolean activateUser(User user) {
-        if (user == null) {
+        if (user == null || !storeActive(user, true)) {
             return false;
         }
         
@@ -113,7 +302,7 @@ public class UserService {
      * @return true if deactivation was successful, false otherwise
      */
     public boolean deactivateUser(User user) {
-        if (user == null) {
+        if (user == null || !storeActive(user, false)) {
             return false;
         }
         
@@ -121,6 +310,23 @@ public class UserService {
         return true;
     }
     
+    /**
+     * Records an activation change in the repository, if there is one.
+     * 
+     * @return false if the user is not stored in the repository
+     */
+    private boolean storeActive(User user, boolean active) {
+        return userRepository == null
+                || (user.getUserId() != null && userRepository.setActive(user.getUserId(), active));
+    }
+    
+    /**
+     * Returns the repository users are stored in, or null for a stateless service.
+     */
+    public UserRepository getUserRepository() {
+        return userRepository;
+    }
+    
     /**
      * Checks if a user is active.
      * Simple getter-like method.
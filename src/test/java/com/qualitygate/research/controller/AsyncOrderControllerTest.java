@@ -0,0 +1,104 @@
+package com.qualitygate.research.controller;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.service.OrderService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncOrderControllerTest {
+
+    private OrderController orderController;
+
+    @BeforeEach
+    void setUp() {
+        orderController = new OrderController(new OrderService(new DiscountConfiguration()));
+    }
+
+    @Test
+    void testProcessOrderAsync_RejectsPastHighWaterMark() throws Exception {
+        List<Runnable> queued = new ArrayList<>();
+        AsyncOrderController controller = new AsyncOrderController(orderController, queued::add, 3);
+
+        List<CompletableFuture<Order>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(controller.processOrderAsync(validOrder(i)));
+        }
+
+        assertEquals(3, controller.getQueueDepth());
+        assertEquals(2, controller.getRejectedCount());
+        assertEquals(5, controller.getSubmittedCount());
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> futures.get(4).get());
+        assertTrue(rejected.getCause() instanceof RejectedExecutionException);
+
+        futures.get(2).cancel(false);
+        queued.forEach(Runnable::run);
+
+        assertEquals(0, controller.getQueueDepth());
+        assertEquals(new BigDecimal("20.00"), futures.get(0).get().getTotalAmount());
+        assertEquals(3, controller.getWaitTime().getCount());
+        assertEquals(2, controller.getCompletedCount());
+        assertEquals(2, controller.getProcessingTime().getCount());
+
+        // Room again once the queue drains
+        assertFalse(controller.processOrderAsync(validOrder(9)).isCompletedExceptionally());
+    }
+
+    @Test
+    void testProcessOrderAsync_OwnedPool() throws Exception {
+        try (AsyncOrderController controller = new AsyncOrderController(orderController, 2, 1_000)) {
+            List<CompletableFuture<Order>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(controller.processOrderAsync(validOrder(i)));
+            }
+            CompletableFuture<Order> invalid = controller.processOrderAsync(new Order(1L, -1L));
+
+            for (CompletableFuture<Order> future : futures) {
+                assertNotNull(future.get(10, TimeUnit.SECONDS));
+            }
+            assertNull(invalid.get(10, TimeUnit.SECONDS));
+            assertEquals(0, controller.getRejectedCount());
+        }
+    }
+
+    @Test
+    void testProcessOrderAsync_ErrorFailsFuture() {
+        OrderController failing = new OrderController(new OrderService(new DiscountConfiguration())) {
+            @Override
+            public Order processOrder(Order order) {
+                throw new StackOverflowError();
+            }
+        };
+        AsyncOrderController controller = new AsyncOrderController(failing, Runnable::run, 1);
+
+        CompletableFuture<Order> future = controller.processOrderAsync(validOrder(1));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof StackOverflowError);
+        assertEquals(0, controller.getQueueDepth());
+        assertEquals(1, controller.getCompletedCount());
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncOrderController(null, Runnable::run, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncOrderController(orderController, Runnable::run, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncOrderController(orderController, 0, 1));
+    }
+
+    private static Order validOrder(long id) {
+        Order order = new Order(id, 1L);
+        order.addItem(new OrderItem("P1", 2, new BigDecimal("10.00")));
+        return order;
+    }
+}
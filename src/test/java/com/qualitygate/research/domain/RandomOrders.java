@@ -0,0 +1,41 @@
+package com.qualitygate.research.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test fixture: reproducible unpriced orders with sequential order IDs from 0, one to five
+ * items each and quantities from 1 to 60, so totals cross every default volume tier.
+ */
+public final class RandomOrders {
+
+    private static final int MAX_ITEMS = 5;
+    private static final int MAX_QUANTITY = 60;
+
+    private RandomOrders() {
+    }
+
+    /**
+     * @param count Number of orders
+     * @param random Source of the customers, items and prices
+     * @param customers Customer IDs are drawn from 1 to this
+     * @param products Product IDs are drawn from "P0" to "P(products - 1)"
+     * @param prices Unit prices to draw from, as BigDecimal strings
+     * @return A mutable list of new orders
+     */
+    public static List<Order> generate(int count, Random random, int customers, int products, String... prices) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = new Order((long) i, 1L + random.nextInt(customers));
+            int items = 1 + random.nextInt(MAX_ITEMS);
+            for (int j = 0; j < items; j++) {
+                order.addItem(new OrderItem("P" + random.nextInt(products), 1 + random.nextInt(MAX_QUANTITY),
+                        new BigDecimal(prices[random.nextInt(prices.length)])));
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+}
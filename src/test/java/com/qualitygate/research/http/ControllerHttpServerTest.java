@@ -0,0 +1,176 @@
+package com.qualitygate.research.http;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.controller.OrderController;
+import com.qualitygate.research.controller.UserController;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.User;
+import com.qualitygate.research.io.Json;
+import com.qualitygate.research.service.InMemoryUserRepository;
+import com.qualitygate.research.service.OrderService;
+import com.qualitygate.research.service.UserService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class ControllerHttpServerTest {
+
+    private ControllerHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = ControllerHttpServer.start(new InetSocketAddress("127.0.0.1", 0),
+                new OrderController(new OrderService(new DiscountConfiguration())),
+                new UserController(new UserService()));
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testOrderEndpoints() throws Exception {
+        HttpResponse<String> priced = post("/orders/price",
+                "{\"orderId\":1,\"customerId\":100,\"items\":[{\"productId\":\"A\",\"quantity\":5,\"unitPrice\":20.00}]}");
+        assertEquals(200, priced.statusCode());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> order = (Map<String, Object>) Json.parseObject(priced.body()).get("order");
+        assertEquals("80.00", order.get("totalAmount").toString());
+
+        HttpResponse<String> rejected = post("/orders/price",
+                "{\"orderId\":2,\"customerId\":100,\"items\":[{\"productId\":\"A\",\"quantity\":0,\"unitPrice\":1}]}");
+        assertEquals(422, rejected.statusCode());
+        assertEquals("INVALID_QUANTITY", Json.parseObject(rejected.body()).get("reason"));
+
+        HttpResponse<String> validated = post("/orders/validate", "{\"orderId\":3,\"customerId\":0,\"items\":[]}");
+        assertEquals(200, validated.statusCode());
+        assertEquals(Boolean.FALSE, Json.parseObject(validated.body()).get("valid"));
+    }
+
+    @Test
+    void testUserEndpoints() throws Exception {
+        HttpResponse<String> created = post("/users", "{\"username\":\" alice \",\"email\":\"alice@example.com\"}");
+        assertEquals(201, created.statusCode());
+        assertEquals("alice", Json.parseObject(created.body()).get("username"));
+
+        assertEquals(422, post("/users", "{\"username\":\"al\",\"email\":\"alice@example.com\"}").statusCode());
+
+        HttpResponse<String> updated = post("/users/email",
+                "{\"user\":{\"userId\":7,\"username\":\"alice\",\"email\":\"old@example.com\"},\"email\":\"new@example.com\"}");
+        assertEquals(200, updated.statusCode());
+        assertEquals("new@example.com", Json.parseObject(updated.body()).get("email"));
+
+        HttpResponse<String> activated = post("/users/activate", "{\"userId\":7,\"username\":\"alice\"}");
+        assertEquals(Boolean.TRUE, Json.parseObject(activated.body()).get("active"));
+        HttpResponse<String> deactivated = post("/users/deactivate", "{\"userId\":7,\"active\":true}");
+        assertEquals(Boolean.FALSE, Json.parseObject(deactivated.body()).get("active"));
+    }
+
+    @Test
+    void testActivation_UnknownUserWithRepository() throws Exception {
+        server.close();
+        UserService userService = new UserService(new InMemoryUserRepository(16));
+        User stored = userService.createUser("alice", "alice@example.com");
+        server = ControllerHttpServer.start(new InetSocketAddress("127.0.0.1", 0),
+                new OrderController(new OrderService(new DiscountConfiguration())), new UserController(userService));
+
+        assertEquals(422, post("/users/activate", "{\"userId\":999,\"username\":\"bob\"}").statusCode());
+        assertEquals(422, post("/users/deactivate", "{\"username\":\"alice\"}").statusCode());
+
+        HttpResponse<String> deactivated = post("/users/deactivate", "{\"userId\":" + stored.getUserId() + ",\"active\":true}");
+        assertEquals(200, deactivated.statusCode());
+        assertFalse(userService.getUserRepository().findById(stored.getUserId()).isActive());
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        HttpResponse<String> malformed = post("/orders/price", "{not json");
+        assertEquals(400, malformed.statusCode());
+        assertEquals("Malformed JSON", Json.parseObject(malformed.body()).get("error"));
+        HttpResponse<String> badField = post("/users/activate", "{\"active\":\"yes\"}");
+        assertEquals(400, badField.statusCode());
+        assertEquals("Invalid request body", Json.parseObject(badField.body()).get("error"));
+        assertEquals(404, post("/users/unknown", "{}").statusCode());
+
+        HttpResponse<String> get = client.send(HttpRequest.newBuilder(uri("/orders/price")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, get.statusCode());
+    }
+
+    @Test
+    void testHostileBodies() throws Exception {
+        String nested = "{\"items\":" + "[".repeat(500_000) + "}";
+        assertEquals(400, post("/orders/price", nested).statusCode());
+        assertEquals(400, post("/orders/price",
+                "{\"orderId\":1,\"customerId\":7,\"items\":[{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":1e99999999}]}").statusCode());
+        assertEquals(400, post("/orders/validate",
+                "{\"orderId\":1,\"customerId\":7,\"items\":[{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":\"1e25\"}]}").statusCode());
+
+        ControllerHttpServer failing = ControllerHttpServer.start(new InetSocketAddress("127.0.0.1", 0),
+                new OrderController(new OrderService(new DiscountConfiguration())) {
+                    @Override
+                    public boolean validateOrder(Order order) {
+                        throw new StackOverflowError();
+                    }
+                },
+                new UserController(new UserService()) {
+                    @Override
+                    public User createUser(String username, String email) {
+                        throw new IllegalArgumentException("internal detail");
+                    }
+                });
+        try {
+            HttpResponse<String> internal = client.send(HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + failing.getAddress().getPort() + "/users"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"alice\"}")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(500, internal.statusCode());
+            assertFalse(internal.body().contains("internal detail"));
+
+            URI uri = URI.create("http://127.0.0.1:" + failing.getAddress().getPort() + "/orders/validate");
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"orderId\":1}")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(500, response.statusCode());
+        } finally {
+            failing.close();
+        }
+    }
+
+    @Test
+    void testConcurrentRequests() {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String body = "{\"orderId\":" + i + ",\"customerId\":" + (i + 1)
+                    + ",\"items\":[{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":1.00}]}";
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri("/orders/price"))
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.join().statusCode());
+        }
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
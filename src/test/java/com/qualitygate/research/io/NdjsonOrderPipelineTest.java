@@ -0,0 +1,133 @@
+package com.qualitygate.research.io;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.service.OrderService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class NdjsonOrderPipelineTest {
+
+    private NdjsonOrderPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new NdjsonOrderPipeline(new OrderService(new DiscountConfiguration()));
+    }
+
+    @Test
+    void testRun_PricesRejectsAndReportsMalformedLines() throws IOException {
+        String input = "{\"orderId\":1,\"customerId\":100,\"items\":[{\"productId\":\"A\",\"quantity\":5,\"unitPrice\":20.00}]}\n"
+                + "\n"
+                + "{\"orderId\":2,\"customerId\":101,\"items\":[{\"productId\":\"A\",\"quantity\":0,\"unitPrice\":\"1.00\"}]}\n"
+                + "{not json}\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        PipelineStats stats = pipeline.run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        assertEquals(3, stats.getOrdersRead());
+        assertEquals(1, stats.getOrdersPriced());
+        assertEquals(1, stats.getOrdersRejected());
+        assertEquals(1, stats.getMalformedLines());
+        assertEquals(input.getBytes(StandardCharsets.UTF_8).length, stats.getBytesRead());
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+
+        Map<String, Object> priced = Json.parseObject(lines[0]);
+        assertEquals("PRICED", priced.get("status"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> order = (Map<String, Object>) priced.get("order");
+        assertEquals("100.00", order.get("subtotal").toString());
+        assertEquals("20.00", order.get("discountAmount").toString());
+        assertEquals("80.00", order.get("totalAmount").toString());
+
+        Map<String, Object> rejected = Json.parseObject(lines[1]);
+        assertEquals("REJECTED", rejected.get("status"));
+        assertEquals("INVALID_QUANTITY", rejected.get("reason"));
+
+        Map<String, Object> malformed = Json.parseObject(lines[2]);
+        assertEquals("MALFORMED", malformed.get("status"));
+        assertEquals("4", malformed.get("line").toString());
+    }
+
+    @Test
+    void testRun_ReportsProgress() throws IOException {
+        List<PipelineStats> reports = new ArrayList<>();
+        NdjsonOrderPipeline reporting = new NdjsonOrderPipeline(
+                new OrderService(new DiscountConfiguration()), reports::add, 1L);
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            input.append("{\"orderId\":").append(i)
+                    .append(",\"customerId\":7,\"items\":[{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":1}]}\n");
+        }
+
+        PipelineStats stats = reporting.run(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayOutputStream());
+
+        assertFalse(reports.isEmpty());
+        assertSame(stats, reports.get(reports.size() - 1));
+        assertEquals(10, stats.getOrdersPriced());
+        assertTrue(stats.getOrdersPerSecond() > 0);
+    }
+
+    @Test
+    void testReadOrder_RejectsWrongFieldTypes() {
+        assertThrows(IllegalArgumentException.class, () -> OrderJsonCodec.readOrder("{\"customerId\":\"abc\"}"));
+        assertThrows(IllegalArgumentException.class, () -> OrderJsonCodec.readOrder("{\"items\":{}}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderJsonCodec.readOrder("{\"items\":[{\"quantity\":1.5}]}"));
+    }
+
+    @Test
+    void testRun_HostileLinesAreMalformedNotFatal() throws IOException {
+        StringBuilder nested = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            nested.append('[');
+        }
+        String valid = "{\"orderId\":9,\"customerId\":7,\"items\":[{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":1}]}";
+        String input = nested + "\n"
+                + "{\"orderId\":1,\"customerId\":7,\"items\":[{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":1e99999999}]}\n"
+                + "{\"orderId\":2,\"customerId\":7,\"items\":[{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":\"1e-99999999\"}]}\n"
+                + "{\"orderId\":3,\"customerId\":7,\"items\":[{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":1e60}]}\n"
+                + valid + "\n";
+
+        PipelineStats stats = pipeline.run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayOutputStream());
+
+        assertEquals(4, stats.getMalformedLines());
+        assertEquals(1, stats.getOrdersPriced());
+        assertDoesNotThrow(() -> Json.parse("[[[1e64,1e-64]]]"));
+    }
+
+    @Test
+    void testRun_OverlongLinesAreMalformed() throws IOException {
+        NdjsonOrderPipeline bounded = new NdjsonOrderPipeline(new OrderService(new DiscountConfiguration()),
+                null, 1_000_000_000L, 200);
+        String valid = "{\"orderId\":9,\"customerId\":7,\"items\":[{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":1}]}";
+        String overlong = "{\"orderId\":1,\"note\":\"" + "x".repeat(20_000) + "\"}";
+        // The last line has no terminator
+        String input = valid + "\r\n" + overlong + "\r\n" + valid + "\r" + valid + "\n" + overlong;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        PipelineStats stats = bounded.run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        assertEquals(5, stats.getOrdersRead());
+        assertEquals(3, stats.getOrdersPriced());
+        assertEquals(2, stats.getMalformedLines());
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, lines.length);
+        assertEquals("MALFORMED", Json.parseObject(lines[1]).get("status"));
+        assertEquals("2", Json.parseObject(lines[1]).get("line").toString());
+        assertEquals("5", Json.parseObject(lines[4]).get("line").toString());
+        assertEquals("PRICED", Json.parseObject(lines[3]).get("status"));
+    }
+}
@@ -0,0 +1,203 @@
+package com.qualitygate.research.io;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.VolumeDiscountTier;
+import com.qualitygate.research.controller.OrderController;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.domain.RandomOrders;
+import com.qualitygate.research.service.OrderRejectionReason;
+import com.qualitygate.research.service.OrderService;
+import com.qualitygate.research.service.PricedAmounts;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class OffHeapOrderStoreTest {
+
+    private static final String[] PRICES = {"0.00", "0.005", "1", "9.99", "19.995", "3.333", "499.99"};
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(new DiscountConfiguration());
+    }
+
+    @Test
+    void testFind_ReturnsStoredOrderAndAmounts() {
+        OffHeapOrderStore store = new OffHeapOrderStore(4096);
+        List<Order> orders = RandomOrders.generate(5_000, new Random(1), 1_000, 100, PRICES);
+        for (Order order : orders) {
+            orderService.calculateOrderTotal(order);
+            store.append(order);
+        }
+
+        assertEquals(orders.size(), store.size());
+        OffHeapOrderView view = new OffHeapOrderView();
+        PricedAmounts amounts = new PricedAmounts();
+        for (Order order : orders) {
+            assertTrue(store.find(order.getOrderId(), view));
+            assertEquals(order.getOrderId().longValue(), view.getOrderId());
+            assertEquals(order.getCustomerId().longValue(), view.getCustomerId());
+            assertEquals(order.itemCount(), view.itemCount());
+            for (int i = 0; i < order.itemCount(); i++) {
+                assertEquals(order.itemAt(i).getProductId(), view.productIdAt(i));
+                assertEquals(order.itemAt(i).getQuantity().intValue(), view.quantityAt(i));
+            }
+            assertTrue(view.isPriced());
+            assertEquals(order.getTotalAmount(), view.getTotalAmount());
+
+            assertNull(orderService.priceView(view, amounts));
+            assertEquals(view.getSubtotalCents(), amounts.getSubtotalCents());
+            assertEquals(view.getDiscountCents(), amounts.getDiscountCents());
+            assertEquals(view.getTotalCents(), amounts.getTotalCents());
+        }
+        assertNull(store.find(-1L));
+        assertTrue(store.getOffHeapBytes() > 0);
+    }
+
+    @Test
+    void testAppend_ReplacesAndRejects() {
+        OffHeapOrderStore store = new OffHeapOrderStore();
+        Order unpriced = new Order(7L, 3L);
+        unpriced.addItem(new OrderItem("P1", 2, new BigDecimal("10.00")));
+        store.append(unpriced);
+        assertFalse(store.find(7L).isPriced());
+
+        orderService.calculateOrderTotal(unpriced);
+        store.append(unpriced);
+        assertEquals(1, store.size());
+        assertEquals(new BigDecimal("20.00"), store.find(7L).getTotalAmount());
+
+        OrderController controller = new OrderController(orderService);
+        assertEquals(2000L, controller.priceOrderView(store.find(7L)).getTotalCents());
+        store.append(new Order(8L, 3L));
+        assertNull(controller.priceOrderView(store.find(8L)));
+        assertEquals(OrderRejectionReason.NO_ITEMS, orderService.priceView(store.find(8L), new PricedAmounts()));
+
+        assertThrows(IllegalArgumentException.class, () -> store.append(null));
+        assertThrows(IllegalArgumentException.class, () -> store.append(new Order(null, 1L)));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapOrderStore(16));
+    }
+
+    @Test
+    void testAppend_FullIndexRejectsBeforeStoring() {
+        int maxShardSlots = 64;
+        OffHeapOrderStore store = new OffHeapOrderStore(4096, maxShardSlots);
+        long stored = 0;
+        long rejectedId = -1;
+        for (long id = 0; rejectedId < 0; id++) {
+            Order order = new Order(id, 1L);
+            order.addItem(new OrderItem("P1", 1, BigDecimal.ONE));
+            try {
+                store.append(order);
+                stored++;
+            } catch (IllegalStateException e) {
+                rejectedId = id;
+            }
+        }
+
+        // Every shard takes at least half its slots before the first rejection
+        assertTrue(stored >= maxShardSlots / 2, "stored " + stored);
+        assertEquals(stored, store.size());
+        assertNull(store.find(rejectedId));
+        long bytes = store.getOffHeapBytes();
+        Order failed = new Order(rejectedId, 1L);
+        failed.addItem(new OrderItem("P1", 1, BigDecimal.ONE));
+        assertThrows(IllegalStateException.class, () -> store.append(failed));
+        assertEquals(bytes, store.getOffHeapBytes());
+
+        // Replacing a stored order needs no new slot
+        Order replacement = new Order(0L, 2L);
+        replacement.addItem(new OrderItem("P2", 3, BigDecimal.TEN));
+        store.append(replacement);
+        assertEquals(2L, store.find(0L).getCustomerId());
+        assertEquals(stored, store.size());
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapOrderStore(4096, 100));
+    }
+
+    @Test
+    void testPriceView_ExactFallbackMatchesOrderService() {
+        // A rate with more digits than the fixed-point engine supports forces the BigDecimal path
+        OrderService exactService = new OrderService(new DiscountConfiguration(
+                Collections.singletonList(new VolumeDiscountTier(10, new BigDecimal("0.05"))),
+                new BigDecimal("0.2000000000000000000001"), new BigDecimal("500.00"),
+                new BigDecimal("0.10"), new BigDecimal("0.30")));
+        OffHeapOrderStore store = new OffHeapOrderStore();
+        List<Order> orders = RandomOrders.generate(1_000, new Random(2), 1_000, 100, PRICES);
+        OffHeapOrderView view = new OffHeapOrderView();
+        PricedAmounts amounts = new PricedAmounts();
+        for (Order order : orders) {
+            store.append(order);
+            exactService.calculateOrderTotal(order);
+            assertTrue(store.find(order.getOrderId(), view));
+            assertNull(exactService.priceView(view, amounts));
+            assertEquals(order.getTotalAmount(), BigDecimal.valueOf(amounts.getTotalCents(), 2));
+            assertEquals(order.getDiscountAmount(), BigDecimal.valueOf(amounts.getDiscountCents(), 2));
+        }
+    }
+
+    @Test
+    void testFind_ConcurrentReadersDuringAppends() throws InterruptedException {
+        OffHeapOrderStore store = new OffHeapOrderStore(4096);
+        int orderCount = 50_000;
+        AtomicLong published = new AtomicLong();
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            Random random = new Random(r);
+            readers.add(new Thread(() -> {
+                OffHeapOrderView view = new OffHeapOrderView();
+                try {
+                    while (published.get() < orderCount) {
+                        long visible = published.get();
+                        if (visible == 0) {
+                            continue;
+                        }
+                        long orderId = random.nextInt((int) visible);
+                        assertTrue(store.find(orderId, view), "order " + orderId);
+                        assertEquals(orderId, view.getOrderId());
+                        assertEquals(orderId % 97, view.getCustomerId());
+                        assertEquals(1 + orderId % 5, view.itemCount());
+                        assertEquals(orderId * 10, view.getTotalCents());
+                        lookups.incrementAndGet();
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+        readers.forEach(Thread::start);
+
+        for (long id = 0; id < orderCount; id++) {
+            Order order = new Order(id, id % 97);
+            for (int i = 0; i <= id % 5; i++) {
+                order.addItem(new OrderItem("P" + i, 1, BigDecimal.ONE));
+            }
+            order.setSubtotal(BigDecimal.valueOf(id * 10, 2));
+            order.setDiscountAmount(BigDecimal.ZERO);
+            order.setTotalAmount(BigDecimal.valueOf(id * 10, 2));
+            store.append(order);
+            published.set(id + 1);
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(lookups.get() > 0);
+        assertEquals(orderCount, store.size());
+    }
+}
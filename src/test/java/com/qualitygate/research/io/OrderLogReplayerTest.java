@@ -0,0 +1,241 @@
+package com.qualitygate.research.io;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.VolumeDiscountTier;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.domain.RandomOrders;
+import com.qualitygate.research.service.OrderRejectionReason;
+import com.qualitygate.research.service.OrderService;
+import com.qualitygate.research.service.PricedAmounts;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class OrderLogReplayerTest {
+
+    // Includes half-cent and negative-scale prices
+    private static final String[] PRICES = {"0.01", "0.005", "9.99", "19.995", "3.333", "1E+1", "499.99"};
+
+    @TempDir
+    Path tempDir;
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(new DiscountConfiguration());
+    }
+
+    @Test
+    void testReplay_MatchesOrderService() throws IOException {
+        Path log = tempDir.resolve("orders.log");
+        List<Order> orders = RandomOrders.generate(500, new Random(11), 1_000, 50, PRICES);
+        try (OrderLogWriter writer = OrderLogWriter.open(log)) {
+            for (Order order : orders) {
+                writer.append(order);
+            }
+        }
+
+        List<long[]> replayed = new ArrayList<>();
+        // A tiny window forces a remap on almost every record
+        OrderLogReplayer replayer = new OrderLogReplayer(log, orderService, 64);
+        OrderLogReplayer.ReplayResult result = replayer.replay((record, amounts) -> replayed.add(new long[]{
+                record.getOrderId(), amounts.getSubtotalCents(), amounts.getDiscountCents(), amounts.getTotalCents()}));
+
+        assertEquals(orders.size(), result.getRecordCount());
+        assertEquals(orders.size(), result.getPricedCount());
+        assertEquals(Files.size(log), result.getNextOffset());
+        for (int i = 0; i < orders.size(); i++) {
+            Order expected = orderService.calculateOrderTotal(orders.get(i));
+            long[] actual = replayed.get(i);
+            assertEquals(expected.getOrderId().longValue(), actual[0]);
+            assertEquals(expected.getSubtotal(), BigDecimal.valueOf(actual[1], 2));
+            assertEquals(expected.getDiscountAmount(), BigDecimal.valueOf(actual[2], 2));
+            assertEquals(expected.getTotalAmount(), BigDecimal.valueOf(actual[3], 2));
+        }
+    }
+
+    @Test
+    void testReplay_ResumesFromOffsetAndStopsAtTruncatedTail() throws IOException {
+        Path log = tempDir.resolve("orders.log");
+        List<Order> orders = RandomOrders.generate(10, new Random(3), 1_000, 50, PRICES);
+        try (OrderLogWriter writer = OrderLogWriter.open(log)) {
+            for (int i = 0; i < 5; i++) {
+                writer.append(orders.get(i));
+            }
+        }
+
+        OrderLogReplayer replayer = new OrderLogReplayer(log, orderService);
+        OrderLogReplayer.ReplayResult first = replayer.replay((record, amounts) -> { });
+        assertEquals(5, first.getRecordCount());
+
+        try (OrderLogWriter writer = OrderLogWriter.open(log)) {
+            for (int i = 5; i < 10; i++) {
+                writer.append(orders.get(i));
+            }
+        }
+        long completeSize = Files.size(log);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            // Half a record: a length prefix promising more bytes than were written
+            channel.write(java.nio.ByteBuffer.wrap(new byte[]{100, 0, 0, 0, 1, 2}));
+        }
+
+        List<Long> orderIds = new ArrayList<>();
+        OrderLogReplayer.ReplayResult second = replayer.replay(first.getNextOffset(),
+                (record, amounts) -> orderIds.add(record.getOrderId()));
+
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L), orderIds);
+        assertEquals(completeSize, second.getNextOffset());
+        assertEquals(6, second.getTrailingBytes());
+    }
+
+    @Test
+    void testOpen_TruncatesTornTailSoNewRecordsReplay() throws IOException {
+        Path log = tempDir.resolve("orders.log");
+        List<Order> orders = RandomOrders.generate(6, new Random(5), 1_000, 50, PRICES);
+        try (OrderLogWriter writer = OrderLogWriter.open(log)) {
+            for (int i = 0; i < 3; i++) {
+                writer.append(orders.get(i));
+            }
+        }
+        long completeSize = Files.size(log);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[]{100, 0, 0, 0, 1, 2}));
+        }
+
+        try (OrderLogWriter writer = OrderLogWriter.open(log)) {
+            assertEquals(completeSize, Files.size(log));
+            for (int i = 3; i < 6; i++) {
+                assertTrue(writer.append(orders.get(i)) >= completeSize);
+            }
+        }
+
+        List<Long> orderIds = new ArrayList<>();
+        OrderLogReplayer.ReplayResult result = new OrderLogReplayer(log, orderService)
+                .replay((record, amounts) -> orderIds.add(record.getOrderId()));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), orderIds);
+        assertEquals(0, result.getTrailingBytes());
+    }
+
+    @Test
+    void testOpen_FailsOnCorruptLengthWithoutTruncating() throws IOException {
+        Path log = tempDir.resolve("orders.log");
+        List<Order> orders = RandomOrders.generate(4, new Random(9), 1_000, 50, PRICES);
+        long secondRecord;
+        try (OrderLogWriter writer = OrderLogWriter.open(log)) {
+            writer.append(orders.get(0));
+            secondRecord = writer.append(orders.get(1));
+            writer.append(orders.get(2));
+            writer.append(orders.get(3));
+        }
+        long size = Files.size(log);
+
+        for (int badLength : new int[]{Integer.MAX_VALUE, 3}) {
+            try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                channel.write(java.nio.ByteBuffer.wrap(new byte[]{
+                        (byte) badLength, (byte) (badLength >>> 8), (byte) (badLength >>> 16), (byte) (badLength >>> 24)}),
+                        secondRecord);
+            }
+
+            assertThrows(IOException.class, () -> OrderLogWriter.open(log));
+            assertEquals(size, Files.size(log));
+            assertThrows(IOException.class, () -> new OrderLogReplayer(log, orderService).replay((record, amounts) -> { }));
+        }
+    }
+
+    @Test
+    void testReplay_FallsBackToExactPricing() throws IOException {
+        Path log = tempDir.resolve("orders.log");
+        // 100 units at 1e14 is 1e18 cents: it fits a long, but the fixed-point discount products do not
+        Order large = new Order(1L, 100L);
+        large.addItem(new OrderItem("BIG", 100, new BigDecimal("1E+14")));
+        List<Order> orders = RandomOrders.generate(50, new Random(7), 1_000, 50, PRICES);
+        try (OrderLogWriter writer = OrderLogWriter.open(log)) {
+            writer.append(large);
+            for (Order order : orders) {
+                writer.append(order);
+            }
+        }
+
+        List<long[]> replayed = new ArrayList<>();
+        OrderLogReplayer.ReplayResult result = new OrderLogReplayer(log, orderService).replay(
+                (record, amounts) -> replayed.add(new long[]{amounts.getSubtotalCents(), amounts.getTotalCents()}));
+        assertEquals(51, result.getPricedCount());
+        assertEquals(0, result.getFailedCount());
+        Order expected = orderService.calculateOrderTotal(large);
+        assertEquals(expected.getSubtotal(), BigDecimal.valueOf(replayed.get(0)[0], 2));
+        assertEquals(expected.getTotalAmount(), BigDecimal.valueOf(replayed.get(0)[1], 2));
+
+        // A rate with more digits than the fixed-point engine supports prices every record exactly
+        OrderService exactService = new OrderService(new DiscountConfiguration(
+                Collections.singletonList(new VolumeDiscountTier(10, new BigDecimal("0.05"))),
+                new BigDecimal("0.2000000000000000000001"), new BigDecimal("500.00"),
+                new BigDecimal("0.10"), new BigDecimal("0.30")));
+        List<Long> totals = new ArrayList<>();
+        OrderLogReplayer.ReplayResult exact = new OrderLogReplayer(log, exactService)
+                .replay((record, amounts) -> totals.add(amounts.getTotalCents()));
+        assertEquals(51, exact.getPricedCount());
+        for (int i = 0; i < orders.size(); i++) {
+            assertEquals(exactService.calculateOrderTotal(orders.get(i)).getTotalAmount(),
+                    BigDecimal.valueOf(totals.get(i + 1), 2));
+        }
+    }
+
+    @Test
+    void testReplay_ReportsRejectionsAndNullFields() throws IOException {
+        Path log = tempDir.resolve("orders.log");
+        Order noPrice = new Order(1L, null);
+        noPrice.addItem(new OrderItem(null, 2, null));
+        Order noQuantity = new Order(2L, 100L);
+        noQuantity.addItem(new OrderItem("B", null, new BigDecimal("1.00")));
+        try (OrderLogWriter writer = OrderLogWriter.open(log)) {
+            writer.append(noPrice);
+            writer.append(noQuantity);
+            writer.append(new Order(3L, 100L));
+        }
+
+        List<OrderRejectionReason> reasons = new ArrayList<>();
+        OrderLogReplayer.ReplayResult result = new OrderLogReplayer(log, orderService).replay(
+                new OrderLogReplayer.ReplayHandler() {
+                    @Override
+                    public void onPriced(OrderLogRecord record, PricedAmounts amounts) {
+                        fail("No order should price");
+                    }
+
+                    @Override
+                    public void onRejected(OrderLogRecord record, OrderRejectionReason reason) {
+                        if (record.getOrderId() == 1L) {
+                            assertFalse(record.hasCustomerId());
+                            assertNull(record.productIdAt(0));
+                        }
+                        reasons.add(reason);
+                    }
+                });
+
+        assertEquals(3, result.getRejectedCount());
+        assertEquals(List.of(OrderRejectionReason.INVALID_UNIT_PRICE, OrderRejectionReason.INVALID_QUANTITY,
+                OrderRejectionReason.NO_ITEMS), reasons);
+    }
+
+    @Test
+    void testOpen_RejectsForeignFile() throws IOException {
+        Path notALog = tempDir.resolve("orders.ndjson");
+        Files.writeString(notALog, "{\"orderId\":1}\n");
+
+        assertThrows(IOException.class, () -> OrderLogWriter.open(notALog));
+        assertThrows(IOException.class, () -> new OrderLogReplayer(notALog, orderService).replay((record, amounts) -> { }));
+    }
+}
@@ -0,0 +1,107 @@
+package com.qualitygate.research.load;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.controller.OrderController;
+import com.qualitygate.research.controller.UserController;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.service.OrderService;
+import com.qualitygate.research.service.UserService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class OpenLoopLoadGeneratorTest {
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(new DiscountConfiguration());
+    }
+
+    @Test
+    void testNextOrder_FollowsProfile() {
+        LoadProfile profile = new LoadProfile()
+                .setItemsPerOrder(2, 4)
+                .setQuantityBands(new int[]{10, 50, 100}, new double[]{0, 1, 0, 1})
+                .setPremiumCustomerShare(0.25)
+                .setUnitPriceRange(new BigDecimal("5.00"), new BigDecimal("7.50"));
+        SyntheticTraffic traffic = new SyntheticTraffic(profile);
+        SplittableRandom random = new SplittableRandom(1);
+
+        int premium = 0;
+        int orders = 10_000;
+        for (int i = 0; i < orders; i++) {
+            Order order = traffic.nextOrder(i, random);
+            assertTrue(orderService.validateOrder(order));
+            assertTrue(order.itemCount() >= 2 && order.itemCount() <= 4);
+
+            int quantity = 0;
+            for (OrderItem item : order.getItems()) {
+                quantity += item.getQuantity();
+                assertTrue(item.getUnitPrice().compareTo(new BigDecimal("5.00")) >= 0);
+                assertTrue(item.getUnitPrice().compareTo(new BigDecimal("7.50")) <= 0);
+            }
+            assertTrue((quantity >= 10 && quantity < 50) || (quantity >= 100 && quantity <= 200), "quantity " + quantity);
+            if (orderService.isPremiumCustomer(order.getCustomerId())) {
+                premium++;
+            }
+        }
+        assertEquals(0.25, (double) premium / orders, 0.02);
+    }
+
+    @Test
+    void testRun_ReportsMixAndLatency() {
+        LoadProfile profile = new LoadProfile().setOperationMix(0.5, 0.3, 0.2);
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(new OrderController(orderService),
+                new UserController(new UserService()), profile);
+
+        LoadReport report = generator.run(5_000, Duration.ofMillis(200), 2);
+
+        assertEquals(1_000, report.getCompletedCount());
+        assertEquals(1_000, report.getLatency().getCount());
+        assertEquals(1_000, report.getServiceTime().getCount());
+        assertTrue(report.getCount(SyntheticTraffic.Operation.ORDER) > 0);
+        assertTrue(report.getCount(SyntheticTraffic.Operation.CREATE_USER) > 0);
+        assertTrue(report.getCount(SyntheticTraffic.Operation.UPDATE_USER_EMAIL) > 0);
+        assertEquals(0, report.getRejectedCount());
+        assertEquals(0, report.getFailedCount());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getLatency().getValueAtPercentile(99) >= report.getServiceTime().getValueAtPercentile(50));
+    }
+
+    @Test
+    void testRun_LatencyIncludesQueueingBehindStall() {
+        AtomicBoolean stalled = new AtomicBoolean();
+        OrderController stallingController = new OrderController(orderService) {
+            @Override
+            public Order processOrder(Order order) {
+                if (stalled.compareAndSet(false, true)) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.processOrder(order);
+            }
+        };
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(stallingController,
+                new UserController(new UserService()), new LoadProfile().setOperationMix(1, 0, 0));
+
+        LoadReport report = generator.run(1_000, Duration.ofMillis(200), 1);
+
+        assertEquals(200, report.getCount(SyntheticTraffic.Operation.ORDER));
+        // About 50 requests queue behind the stall; from their due times they waited up to 50 ms
+        assertTrue(report.getLatency().getValueAtPercentile(90) >= 5_000_000L, report.toString());
+        assertTrue(report.getServiceTime().getValueAtPercentile(90) < report.getLatency().getValueAtPercentile(90));
+        assertThrows(IllegalArgumentException.class, () -> generator.run(0, Duration.ofSeconds(1), 1));
+        assertThrows(IllegalArgumentException.class, () -> new LoadProfile().setOperationMix(0, 0, 0));
+    }
+}
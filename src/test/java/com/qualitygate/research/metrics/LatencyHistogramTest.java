@@ -0,0 +1,49 @@
+package com.qualitygate.research.metrics;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testBucketIndex_UpperBoundCoversValue() {
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index >= 0 && index < LatencyHistogram.BUCKET_COUNT);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value, value + " > " + upper);
+            assertTrue(upper - value <= Math.max(0L, value / LatencyHistogram.SUB_BUCKETS), value + " -> " + upper);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value);
+            }
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testSnapshot_Percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000L, snapshot.getCount());
+        assertEquals(100_000L, snapshot.getMax());
+        assertEquals(50_000.5, snapshot.getMean(), 0.001);
+        assertEquals(50_000.0, snapshot.getValueAtPercentile(50), 50_000 * 0.035);
+        assertEquals(99_000.0, snapshot.getValueAtPercentile(99), 99_000 * 0.035);
+        assertEquals(100_000L, snapshot.getValueAtPercentile(100));
+        assertEquals(1L, snapshot.getValueAtPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+
+        histogram.reset();
+        assertEquals(0L, histogram.snapshot().getCount());
+        assertEquals(0L, histogram.snapshot().getValueAtPercentile(99));
+    }
+}
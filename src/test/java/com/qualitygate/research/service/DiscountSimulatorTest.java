@@ -0,0 +1,119 @@
+package com.qualitygate.research.service;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.VolumeDiscountTier;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.domain.RandomOrders;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class DiscountSimulatorTest {
+
+    private static final String[] PRICES = {"0.99", "5.00", "19.995", "49.50", "120.00", "333.33"};
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(new DiscountConfiguration());
+    }
+
+    @Test
+    void testSimulate_MatchesPricingEachCandidate() {
+        DiscountConfiguration steep = new DiscountConfiguration(
+                Arrays.asList(new VolumeDiscountTier(5, new BigDecimal("0.08")), new VolumeDiscountTier(40, new BigDecimal("0.25"))),
+                new BigDecimal("0.15"), new BigDecimal("250.00"), new BigDecimal("0.12"), new BigDecimal("0.35"));
+        // Too many digits for the fixed-point kernel, so this candidate is priced with BigDecimal
+        DiscountConfiguration fine = new DiscountConfiguration(Collections.emptyList(),
+                new BigDecimal("0.2000000000000000000001"), new BigDecimal("100.00"), new BigDecimal("0.05"), new BigDecimal("0.30"));
+        List<DiscountConfiguration> candidates = Arrays.asList(new DiscountConfiguration(), steep, fine);
+
+        List<Order> orders = RandomOrders.generate(12_000, new Random(11), 400, 40, PRICES);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        DiscountSimulationReport report;
+        try {
+            report = new DiscountSimulator(orderService, candidates).simulate(orders, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(12_000, report.getOrderCount());
+        assertEquals(0, report.getSkippedCount());
+        assertEquals(3, report.getCandidates().size());
+
+        BigDecimal baselineDiscount = assertMatchesPricing(orderService, orders, report, report.getBaseline());
+        for (int i = 0; i < candidates.size(); i++) {
+            DiscountSimulationReport.ScenarioOutcome outcome = report.getCandidates().get(i);
+            assertSame(candidates.get(i), outcome.getConfiguration());
+            BigDecimal discount = assertMatchesPricing(new OrderService(candidates.get(i)), orders, report, outcome);
+            assertEquals(0, discount.subtract(baselineDiscount).compareTo(outcome.getDiscountDelta()));
+            assertEquals(0, outcome.getDiscountDelta().negate().compareTo(outcome.getRevenueDelta()));
+        }
+        assertEquals(0, report.getCandidates().get(0).getRevenueDelta().signum());
+        assertTrue(report.getCandidates().get(1).getRevenueDelta().signum() < 0);
+    }
+
+    @Test
+    void testSimulate_SkipsInvalidOrders() {
+        List<Order> orders = RandomOrders.generate(100, new Random(2), 400, 40, PRICES);
+        orders.add(null);
+        orders.add(new Order(500L, 1L));
+        Order negative = new Order(501L, 1L);
+        negative.addItem(new OrderItem("P1", 1, new BigDecimal("-1.00")));
+        orders.add(negative);
+
+        DiscountSimulationReport report = new DiscountSimulator(orderService,
+                Collections.singletonList(new DiscountConfiguration())).simulate(orders);
+
+        assertEquals(100, report.getOrderCount());
+        assertEquals(3, report.getSkippedCount());
+        assertMatchesPricing(orderService, orders.subList(0, 100), report, report.getBaseline());
+
+        DiscountSimulationReport empty = new DiscountSimulator(orderService,
+                Collections.singletonList(new DiscountConfiguration())).simulate(new ArrayList<>());
+        assertEquals(0, empty.getOrderCount());
+        assertEquals(0, empty.getBaseline().getTotalRevenue().signum());
+    }
+
+    @Test
+    void testSimulate_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new DiscountSimulator(null, Collections.singletonList(new DiscountConfiguration())));
+        assertThrows(IllegalArgumentException.class, () -> new DiscountSimulator(orderService, null));
+        assertThrows(IllegalArgumentException.class, () -> new DiscountSimulator(orderService, new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class, () -> new DiscountSimulator(orderService, Collections.singletonList(null)));
+
+        DiscountSimulator simulator = new DiscountSimulator(orderService, Collections.singletonList(new DiscountConfiguration()));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(null));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(new ArrayList<>(), null));
+    }
+
+    private static BigDecimal assertMatchesPricing(OrderService service, List<Order> orders, DiscountSimulationReport report,
+                                                   DiscountSimulationReport.ScenarioOutcome outcome) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal discount = BigDecimal.ZERO;
+        BigDecimal revenue = BigDecimal.ZERO;
+        long discounted = 0;
+        for (Order order : orders) {
+            service.calculateOrderTotal(order);
+            subtotal = subtotal.add(order.getSubtotal());
+            discount = discount.add(order.getDiscountAmount());
+            revenue = revenue.add(order.getTotalAmount());
+            discounted += order.getDiscountAmount().signum() != 0 ? 1 : 0;
+        }
+        assertEquals(0, subtotal.compareTo(report.getTotalSubtotal()));
+        assertEquals(0, discount.compareTo(outcome.getTotalDiscount()));
+        assertEquals(0, revenue.compareTo(outcome.getTotalRevenue()));
+        assertEquals(discounted, outcome.getDiscountedOrderCount());
+        return discount;
+    }
+}
@@ -0,0 +1,166 @@
+package com.qualitygate.research.service;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.VolumeDiscountTier;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class FixedPointPricingEngineTest {
+
+    private static final String[] PRICES = {
+            "0.00", "0.01", "0.005", "0.015", "1", "9.99", "19.995", "3.333", "12.3456789", "1E+1", "499.99", "1234.5"
+    };
+
+    private OrderService orderService;
+    private FixedPointPricingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        DiscountConfiguration discountConfig = new DiscountConfiguration();
+        orderService = new OrderService(discountConfig);
+        engine = new FixedPointPricingEngine(discountConfig);
+    }
+
+    @Test
+    void testCalculateOrderTotal_MatchesBigDecimalPath() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            long customerId = random.nextInt(1_000);
+            int itemCount = 1 + random.nextInt(6);
+            Order expected = new Order((long) i, customerId);
+            Order actual = new Order((long) i, customerId);
+            for (int j = 0; j < itemCount; j++) {
+                int quantity = 1 + random.nextInt(60);
+                BigDecimal unitPrice = new BigDecimal(PRICES[random.nextInt(PRICES.length)]);
+                expected.addItem(new OrderItem("P" + j, quantity, unitPrice));
+                actual.addItem(new OrderItem("P" + j, quantity, unitPrice));
+            }
+
+            orderService.calculateOrderTotal(expected);
+            engine.calculateOrderTotal(actual);
+
+            assertPricedIdentically(expected, actual);
+        }
+    }
+
+    @Test
+    void testCalculateOrderTotal_OddRateScales() {
+        DiscountConfiguration discountConfig = mock(DiscountConfiguration.class);
+        when(discountConfig.getVolumeDiscountTier1Threshold()).thenReturn(2);
+        when(discountConfig.getVolumeDiscountTier2Threshold()).thenReturn(4);
+        when(discountConfig.getVolumeDiscountTier3Threshold()).thenReturn(6);
+        when(discountConfig.getVolumeDiscountTier1Rate()).thenReturn(new BigDecimal("0.0333"));
+        when(discountConfig.getVolumeDiscountTier2Rate()).thenReturn(new BigDecimal("0.125"));
+        when(discountConfig.getVolumeDiscountTier3Rate()).thenReturn(new BigDecimal("0.1875"));
+        when(discountConfig.getPremiumCustomerDiscountRate()).thenReturn(new BigDecimal("0.2"));
+        when(discountConfig.getPromotionalDiscountThreshold()).thenReturn(new BigDecimal("99.995"));
+        when(discountConfig.getPromotionalDiscountRate()).thenReturn(new BigDecimal("0.07"));
+        when(discountConfig.getMaxDiscountRate()).thenReturn(new BigDecimal("0.175"));
+
+        OrderService reference = new OrderService(discountConfig);
+        FixedPointPricingEngine oddEngine = new FixedPointPricingEngine(discountConfig);
+        assertTrue(oddEngine.isFixedPointSupported());
+
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            long customerId = 1 + random.nextInt(300);
+            int quantity = 1 + random.nextInt(8);
+            BigDecimal unitPrice = BigDecimal.valueOf(random.nextInt(20_000), random.nextInt(4));
+            Order expected = new Order((long) i, customerId);
+            expected.addItem(new OrderItem("P", quantity, unitPrice));
+            Order actual = new Order((long) i, customerId);
+            actual.addItem(new OrderItem("P", quantity, unitPrice));
+
+            reference.calculateOrderTotal(expected);
+            oddEngine.calculateOrderTotal(actual);
+
+            assertPricedIdentically(expected, actual);
+        }
+    }
+
+    @Test
+    void testCalculateOrderTotal_OverflowFallsBackToBigDecimal() {
+        BigDecimal hugePrice = new BigDecimal("90000000000000000.00");
+        Order expected = new Order(1L, 100L);
+        expected.addItem(new OrderItem("Product1", 1_000, hugePrice));
+        Order actual = new Order(1L, 100L);
+        actual.addItem(new OrderItem("Product1", 1_000, hugePrice));
+
+        orderService.calculateOrderTotal(expected);
+        engine.calculateOrderTotal(actual);
+
+        assertPricedIdentically(expected, actual);
+    }
+
+    @Test
+    void testCalculateOrderTotal_InvalidOrders() {
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateOrderTotal(null));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateOrderTotal(new Order(1L, 100L)));
+
+        Order invalidQuantity = new Order(1L, 100L);
+        invalidQuantity.addItem(new OrderItem("Product1", 0, new BigDecimal("20.00")));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateOrderTotal(invalidQuantity));
+
+        Order invalidPrice = new Order(1L, 100L);
+        invalidPrice.addItem(new OrderItem("Product1", 1, new BigDecimal("-0.01")));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateOrderTotal(invalidPrice));
+    }
+
+    @Test
+    void testDiscountCents_AppliesCap() {
+        // 20% premium discount on 1000.00 with a 100-unit order: volume tier 3 is 15%, premium wins
+        assertEquals(20_000L, engine.discountCents(100_000L, 100, true));
+        assertEquals(15_000L, engine.discountCents(100_000L, 100, false));
+        assertEquals(0L, engine.discountCents(1_000L, 1, false));
+    }
+
+    @Test
+    void testDiscountCentsBatch_MatchesScalarPath() {
+        FixedPointPricingEngine oddEngine = new FixedPointPricingEngine(new DiscountConfiguration(
+                Arrays.asList(new VolumeDiscountTier(3, new BigDecimal("0.0333")),
+                        new VolumeDiscountTier(40, new BigDecimal("0.1875"))),
+                new BigDecimal("0.2"), new BigDecimal("99.995"), new BigDecimal("0.07"), new BigDecimal("0.175")));
+        Random random = new Random(11);
+        int rows = 10_000;
+        long[] subtotals = new long[rows];
+        int[] quantities = new int[rows];
+        boolean[] premium = new boolean[rows];
+        for (int i = 0; i < rows; i++) {
+            // Mostly everyday amounts, some beyond the kernel's unchecked range
+            subtotals[i] = i % 100 == 0 ? (long) (random.nextDouble() * 4e15) : random.nextInt(200_000);
+            quantities[i] = 1 + random.nextInt(150);
+            premium[i] = random.nextBoolean();
+        }
+
+        for (FixedPointPricingEngine candidate : Arrays.asList(engine, oddEngine)) {
+            long[] discounts = new long[rows];
+            candidate.discountCents(subtotals, quantities, premium, discounts, rows);
+            for (int i = 0; i < rows; i++) {
+                assertEquals(candidate.discountCents(subtotals[i], quantities[i], premium[i]), discounts[i], "row " + i);
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.discountCents(subtotals, quantities, premium, new long[1], rows));
+    }
+
+    private static void assertPricedIdentically(Order expected, Order actual) {
+        assertEquals(expected.getSubtotal(), actual.getSubtotal());
+        assertEquals(expected.getDiscountAmount(), actual.getDiscountAmount());
+        assertEquals(expected.getTotalAmount(), actual.getTotalAmount());
+
+        List<OrderItem> expectedItems = expected.getItems();
+        List<OrderItem> actualItems = actual.getItems();
+        for (int i = 0; i < expectedItems.size(); i++) {
+            assertEquals(expectedItems.get(i).getLineTotal(), actualItems.get(i).getLineTotal());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.qualitygate.research.service;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.domain.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InMemoryUserRepositoryTest {
+
+    @Test
+    void testInsert_AssignsIdsAndIndexesAllKeys() {
+        InMemoryUserRepository repository = new InMemoryUserRepository(10);
+        User alice = new User(null, "alice", "alice@example.com");
+
+        assertNull(repository.insert(alice));
+
+        assertEquals(1L, alice.getUserId());
+        assertEquals(alice, repository.findById(1L));
+        assertEquals(1L, repository.findByUsername("alice").getUserId());
+        assertEquals("alice", repository.findByEmail("alice@example.com").getUsername());
+        assertNull(repository.findById(2L));
+        assertNull(repository.findByUsername("bob"));
+        assertEquals(UserRejectionReason.DUPLICATE_USERNAME,
+                repository.insert(new User(null, "alice", "other@example.com")));
+        assertEquals(UserRejectionReason.DUPLICATE_EMAIL,
+                repository.insert(new User(null, "bob", "alice@example.com")));
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    void testUpdateEmail_MovesUniqueness() {
+        InMemoryUserRepository repository = new InMemoryUserRepository(10);
+        User alice = new User(null, "alice", "alice@example.com");
+        User bob = new User(null, "bob", "bob@example.com");
+        repository.insert(alice);
+        repository.insert(bob);
+
+        assertEquals(UserRejectionReason.DUPLICATE_EMAIL, repository.updateEmail(bob.getUserId(), "alice@example.com"));
+        assertNull(repository.updateEmail(alice.getUserId(), "alice@work.example.com"));
+        assertNull(repository.findByEmail("alice@example.com"));
+        assertEquals("alice", repository.findByEmail("alice@work.example.com").getUsername());
+        assertNull(repository.updateEmail(bob.getUserId(), "alice@example.com"));
+        assertEquals(UserRejectionReason.UNKNOWN_USER, repository.updateEmail(99L, "x@example.com"));
+
+        assertTrue(repository.setActive(bob.getUserId(), true));
+        assertTrue(repository.findByUsername("bob").isActive());
+        assertFalse(repository.setActive(99L, true));
+    }
+
+    @Test
+    void testUpdateEmail_ManyChangesReuseIndexSpace() {
+        InMemoryUserRepository repository = new InMemoryUserRepository(4);
+        User user = new User(null, "churn", "v0@example.com");
+        repository.insert(user);
+
+        for (int i = 1; i <= 20_000; i++) {
+            assertNull(repository.updateEmail(user.getUserId(), "v" + i + "@example.com"));
+        }
+
+        assertEquals("churn", repository.findByEmail("v20000@example.com").getUsername());
+        assertNull(repository.findByEmail("v19999@example.com"));
+    }
+
+    @Test
+    void testUpdateEmail_ChangesWithinOneSegmentDoNotLeakSlots() {
+        InMemoryUserRepository repository = new InMemoryUserRepository(4);
+        User user = new User(null, "churn", "s0@example.com");
+        repository.insert(user);
+
+        // Old and new emails share an index segment, so the rebuilds run mid-update
+        String previous = user.getEmail();
+        int changes = 0;
+        for (int i = 1; changes < 20_000; i++) {
+            String email = "s" + i + "@example.com";
+            if (segmentOf(email) != segmentOf(previous)) {
+                continue;
+            }
+            assertNull(repository.updateEmail(user.getUserId(), email));
+            assertNull(repository.findByEmail(previous));
+            assertEquals("churn", repository.findByEmail(email).getUsername());
+            previous = email;
+            changes++;
+        }
+        assertNull(repository.insert(new User(null, "other", "s0@example.com")));
+    }
+
+    /**
+     * The index segment of a key, as the repository hashes it.
+     */
+    private static int segmentOf(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & 63;
+    }
+
+    @Test
+    void testInsert_FullRepository() {
+        InMemoryUserRepository repository = new InMemoryUserRepository(2);
+        repository.insert(new User(null, "u1", "u1@example.com"));
+        repository.insert(new User(null, "u2", "u2@example.com"));
+
+        assertThrows(IllegalStateException.class, () -> repository.insert(new User(null, "u3", "u3@example.com")));
+        assertEquals(UserRejectionReason.DUPLICATE_USERNAME,
+                repository.insert(new User(null, "u1", "u4@example.com")));
+    }
+
+    @Test
+    void testInsert_ConcurrentUniqueness() throws Exception {
+        InMemoryUserRepository repository = new InMemoryUserRepository(100_000);
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    // Every username is attempted by all threads; every email by two of them
+                    User user = new User(null, "user" + i, "user" + i + "-" + (thread / 2) + "@example.com");
+                    if (repository.insert(user) == null) {
+                        accepted.incrementAndGet();
+                    }
+                    repository.findByEmail("user" + i + "-0@example.com");
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(5_000, accepted.get());
+        assertEquals(5_000, repository.size());
+        for (int i = 0; i < 5_000; i++) {
+            User user = repository.findByUsername("user" + i);
+            assertEquals(user, repository.findByEmail(user.getEmail()));
+        }
+    }
+}
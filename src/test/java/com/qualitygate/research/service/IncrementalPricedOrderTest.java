@@ -0,0 +1,104 @@
+package com.qualitygate.research.service;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.DiscountConfigurationHolder;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Random;
+
+public class IncrementalPricedOrderTest {
+
+    private static final String[] PRICES = {"0.00", "0.005", "1", "9.99", "19.995", "3.333", "499.99", "1234.5"};
+
+    private DiscountConfigurationHolder holder;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        holder = new DiscountConfigurationHolder(new DiscountConfiguration());
+        orderService = new OrderService(holder);
+    }
+
+    @Test
+    void testEdits_MatchFullRecompute() {
+        Random random = new Random(11);
+        for (int cart = 0; cart < 50; cart++) {
+            IncrementalPricedOrder handle = orderService.priceIncrementally(new Order((long) cart, 100L * random.nextInt(3) + 1));
+            for (int edit = 0; edit < 200; edit++) {
+                Order order = handle.getOrder();
+                int action = random.nextInt(4);
+                if (order.itemCount() == 0 || action <= 1) {
+                    handle.addItem(new OrderItem("P" + edit, 1 + random.nextInt(30),
+                            new BigDecimal(PRICES[random.nextInt(PRICES.length)])));
+                } else if (action == 2) {
+                    handle.removeItem(random.nextInt(order.itemCount()));
+                } else {
+                    handle.setQuantity(random.nextInt(order.itemCount()), 1 + random.nextInt(30));
+                }
+                assertMatchesFullRecompute(order);
+            }
+        }
+    }
+
+    @Test
+    void testReprice_PicksUpConfigurationReload() {
+        IncrementalPricedOrder handle = orderService.priceIncrementally(new Order(1L, 1L));
+        handle.addItem(new OrderItem("P1", 5, new BigDecimal("200.00")));
+        assertEquals(new BigDecimal("100.00"), handle.getOrder().getDiscountAmount());
+
+        holder.update(new DiscountConfiguration(Collections.emptyList(), new BigDecimal("0.20"),
+                new BigDecimal("500.00"), new BigDecimal("0.05"), new BigDecimal("0.30")));
+        handle.reprice();
+
+        assertEquals(new BigDecimal("50.00"), handle.getOrder().getDiscountAmount());
+        assertMatchesFullRecompute(handle.getOrder());
+    }
+
+    @Test
+    void testEdits_EmptyAndInvalid() {
+        Order order = new Order(1L, 1L);
+        order.addItem(new OrderItem("P1", 2, new BigDecimal("10.00")));
+        IncrementalPricedOrder handle = orderService.priceIncrementally(order);
+        assertEquals(new BigDecimal("20.00"), order.getTotalAmount());
+        assertEquals(2, handle.getTotalQuantity());
+
+        assertThrows(IllegalArgumentException.class, () -> handle.addItem(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> handle.addItem(new OrderItem("P2", 0, BigDecimal.ONE)));
+        assertThrows(IllegalArgumentException.class, () -> handle.setQuantity(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> handle.removeItem(3));
+        assertEquals(1, order.itemCount());
+        assertEquals(new BigDecimal("20.00"), order.getTotalAmount());
+
+        handle.removeItem(0);
+        assertNull(order.getSubtotal());
+        assertNull(order.getTotalAmount());
+        assertEquals(0, handle.getTotalQuantity());
+        assertEquals(0, handle.getSubtotal().signum());
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.priceIncrementally(null));
+    }
+
+    private void assertMatchesFullRecompute(Order order) {
+        if (order.itemCount() == 0) {
+            assertNull(order.getTotalAmount());
+            return;
+        }
+        Order expected = new Order(order.getOrderId(), order.getCustomerId());
+        order.forEachItem(item -> expected.addItem(new OrderItem(item.getProductId(), item.getQuantity(), item.getUnitPrice())));
+        orderService.calculateOrderTotal(expected);
+
+        assertEquals(expected.getSubtotal(), order.getSubtotal());
+        assertEquals(expected.getDiscountAmount(), order.getDiscountAmount());
+        assertEquals(expected.getTotalAmount(), order.getTotalAmount());
+        for (int i = 0; i < order.itemCount(); i++) {
+            assertEquals(expected.itemAt(i).getLineTotal(), order.itemAt(i).getLineTotal());
+        }
+    }
+}
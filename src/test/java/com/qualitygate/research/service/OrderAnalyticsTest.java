@@ -0,0 +1,134 @@
+package com.qualitygate.research.service;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.domain.RandomOrders;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class OrderAnalyticsTest {
+
+    private static final String[] PRICES = {"0.99", "5.00", "19.995", "49.50", "120.00", "333.33"};
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(new DiscountConfiguration());
+    }
+
+    @Test
+    void testAnalyze_ExactWhenWithinLimits() {
+        orderService.getPricingMetrics().setEnabled(true);
+        List<Order> orders = pricedOrders(20_000, 500, 40, new Random(3));
+        orders.add(null);
+        orders.add(new Order(99L, 1L));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            RevenueReport report = new OrderAnalytics(orderService, 1_000, 100).analyze(orders, pool);
+
+            assertEquals(20_000, report.getOrderCount());
+            assertEquals(2, report.getSkippedCount());
+
+            Map<Long, BigDecimal> customerRevenue = new HashMap<>();
+            Map<String, Long> productUnits = new HashMap<>();
+            BigDecimal revenue = BigDecimal.ZERO;
+            BigDecimal discount = BigDecimal.ZERO;
+            for (Order order : orders.subList(0, 20_000)) {
+                revenue = revenue.add(order.getTotalAmount());
+                discount = discount.add(order.getDiscountAmount());
+                customerRevenue.merge(order.getCustomerId(), order.getTotalAmount(), BigDecimal::add);
+                order.forEachItem(item -> productUnits.merge(item.getProductId(), (long) item.getQuantity(), Long::sum));
+            }
+            assertEquals(0, revenue.compareTo(report.getTotalRevenue()));
+            assertEquals(0, discount.compareTo(report.getTotalDiscount()));
+
+            assertEquals(customerRevenue.size(), report.getTopCustomers().size());
+            for (RevenueReport.CustomerRevenue customer : report.getTopCustomers()) {
+                assertTrue(customer.isExact());
+                assertEquals(0, customerRevenue.get(customer.getCustomerId()).compareTo(customer.getRevenue()));
+            }
+            assertEquals(productUnits.size(), report.getTopProducts().size());
+            for (RevenueReport.ProductRevenue product : report.getTopProducts()) {
+                assertEquals(productUnits.get(product.getProductId()).longValue(), product.getUnitCount());
+            }
+            List<RevenueReport.CustomerRevenue> top = report.getTopCustomers();
+            for (int i = 1; i < top.size(); i++) {
+                assertTrue(top.get(i - 1).getRevenue().compareTo(top.get(i).getRevenue()) >= 0);
+            }
+
+            PricingMetricsSnapshot metrics = orderService.getPricingMetrics().snapshot();
+            for (DiscountType type : DiscountType.values()) {
+                assertEquals(metrics.getDiscountWins(type), report.getDiscountTypeCount(type), type.name());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testAnalyze_BoundedCustomersKeepHeavyHittersWithinBounds() {
+        Random random = new Random(5);
+        List<Order> orders = new ArrayList<>();
+        Map<Long, BigDecimal> expected = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            // Customers 1..5 place large orders; the long tail places small ones
+            boolean heavy = i % 10 == 0;
+            long customerId = heavy ? 1 + random.nextInt(5) : 1_000 + random.nextInt(20_000);
+            Order order = new Order((long) i, customerId);
+            order.addItem(new OrderItem("P" + random.nextInt(50), heavy ? 40 : 1, new BigDecimal(heavy ? "25.00" : "3.00")));
+            orderService.calculateOrderTotal(order);
+            orders.add(order);
+            expected.merge(customerId, order.getTotalAmount(), BigDecimal::add);
+        }
+
+        RevenueReport report = new OrderAnalytics(orderService, 16, 8).analyze(orders.parallelStream());
+
+        assertEquals(30_000, report.getOrderCount());
+        assertEquals(16, report.getTopCustomers().size());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(report.getTopCustomers().get(i).getCustomerId() <= 5);
+        }
+        for (RevenueReport.CustomerRevenue customer : report.getTopCustomers()) {
+            BigDecimal actual = expected.get(customer.getCustomerId());
+            assertTrue(actual.compareTo(customer.getRevenue()) <= 0);
+            assertTrue(actual.compareTo(customer.getRevenue().subtract(customer.getRevenueError())) >= 0);
+            expected.remove(customer.getCustomerId());
+        }
+        for (BigDecimal untracked : expected.values()) {
+            assertTrue(untracked.compareTo(report.getCustomerRevenueFloor()) <= 0);
+        }
+        assertEquals(8, report.getTopProducts().size());
+    }
+
+    @Test
+    void testAnalyze_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderAnalytics(null, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new OrderAnalytics(orderService, 0, 1));
+        OrderAnalytics analytics = new OrderAnalytics(orderService, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> analytics.analyze((List<Order>) null));
+
+        RevenueReport empty = analytics.analyze(new ArrayList<>());
+        assertEquals(0, empty.getOrderCount());
+        assertTrue(empty.getTopCustomers().isEmpty());
+    }
+
+    private List<Order> pricedOrders(int count, int customers, int products, Random random) {
+        List<Order> orders = RandomOrders.generate(count, random, customers, products, PRICES);
+        for (Order order : orders) {
+            orderService.calculateOrderTotal(order);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,92 @@
+package com.qualitygate.research.service;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.DiscountConfigurationHolder;
+import com.qualitygate.research.config.VolumeDiscountTier;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+
+public class OrderPricingCacheTest {
+
+    private DiscountConfigurationHolder holder;
+    private OrderService orderService;
+    private OrderPricingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        holder = new DiscountConfigurationHolder(new DiscountConfiguration());
+        orderService = new OrderService(holder);
+        cache = new OrderPricingCache(orderService, 64);
+    }
+
+    @Test
+    void testCalculateOrderTotal_RepeatedBasketHitsCache() {
+        Order first = buildOrder(1L, 100L, 12, "19.99");
+        Order retry = buildOrder(2L, 200L, 12, "19.99");
+
+        cache.calculateOrderTotal(first);
+        cache.calculateOrderTotal(retry);
+
+        assertEquals(1L, cache.getMissCount());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(first.getSubtotal(), retry.getSubtotal());
+        assertEquals(first.getDiscountAmount(), retry.getDiscountAmount());
+        assertEquals(first.getTotalAmount(), retry.getTotalAmount());
+        assertEquals(first.getItems().get(0).getLineTotal(), retry.getItems().get(0).getLineTotal());
+    }
+
+    @Test
+    void testCalculateOrderTotal_CustomerTierIsPartOfKey() {
+        Order premium = cache.calculateOrderTotal(buildOrder(1L, 100L, 1, "600.00"));
+        Order regular = cache.calculateOrderTotal(buildOrder(2L, 101L, 1, "600.00"));
+
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(new BigDecimal("120.00"), premium.getDiscountAmount());
+        assertEquals(new BigDecimal("60.00"), regular.getDiscountAmount());
+    }
+
+    @Test
+    void testCalculateOrderTotal_ConfigurationChangeInvalidates() {
+        cache.calculateOrderTotal(buildOrder(1L, 101L, 20, "1.00"));
+        holder.update(new DiscountConfiguration(Collections.singletonList(new VolumeDiscountTier(20, new BigDecimal("0.25"))),
+                BigDecimal.ZERO, new BigDecimal("500.00"), BigDecimal.ZERO, BigDecimal.ONE));
+
+        Order repriced = cache.calculateOrderTotal(buildOrder(2L, 101L, 20, "1.00"));
+
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(new BigDecimal("5.00"), repriced.getDiscountAmount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testCalculateOrderTotal_EvictsLeastRecentlyUsed() {
+        OrderPricingCache small = new OrderPricingCache(orderService, 1);
+        small.calculateOrderTotal(buildOrder(1L, 101L, 1, "1.00"));
+        small.calculateOrderTotal(buildOrder(2L, 101L, 2, "1.00"));
+        small.calculateOrderTotal(buildOrder(3L, 101L, 1, "1.00"));
+
+        assertEquals(3L, small.getMissCount());
+        assertEquals(2L, small.getEvictionCount());
+        assertEquals(1, small.size());
+    }
+
+    @Test
+    void testCalculateOrderTotal_InvalidOrderIsNotCached() {
+        assertThrows(IllegalArgumentException.class, () -> cache.calculateOrderTotal(buildOrder(1L, 101L, 0, "1.00")));
+        assertThrows(IllegalArgumentException.class, () -> cache.calculateOrderTotal(null));
+        assertEquals(0, cache.size());
+    }
+
+    private static Order buildOrder(Long orderId, Long customerId, int quantity, String unitPrice) {
+        Order order = new Order(orderId, customerId);
+        order.addItem(new OrderItem("Product1", quantity, new BigDecimal(unitPrice)));
+        return order;
+    }
+}
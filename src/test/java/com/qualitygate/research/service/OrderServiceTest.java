@@ -1,16 +1,25 @@
 package com.qualitygate.research.service;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderBatch;
 import com.qualitygate.research.domain.OrderItem;
 import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.DiscountConfigurationHolder;
+import com.qualitygate.research.config.VolumeDiscountSchedule;
+import com.qualitygate.research.config.VolumeDiscountTier;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class OrderServiceTest {
 
@@ -163,4 +172,276 @@ public class OrderServiceTest {
 
         assertFalse(orderService.validateOrder(order));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCalculateOrderTotals_MatchesSingleOrderPath() {
+        List<Order> batch = new ArrayList<>();
+        List<Order> expected = new ArrayList<>();
+        for (long i = 1; i <= 200; i++) {
+            batch.add(buildOrder(i, i * 7, (int) (i % 40) + 1, new BigDecimal("3.37")));
+            expected.add(orderService.calculateOrderTotal(buildOrder(i, i * 7, (int) (i % 40) + 1, new BigDecimal("3.37"))));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<OrderPricingResult> results = orderService.calculateOrderTotals(batch, pool);
+
+            assertEquals(expected.size(), results.size());
+            for (int i = 0; i < results.size(); i++) {
+                OrderPricingResult result = results.get(i);
+                assertTrue(result.isSuccess());
+                assertSame(batch.get(i), result.getOrder());
+                assertEquals(expected.get(i).getSubtotal(), result.getOrder().getSubtotal());
+                assertEquals(expected.get(i).getDiscountAmount(), result.getOrder().getDiscountAmount());
+                assertEquals(expected.get(i).getTotalAmount(), result.getOrder().getTotalAmount());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testCalculateOrderTotals_FailuresDoNotAbortBatch() {
+        Order invalid = buildOrder(2L, 100L, 0, new BigDecimal("20.00"));
+        List<Order> batch = new ArrayList<>();
+        batch.add(buildOrder(1L, 100L, 5, new BigDecimal("20.00")));
+        batch.add(invalid);
+        batch.add(null);
+        batch.add(buildOrder(3L, 101L, 1, new BigDecimal("20.00")));
+
+        List<OrderPricingResult> results = orderService.calculateOrderTotals(batch);
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertSame(invalid, results.get(1).getOrder());
+        assertEquals(OrderRejectionReason.INVALID_QUANTITY, results.get(1).getRejectionReason());
+        assertNull(results.get(1).getFailure());
+        assertEquals("Item quantity must be greater than zero", results.get(1).getFailureMessage());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals(OrderRejectionReason.NULL_ORDER, results.get(2).getRejectionReason());
+        assertEquals("Order cannot be null", results.get(2).getFailureMessage());
+        assertTrue(results.get(3).isSuccess());
+        assertEquals(new BigDecimal("20.00"), results.get(3).getOrder().getTotalAmount());
+    }
+
+    @Test
+    void testCalculateOrderTotals_NullList() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.calculateOrderTotals(null));
+    }
+
+    @Test
+    void testProcessOrder_MatchesValidateThenCalculate() {
+        Order order = new Order(1L, 100L);
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem("Product1", 5, new BigDecimal("20.00")));
+        items.add(new OrderItem("Product2", 10, new BigDecimal("10.00")));
+        order.setItems(items);
+
+        OrderPricingResult result = orderService.processOrder(order);
+
+        assertTrue(result.isSuccess());
+        assertSame(order, result.getOrder());
+        assertEquals(new BigDecimal("200.00"), order.getSubtotal());
+        assertEquals(new BigDecimal("20.00"), order.getDiscountAmount());
+        assertEquals(new BigDecimal("180.00"), order.getTotalAmount());
+        assertEquals(new BigDecimal("100.00"), order.getItems().get(0).getLineTotal());
+    }
+
+    @Test
+    void testProcessOrder_RejectionReasons() {
+        assertEquals(OrderRejectionReason.NULL_ORDER, orderService.processOrder(null).getRejectionReason());
+        assertEquals(OrderRejectionReason.INVALID_CUSTOMER_ID,
+                orderService.processOrder(buildOrder(1L, 0L, 1, BigDecimal.ONE)).getRejectionReason());
+        assertEquals(OrderRejectionReason.NO_ITEMS,
+                orderService.processOrder(new Order(1L, 100L)).getRejectionReason());
+        assertEquals(OrderRejectionReason.INVALID_QUANTITY,
+                orderService.processOrder(buildOrder(1L, 100L, 0, BigDecimal.ONE)).getRejectionReason());
+        assertEquals(OrderRejectionReason.INVALID_UNIT_PRICE,
+                orderService.processOrder(buildOrder(1L, 100L, 1, new BigDecimal("-1"))).getRejectionReason());
+    }
+
+    @Test
+    void testProcessOrder_RejectedOrderIsNotModified() {
+        Order order = new Order(1L, 100L);
+        OrderItem valid = new OrderItem("Product1", 5, new BigDecimal("20.00"));
+        order.addItem(valid);
+        order.addItem(new OrderItem(" ", 5, new BigDecimal("20.00")));
+
+        OrderPricingResult result = orderService.processOrder(order);
+
+        assertFalse(result.isSuccess());
+        assertEquals(OrderRejectionReason.INVALID_PRODUCT_ID, result.getRejectionReason());
+        assertNull(valid.getLineTotal());
+        assertNull(order.getSubtotal());
+        assertNull(order.getTotalAmount());
+    }
+
+    @Test
+    void testCalculateBatchTotals_MatchesSingleOrderPath() {
+        List<Order> orders = new ArrayList<>();
+        // Spans several kernel chunks
+        for (long i = 1; i <= 2_500; i++) {
+            Order order = new Order(i, i % 3 == 0 ? null : i * 50);
+            order.addItem(new OrderItem("Product" + (i % 7), (int) (i % 35) + 1, BigDecimal.valueOf(i * 37, 2)));
+            order.addItem(new OrderItem("Product" + (i % 5), 2, new BigDecimal("12.50")));
+            orders.add(order);
+        }
+        OrderBatch batch = OrderBatch.fromOrders(orders);
+
+        orderService.calculateBatchTotals(batch);
+
+        assertEquals(orders.size(), batch.orderCount());
+        for (int i = 0; i < orders.size(); i++) {
+            Order expected = orderService.calculateOrderTotal(orders.get(i));
+            assertEquals(expected.getSubtotal(), BigDecimal.valueOf(batch.subtotalCents(i), 2));
+            assertEquals(expected.getDiscountAmount(), BigDecimal.valueOf(batch.discountCents(i), 2));
+            assertEquals(expected.getTotalAmount(), BigDecimal.valueOf(batch.totalCents(i), 2));
+        }
+    }
+
+    @Test
+    void testOrderBatch_RejectsFractionalCents() {
+        List<Order> orders = new ArrayList<>();
+        orders.add(buildOrder(1L, 100L, 1, new BigDecimal("1.005")));
+
+        assertThrows(IllegalArgumentException.class, () -> OrderBatch.fromOrders(orders));
+    }
+
+    @Test
+    void testCalculateOrderTotal_ArbitraryTierTable() {
+        // 300 tiers: every 7 units adds 0.0005 to the rate, well beyond the direct-index range
+        List<VolumeDiscountTier> tiers = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            tiers.add(new VolumeDiscountTier(i * 7, BigDecimal.valueOf(i * 5L, 4)));
+        }
+        DiscountConfiguration tieredConfig = new DiscountConfiguration(tiers, BigDecimal.ZERO,
+                new BigDecimal("1000000.00"), BigDecimal.ZERO, BigDecimal.ONE);
+        OrderService tieredService = new OrderService(tieredConfig);
+
+        assertEquals(new BigDecimal("0.00"),
+                tieredService.calculateOrderTotal(buildOrder(1L, 101L, 6, new BigDecimal("100.00"))).getDiscountAmount());
+        assertEquals(new BigDecimal("0.35"),
+                tieredService.calculateOrderTotal(buildOrder(1L, 101L, 7, new BigDecimal("100.00"))).getDiscountAmount());
+        assertEquals(new BigDecimal("54.53"),
+                tieredService.calculateOrderTotal(buildOrder(1L, 101L, 1_384, new BigDecimal("0.40"))).getDiscountAmount());
+        assertEquals(new BigDecimal("1500.00"),
+                tieredService.calculateOrderTotal(buildOrder(1L, 101L, 10_000, new BigDecimal("1.00"))).getDiscountAmount());
+    }
+
+    @Test
+    void testVolumeDiscountSchedule_LegacyTierPriority() {
+        // The legacy checks test tier 3, then tier 2, then tier 1, whatever the thresholds
+        List<VolumeDiscountTier> tiers = new ArrayList<>();
+        tiers.add(new VolumeDiscountTier(10, new BigDecimal("0.05")));
+        tiers.add(new VolumeDiscountTier(5, new BigDecimal("0.10")));
+        tiers.add(new VolumeDiscountTier(100, new BigDecimal("0.15")));
+        VolumeDiscountSchedule schedule = VolumeDiscountSchedule.compile(tiers);
+
+        assertEquals(BigDecimal.ZERO, schedule.rateFor(4));
+        assertEquals(new BigDecimal("0.10"), schedule.rateFor(5));
+        assertEquals(new BigDecimal("0.10"), schedule.rateFor(12));
+        assertEquals(new BigDecimal("0.15"), schedule.rateFor(100));
+        assertEquals(-1, schedule.tierIndexFor(Integer.MIN_VALUE));
+        assertEquals(schedule.size() - 1, schedule.tierIndexFor(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testCalculateOrderTotal_FollowsConfigurationReload(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("discounts.properties");
+        Files.writeString(file, "volume.tiers=10:0.05\nmax.rate=0.30\n");
+        DiscountConfigurationHolder holder = DiscountConfigurationHolder.fromFile(file);
+        OrderService reloadingService = new OrderService(holder);
+
+        Order before = reloadingService.calculateOrderTotal(buildOrder(1L, 101L, 10, new BigDecimal("10.00")));
+        assertEquals(new BigDecimal("5.00"), before.getDiscountAmount());
+        assertEquals(0L, holder.getReloadCount());
+
+        Files.writeString(file, "volume.tiers=10:0.05,20:0.25\nmax.rate=0.30\n");
+        holder.reload();
+
+        Order after = reloadingService.calculateOrderTotal(buildOrder(2L, 101L, 20, new BigDecimal("10.00")));
+        assertEquals(new BigDecimal("50.00"), after.getDiscountAmount());
+        assertEquals(1L, holder.getReloadCount());
+        assertEquals(2L, holder.getVersion());
+        assertTrue(holder.getLastReloadLatencyNanos() > 0);
+    }
+
+    @Test
+    void testConfigurationReload_InvalidFileKeepsCurrentSnapshot(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("discounts.properties");
+        Files.writeString(file, "premium.rate=0.25\n");
+        DiscountConfigurationHolder holder = DiscountConfigurationHolder.fromFile(file);
+        DiscountConfiguration loaded = holder.current();
+
+        Files.writeString(file, "volume.tiers=10:abc\n");
+
+        assertThrows(IllegalArgumentException.class, holder::reload);
+        assertSame(loaded, holder.current());
+        assertEquals(new BigDecimal("0.25"), holder.current().getPremiumCustomerDiscountRate());
+        assertEquals(0L, holder.getReloadCount());
+    }
+
+    @Test
+    void testPricingMetrics_DisabledByDefault() {
+        orderService.calculateOrderTotal(buildOrder(1L, 100L, 5, new BigDecimal("20.00")));
+        assertThrows(IllegalArgumentException.class, () -> orderService.calculateOrderTotal(null));
+
+        PricingMetricsSnapshot snapshot = orderService.getPricingMetrics().snapshot();
+        assertEquals(0L, snapshot.getOrdersPriced());
+        assertEquals(0L, snapshot.getTotalRejections());
+        assertEquals(0L, snapshot.getStepLatency(PricingStep.SUBTOTAL).getCount());
+    }
+
+    @Test
+    void testPricingMetrics_RecordsStepsOutcomesAndRejections() {
+        PricingMetrics metrics = orderService.getPricingMetrics();
+        metrics.setEnabled(true);
+
+        orderService.calculateOrderTotal(buildOrder(1L, 100L, 5, new BigDecimal("20.00")));  // premium 20.00
+        orderService.calculateOrderTotal(buildOrder(2L, 101L, 20, new BigDecimal("10.00"))); // volume 10.00
+        orderService.processOrder(buildOrder(3L, 101L, 1, new BigDecimal("600.00")));        // promotional 60.00
+        orderService.processOrder(buildOrder(4L, 101L, 1, new BigDecimal("1.00")));          // no discount
+        assertThrows(IllegalArgumentException.class, () -> orderService.calculateOrderTotal(null));
+        orderService.processOrder(buildOrder(5L, 101L, 0, new BigDecimal("1.00")));
+
+        PricingMetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(4L, snapshot.getOrdersPriced());
+        assertEquals(4L, snapshot.getOrderLatency().getCount());
+        for (PricingStep step : PricingStep.values()) {
+            assertEquals(4L, snapshot.getStepLatency(step).getCount(), step.name());
+        }
+        assertEquals(1L, snapshot.getDiscountWins(DiscountType.CUSTOMER_TIER));
+        assertEquals(1L, snapshot.getDiscountWins(DiscountType.VOLUME));
+        assertEquals(1L, snapshot.getDiscountWins(DiscountType.PROMOTIONAL));
+        assertEquals(1L, snapshot.getDiscountWins(DiscountType.NONE));
+        assertEquals(0L, snapshot.getCapHits());
+        assertEquals(1L, snapshot.getRejections(OrderRejectionReason.NULL_ORDER));
+        assertEquals(1L, snapshot.getRejections(OrderRejectionReason.INVALID_QUANTITY));
+        assertEquals(2L, snapshot.getTotalRejections());
+
+        metrics.reset();
+        assertEquals(0L, metrics.snapshot().getOrdersPriced());
+    }
+
+    @Test
+    void testPricingMetrics_CountsCapHits() {
+        DiscountConfiguration defaults = new DiscountConfiguration();
+        OrderService cappedService = new OrderService(new DiscountConfiguration(defaults.getVolumeDiscountTiers(),
+                new BigDecimal("0.20"), new BigDecimal("500.00"), new BigDecimal("0.10"), new BigDecimal("0.10")));
+        cappedService.getPricingMetrics().setEnabled(true);
+
+        Order result = cappedService.calculateOrderTotal(buildOrder(1L, 100L, 5, new BigDecimal("20.00")));
+
+        assertEquals(new BigDecimal("10.00"), result.getDiscountAmount());
+        PricingMetricsSnapshot snapshot = cappedService.getPricingMetrics().snapshot();
+        assertEquals(1L, snapshot.getCapHits());
+        assertEquals(1L, snapshot.getDiscountWins(DiscountType.CUSTOMER_TIER));
+    }
+
+    private static Order buildOrder(Long orderId, Long customerId, int quantity, BigDecimal unitPrice) {
+        Order order = new Order(orderId, customerId);
+        order.addItem(new OrderItem("Product" + orderId, quantity, unitPrice));
+        return order;
+    }
+}
@@ -0,0 +1,114 @@
+package com.qualitygate.research.service;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.DiscountConfigurationHolder;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class PremiumCustomerSetTest {
+
+    @Test
+    void testIsPremium_DenseIdsUseBitmap() {
+        PremiumCustomerSet set = PremiumCustomerSet.of(1_000, 1_001, 1_003, 1_001, 1_200);
+
+        assertEquals(4, set.size());
+        assertTrue(set.toString().contains("bitmap"));
+        assertTrue(set.isPremium(1_000));
+        assertTrue(set.isPremium(1_200));
+        assertFalse(set.isPremium(1_002));
+        assertFalse(set.isPremium(999));
+        assertFalse(set.isPremium(1_201));
+        assertFalse(set.isPremium(Long.MIN_VALUE));
+    }
+
+    @Test
+    void testIsPremium_SparseIdsMatchHashSet() {
+        Random random = new Random(7);
+        long[] ids = new long[10_000];
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i == 0 ? 0L : i == 1 ? -5L : random.nextLong();
+            expected.add(ids[i]);
+        }
+
+        PremiumCustomerSet set = PremiumCustomerSet.of(ids);
+
+        assertTrue(set.toString().contains("hash"));
+        assertEquals(expected.size(), set.size());
+        assertTrue(set.getFootprintBytes() < 16L * ids.length);
+        for (long id : expected) {
+            assertTrue(set.isPremium(id));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            long probe = random.nextLong();
+            assertEquals(expected.contains(probe), set.isPremium(probe));
+        }
+        assertFalse(PremiumCustomerSet.of().isPremium(0L));
+    }
+
+    @Test
+    void testLoad_SkipsCommentsAndBlankLines(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("premium.txt");
+        Files.write(file, "# premium customers\n42\n\n  7 \r\n-3\n# end".getBytes(StandardCharsets.US_ASCII));
+
+        PremiumCustomerSet set = PremiumCustomerSet.load(file);
+
+        assertEquals(3, set.size());
+        assertTrue(set.isPremium(42));
+        assertTrue(set.isPremium(7));
+        assertTrue(set.isPremium(-3));
+        assertFalse(set.isPremium(100));
+
+        Files.write(file, "42\n4x2\n".getBytes(StandardCharsets.US_ASCII));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> PremiumCustomerSet.load(file));
+        assertTrue(exception.getMessage().contains("line 2"));
+    }
+
+    @Test
+    void testPricing_UsesResolver() {
+        DiscountConfiguration discountConfig = new DiscountConfiguration();
+        PremiumCustomerSet premium = PremiumCustomerSet.of(7L);
+        OrderService orderService = new OrderService(new DiscountConfigurationHolder(discountConfig), premium);
+        FixedPointPricingEngine engine = new FixedPointPricingEngine(discountConfig, premium);
+
+        assertTrue(orderService.isPremiumCustomer(7L));
+        assertFalse(orderService.isPremiumCustomer(100L));
+        assertFalse(orderService.isPremiumCustomer(null));
+        assertTrue(engine.isPremiumCustomer(7L));
+        assertFalse(engine.isPremiumCustomer(100L));
+
+        Order premiumOrder = order(7L);
+        Order regularOrder = order(100L);
+        orderService.calculateOrderTotal(premiumOrder);
+        orderService.calculateOrderTotal(regularOrder);
+        assertTrue(premiumOrder.getDiscountAmount().signum() > 0);
+        assertEquals(0, regularOrder.getDiscountAmount().signum());
+
+        Order enginePremium = order(7L);
+        engine.calculateOrderTotal(enginePremium);
+        assertEquals(premiumOrder.getTotalAmount(), enginePremium.getTotalAmount());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrderService(new DiscountConfigurationHolder(discountConfig), null));
+    }
+
+    private static Order order(long customerId) {
+        Order order = new Order(1L, customerId);
+        order.addItem(new OrderItem("P1", 1, new BigDecimal("20.00")));
+        return order;
+    }
+}
@@ -0,0 +1,151 @@
+package com.qualitygate.research.service;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.config.DiscountConfiguration;
+import com.qualitygate.research.config.DiscountConfigurationHolder;
+import com.qualitygate.research.domain.Order;
+import com.qualitygate.research.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RingBufferPricingPipelineTest {
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(new DiscountConfiguration());
+    }
+
+    @Test
+    void testPublish_MatchesCallPerOrderPricing() {
+        Random random = new Random(7);
+        List<Order> orders = new ArrayList<>();
+        List<Order> expected = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            Order order = new Order((long) i, 1L + random.nextInt(500));
+            Order copy = new Order((long) i, order.getCustomerId());
+            int items = 1 + random.nextInt(5);
+            for (int j = 0; j < items; j++) {
+                int quantity = 1 + random.nextInt(30);
+                BigDecimal price = BigDecimal.valueOf(random.nextInt(50_000), 2);
+                order.addItem(new OrderItem("P" + j, quantity, price));
+                copy.addItem(new OrderItem("P" + j, quantity, price));
+            }
+            orders.add(order);
+            expected.add(orderService.calculateOrderTotal(copy));
+        }
+
+        List<Order> emitted = new ArrayList<>();
+        AtomicInteger batches = new AtomicInteger();
+        RingBufferPricingPipeline pipeline = RingBufferPricingPipeline.start(orderService, 256,
+                new RingBufferPricingPipeline.Sink() {
+                    @Override
+                    public void onPriced(Order order) {
+                        emitted.add(order);
+                    }
+
+                    @Override
+                    public void onBatchEnd() {
+                        batches.incrementAndGet();
+                    }
+                });
+        for (Order order : orders) {
+            pipeline.publish(order);
+        }
+        pipeline.close();
+
+        assertEquals(orders.size(), pipeline.getPublishedCount());
+        assertEquals(orders.size(), pipeline.getEmittedCount());
+        assertEquals(orders.size(), emitted.size());
+        for (int i = 0; i < orders.size(); i++) {
+            assertSame(orders.get(i), emitted.get(i));
+            assertEquals(expected.get(i).getTotalAmount(), emitted.get(i).getTotalAmount());
+            assertEquals(expected.get(i).getDiscountAmount(), emitted.get(i).getDiscountAmount());
+        }
+        assertTrue(batches.get() > 0);
+    }
+
+    @Test
+    void testPublish_RoutesRejectedAndFailedOrders() {
+        List<String> events = new ArrayList<>();
+        RingBufferPricingPipeline.Sink sink = new RingBufferPricingPipeline.Sink() {
+            @Override
+            public void onPriced(Order order) {
+                events.add("priced " + order.getOrderId());
+                throw new IllegalStateException("sink failures must not stall the ring");
+            }
+
+            @Override
+            public void onRejected(Order order) {
+                events.add("rejected " + (order == null ? null : order.getOrderId()));
+                throw new AssertionError("errors from the sink must not stall the ring either");
+            }
+
+            @Override
+            public void onFailed(Order order, Throwable failure) {
+                events.add("failed " + order.getOrderId() + " " + failure.getClass().getSimpleName());
+            }
+        };
+
+        Order valid = new Order(1L, 1L);
+        valid.addItem(new OrderItem("P1", 2, new BigDecimal("10.00")));
+        Order empty = new Order(2L, 1L);
+        Order unresolvable = new Order(3L, 13L);
+        unresolvable.addItem(new OrderItem("P1", 1, new BigDecimal("1.00")));
+        Order overflowing = new Order(4L, 14L);
+        overflowing.addItem(new OrderItem("P1", 1, new BigDecimal("1.00")));
+        OrderService failingTiers = new OrderService(new DiscountConfigurationHolder(new DiscountConfiguration()),
+                customerId -> {
+                    if (customerId == 13L) {
+                        throw new IllegalStateException("tier lookup failed");
+                    }
+                    if (customerId == 14L) {
+                        throw new StackOverflowError();
+                    }
+                    return false;
+                });
+
+        // A ring of two slots wraps, so a dead stage would block publish or close
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (RingBufferPricingPipeline pipeline = RingBufferPricingPipeline.start(failingTiers, 2, sink)) {
+                pipeline.publish(valid);
+                pipeline.publish(empty);
+                pipeline.publish(null);
+                pipeline.publish(unresolvable);
+                pipeline.publish(overflowing);
+                pipeline.publish(valid);
+            }
+        });
+
+        assertEquals(6, events.size());
+        assertEquals("priced 1", events.get(0));
+        assertEquals("rejected 2", events.get(1));
+        assertEquals("rejected null", events.get(2));
+        assertEquals("failed 3 IllegalStateException", events.get(3));
+        assertEquals("failed 4 StackOverflowError", events.get(4));
+        assertEquals("priced 1", events.get(5));
+        assertEquals(new BigDecimal("20.00"), valid.getTotalAmount());
+    }
+
+    @Test
+    void testStart_InvalidArgumentsAndClosedPipeline() {
+        RingBufferPricingPipeline.Sink sink = order -> { };
+        assertThrows(IllegalArgumentException.class, () -> RingBufferPricingPipeline.start(null, 8, sink));
+        assertThrows(IllegalArgumentException.class, () -> RingBufferPricingPipeline.start(orderService, 8, null));
+        assertThrows(IllegalArgumentException.class, () -> RingBufferPricingPipeline.start(orderService, 6, sink));
+
+        RingBufferPricingPipeline pipeline = RingBufferPricingPipeline.start(orderService, 8, sink);
+        assertEquals(8, pipeline.getCapacity());
+        pipeline.close();
+        assertThrows(IllegalStateException.class, () -> pipeline.publish(new Order(1L, 1L)));
+        assertThrows(IllegalStateException.class, () -> pipeline.tryPublish(new Order(1L, 1L)));
+    }
+}
@@ -0,0 +1,171 @@
+package com.qualitygate.research.service;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.qualitygate.research.domain.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class UserServiceTest {
+
+    private static final String[] USERNAMES = {
+            null, "", "   ", "ab", " ab ", "abc", "  abc  ", "alice", "\talice\n", "a".repeat(50), "a".repeat(51),
+            " " + "a".repeat(50) + " "
+    };
+
+    private static final String[] EMAILS = {
+            null, "", "  ", "alice", "alice@example", "alice.example", "alice@example.com", " a@b.c ", "@.", "\t@.\n"
+    };
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService();
+    }
+
+    @Test
+    void testFieldValidators_MatchStringRules() {
+        String[] alphabet = {" ", "\t", "\u0000", "\n", "@", ".", "a", "Z", "\u00e9", "\u20ac", "\ud83d\ude00", "\u3000"};
+        Random random = new Random(5);
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder value = new StringBuilder();
+            int length = random.nextInt(i % 2 == 0 ? 8 : 60);
+            for (int j = 0; j < length; j++) {
+                value.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            String text = value.toString();
+            boolean expectedUsername = text.trim().length() >= 3 && text.trim().length() <= 50;
+            boolean expectedEmail = !text.trim().isEmpty() && text.contains("@") && text.contains(".");
+
+            assertEquals(expectedUsername, UserFieldValidator.isValidUsername(value), text);
+            assertEquals(expectedEmail, UserFieldValidator.isValidEmail(value), text);
+            assertEquals(expectedUsername, userService.isValidUsername(text), text);
+            assertEquals(expectedEmail, userService.isValidEmail(text), text);
+
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(utf8.length + 7);
+            buffer.position(3);
+            buffer.put(utf8);
+            buffer.position(0);
+            assertEquals(expectedUsername, UserFieldValidator.isValidUsername(buffer, 3, utf8.length), text);
+            assertEquals(expectedEmail, UserFieldValidator.isValidEmail(buffer, 3, utf8.length), text);
+            assertEquals(0, buffer.position());
+        }
+
+        assertFalse(UserFieldValidator.isValidEmail((CharSequence) null));
+        assertFalse(UserFieldValidator.isValidUsername(null, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> UserFieldValidator.isValidEmail(ByteBuffer.allocate(4), 2, 3));
+    }
+
+    @Test
+    void testRepositoryBackedService() {
+        UserService storingService = new UserService(new InMemoryUserRepository(100));
+
+        User alice = storingService.createUser(" alice ", "alice@example.com");
+        assertEquals(1L, alice.getUserId());
+        assertNull(storingService.createUser("alice", "other@example.com"));
+        User bob = storingService.createUser("bob", "bob@example.com");
+
+        assertFalse(storingService.updateUserEmail(bob, "alice@example.com"));
+        assertEquals("bob@example.com", bob.getEmail());
+        assertTrue(storingService.updateUserEmail(bob, " bob@work.example.com "));
+        assertEquals("bob@work.example.com", storingService.getUserRepository().findById(2L).getEmail());
+
+        assertTrue(storingService.activateUser(alice));
+        assertTrue(storingService.getUserRepository().findByUsername("alice").isActive());
+        assertFalse(storingService.activateUser(new User(null, "ghost", "ghost@example.com")));
+        assertFalse(storingService.updateUserEmail(new User(42L, "ghost", "ghost@example.com"), "g@example.com"));
+
+        List<UserCreationRequest> requests = new ArrayList<>();
+        requests.add(new UserCreationRequest("carol", "carol@example.com"));
+        requests.add(new UserCreationRequest("carol", "carol2@example.com"));
+        requests.add(new UserCreationRequest("dave", "alice@example.com"));
+        BulkUserCreationResult result = storingService.createUsers(requests);
+        assertEquals(1, result.getCreatedCount());
+        assertEquals(UserRejectionReason.DUPLICATE_USERNAME, result.getRejections().get(0).getReason());
+        assertEquals(UserRejectionReason.DUPLICATE_EMAIL, result.getRejections().get(1).getReason());
+    }
+
+    @Test
+    void testCreateUsers_FirstDuplicateInBatchWins() {
+        UserService storingService = new UserService(new InMemoryUserRepository(20_000));
+        List<UserCreationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            requests.add(new UserCreationRequest("user" + i, "user" + i + "@example.com"));
+        }
+        // Later duplicates in reverse order, so they spread over every leaf task
+        for (int i = 4095; i >= 0; i--) {
+            requests.add(new UserCreationRequest("user" + i, "other" + i + "@example.com"));
+        }
+
+        BulkUserCreationResult result = storingService.createUsers(requests, new ForkJoinPool(4));
+
+        assertEquals(4096, result.getCreatedCount());
+        for (int i = 0; i < 4096; i++) {
+            assertEquals("user" + i + "@example.com", result.getCreatedUsers().get(i).getEmail());
+            BulkUserCreationResult.Rejection rejection = result.getRejections().get(i);
+            assertEquals(4096 + i, rejection.getIndex());
+            assertEquals(UserRejectionReason.DUPLICATE_USERNAME, rejection.getReason());
+        }
+    }
+
+    @Test
+    void testCreateUsers_MatchesCreateUser() {
+        Random random = new Random(3);
+        List<UserCreationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            requests.add(random.nextInt(100) == 0 ? null : new UserCreationRequest(
+                    USERNAMES[random.nextInt(USERNAMES.length)],
+                    EMAILS[random.nextInt(EMAILS.length)]));
+        }
+
+        BulkUserCreationResult result = userService.createUsers(requests, new ForkJoinPool(4));
+
+        assertEquals(requests.size(), result.getCreatedCount() + result.getRejectedCount());
+        int created = 0;
+        int rejected = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            UserCreationRequest request = requests.get(i);
+            User expected = request != null ? userService.createUser(request.getUsername(), request.getEmail()) : null;
+            if (expected != null) {
+                assertEquals(expected, result.getCreatedUsers().get(created));
+                assertEquals(expected.getUsername(), result.getCreatedUsers().get(created).getUsername());
+                assertEquals(expected.getEmail(), result.getCreatedUsers().get(created).getEmail());
+                created++;
+            } else {
+                assertEquals(i, result.getRejections().get(rejected).getIndex());
+                rejected++;
+            }
+        }
+        assertEquals(result.getCreatedCount(), created);
+    }
+
+    @Test
+    void testCreateUsers_RejectionReasons() {
+        List<UserCreationRequest> requests = new ArrayList<>();
+        requests.add(new UserCreationRequest("alice", "alice@example.com"));
+        requests.add(null);
+        requests.add(new UserCreationRequest("al", "al@example.com"));
+        requests.add(new UserCreationRequest("bob", "bob-at-example"));
+
+        BulkUserCreationResult result = userService.createUsers(requests.stream());
+
+        assertEquals(1, result.getCreatedCount());
+        assertEquals("alice", result.getCreatedUsers().get(0).getUsername());
+        assertEquals(3, result.getRejectedCount());
+        assertEquals(UserRejectionReason.NULL_REQUEST, result.getRejections().get(0).getReason());
+        assertEquals(2, result.getRejections().get(1).getIndex());
+        assertEquals(UserRejectionReason.INVALID_USERNAME, result.getRejections().get(1).getReason());
+        assertEquals(UserRejectionReason.INVALID_EMAIL, result.getRejections().get(2).getReason());
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.createUsers((List<UserCreationRequest>) null));
+    }
+}